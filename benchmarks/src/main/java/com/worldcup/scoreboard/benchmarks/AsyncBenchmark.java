@@ -0,0 +1,117 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.AsyncScoreBoard;
+import com.worldcup.scoreboard.LiveScoreBoard;
+import com.worldcup.scoreboard.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a score update as the caller sees it: a {@link LiveScoreBoard} behind a lock, or
+ * an {@link AsyncScoreBoard} with each wait strategy, waiting for the update's future. Sampled,
+ * so JMH reports percentiles as well as the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncBenchmark {
+
+    private static final int BOARD_SIZE = 1000;
+
+    @Param({"locked", "async-blocking", "async-yielding", "async-spin"})
+    private String engine;
+
+    private LiveScoreBoard board;
+    private AsyncScoreBoard asyncBoard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+
+    @Setup
+    public void setUp() {
+        board = new LiveScoreBoard();
+        homeTeams = new String[BOARD_SIZE];
+        awayTeams = new String[BOARD_SIZE];
+        for (int game = 0; game < BOARD_SIZE; game++) {
+            homeTeams[game] = "Home" + game;
+            awayTeams[game] = "Away" + game;
+            board.startGame(homeTeams[game], awayTeams[game]);
+        }
+        switch (engine) {
+            case "locked" -> asyncBoard = null;
+            case "async-blocking" -> asyncBoard = new AsyncScoreBoard(board, 1024, WaitStrategy.BLOCKING);
+            case "async-yielding" -> asyncBoard = new AsyncScoreBoard(board, 1024, WaitStrategy.YIELDING);
+            case "async-spin" -> asyncBoard = new AsyncScoreBoard(board, 1024, WaitStrategy.BUSY_SPIN);
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (asyncBoard != null) {
+            asyncBoard.close();
+        }
+    }
+
+    /**
+     * Each thread updates every n-th game, so threads don't fight over one game.
+     */
+    @State(Scope.Thread)
+    public static class Feed {
+        private int first;
+        private int stride;
+        private int game;
+        private int goals;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            first = params.getThreadIndex();
+            stride = params.getThreadCount();
+            game = first;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneThread(Feed feed) {
+        update(feed);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourThreads(Feed feed) {
+        update(feed);
+    }
+
+    private void update(Feed feed) {
+        int game = feed.game;
+        int goals = feed.goals++ % 10;
+        if (asyncBoard == null) {
+            synchronized (board) {
+                board.updateScore(homeTeams[game], awayTeams[game], goals, game % 7);
+            }
+        } else {
+            asyncBoard.updateScore(homeTeams[game], awayTeams[game], goals, game % 7).join();
+        }
+        feed.game += feed.stride;
+        if (feed.game >= BOARD_SIZE) {
+            feed.game = feed.first;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.ConcurrentLiveScoreBoard;
+import com.worldcup.scoreboard.Fixture;
+import com.worldcup.scoreboard.Game;
+import com.worldcup.scoreboard.LiveScoreBoard;
+import com.worldcup.scoreboard.OffHeapScoreBoard;
+import com.worldcup.scoreboard.ScoreBoard;
+import com.worldcup.scoreboard.ScoreUpdate;
+import com.worldcup.scoreboard.ShardedScoreBoard;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Turns the {@code engine} benchmark parameter into a board. Besides the short names of the
+ * boards in this repo, any {@link ScoreBoard} with a public no-arg constructor can be
+ * benchmarked by passing its fully qualified class name, e.g.
+ * {@code -p engine=com.example.MyScoreBoard}.
+ * <p>
+ * Boards that aren't thread-safe get wrapped in a lock when a benchmark runs them on more than
+ * one thread, so the multi-threaded numbers compare "the board behind a lock" with the boards
+ * that do their own concurrency.
+ */
+final class Engines {
+
+    private Engines() {
+    }
+
+    static ScoreBoard create(String engine, int threads) {
+        return switch (engine) {
+            case "live" -> guard(new LiveScoreBoard(), threads);
+            case "offheap" -> guard(new OffHeapScoreBoard(), threads);
+            case "concurrent" -> new ConcurrentLiveScoreBoard();
+            case "sharded" -> new ShardedScoreBoard();
+            default -> guard(load(engine), threads);
+        };
+    }
+
+    private static ScoreBoard load(String className) {
+        try {
+            return (ScoreBoard) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Unknown score board engine: " + className, e);
+        }
+    }
+
+    private static ScoreBoard guard(ScoreBoard board, int threads) {
+        return threads == 1 ? board : new LockedScoreBoard(board);
+    }
+
+    /**
+     * Puts every call on a board behind one lock.
+     */
+    private static final class LockedScoreBoard implements ScoreBoard {
+        private final ScoreBoard board;
+
+        private LockedScoreBoard(ScoreBoard board) {
+            this.board = board;
+        }
+
+        @Override
+        public synchronized void startGame(String homeTeam, String awayTeam) {
+            board.startGame(homeTeam, awayTeam);
+        }
+
+        @Override
+        public synchronized void updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+            board.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+        }
+
+        @Override
+        public synchronized void finishGame(String homeTeam, String awayTeam) {
+            board.finishGame(homeTeam, awayTeam);
+        }
+
+        @Override
+        public synchronized List<Game> getSummary() {
+            return board.getSummary();
+        }
+
+        @Override
+        public synchronized List<Game> getTopGames(int n) {
+            return board.getTopGames(n);
+        }
+
+        @Override
+        public synchronized List<Game> getSummary(int offset, int limit) {
+            return board.getSummary(offset, limit);
+        }
+
+        @Override
+        public synchronized void startGames(Collection<Fixture> fixtures) {
+            board.startGames(fixtures);
+        }
+
+        @Override
+        public synchronized void applyBatch(Collection<ScoreUpdate> updates) {
+            board.applyBatch(updates);
+        }
+
+        @Override
+        public synchronized void finishGames(Collection<Fixture> fixtures) {
+            board.finishGames(fixtures);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.BinaryFeed;
+import com.worldcup.scoreboard.BinaryFeedDecoder;
+import com.worldcup.scoreboard.FeedIngestor;
+import com.worldcup.scoreboard.IngestionReport;
+import com.worldcup.scoreboard.LiveScoreBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second through the text feed and the binary feed, for the same 100,000 score
+ * updates spread over 1,000 running games.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedBenchmark {
+
+    private static final int GAMES = 1_000;
+    private static final int UPDATES = 100_000;
+
+    private LiveScoreBoard board;
+    private FeedIngestor textIngestor;
+    private BinaryFeedDecoder binaryDecoder;
+    private byte[] textFeed;
+    private byte[] binaryFeed;
+    private Path binaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        board = new LiveScoreBoard();
+        textIngestor = new FeedIngestor(board);
+        binaryDecoder = new BinaryFeedDecoder(board);
+
+        StringBuilder text = new StringBuilder();
+        ByteBuffer binary = ByteBuffer.allocate(GAMES * 40 + UPDATES * 17);
+        for (int game = 0; game < GAMES; game++) {
+            board.startGame("Home" + game, "Away" + game);
+            BinaryFeed.putTeam(binary, 2 * game, "Home" + game);
+            BinaryFeed.putTeam(binary, 2 * game + 1, "Away" + game);
+        }
+        for (int update = 0; update < UPDATES; update++) {
+            int game = update % GAMES;
+            int homeScore = update / GAMES % 9;
+            int awayScore = game % 4;
+            text.append("UPDATE,Home").append(game).append(",Away").append(game).append(',')
+                    .append(homeScore).append(',').append(awayScore).append('\n');
+            BinaryFeed.putUpdate(binary, 2 * game, 2 * game + 1, homeScore, awayScore);
+        }
+        textFeed = text.toString().getBytes(StandardCharsets.UTF_8);
+        binaryFeed = new byte[binary.position()];
+        binary.flip().get(binaryFeed);
+        binaryFile = Files.createTempFile("scoreboard-feed", ".bin");
+        Files.write(binaryFile, binaryFeed);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public IngestionReport textFeed() throws IOException {
+        return textIngestor.ingest(new ByteArrayInputStream(textFeed));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public IngestionReport binaryFeedFromChannel() throws IOException {
+        return binaryDecoder.decode(Channels.newChannel(new ByteArrayInputStream(binaryFeed)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public IngestionReport binaryFeedFromMappedFile() throws IOException {
+        return binaryDecoder.decode(binaryFile);
+    }
+}
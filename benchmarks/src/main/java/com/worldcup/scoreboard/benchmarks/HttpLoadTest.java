@@ -0,0 +1,199 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.LiveScoreBoard;
+import com.worldcup.scoreboard.http.ScoreBoardHttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local load test for {@link ScoreBoardHttpServer}. Not a JMH benchmark: it runs a server and its
+ * clients in one process and prints
+ * <ul>
+ *     <li>requests per second for {@code /summary}, both revalidated (304) and full (200);</li>
+ *     <li>push latency from {@code publish} to the event arriving at each {@code /events} client.</li>
+ * </ul>
+ * Run it from the benchmarks jar:
+ * <pre>
+ * java -cp target/benchmarks.jar com.worldcup.scoreboard.benchmarks.HttpLoadTest [games] [pollers] [seconds] [streams] [publishes]
+ * </pre>
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = argument(args, 0, 100);
+        int pollers = argument(args, 1, 32);
+        int seconds = argument(args, 2, 5);
+        int streams = argument(args, 3, 1_000);
+        int publishes = argument(args, 4, 50);
+
+        LiveScoreBoard board = new LiveScoreBoard();
+        for (int game = 0; game < games; game++) {
+            board.startGame("Home" + game, "Away" + game);
+        }
+        board.publish();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (ScoreBoardHttpServer server = new ScoreBoardHttpServer(new InetSocketAddress("127.0.0.1", 0),
+                board.getRenderedSummary(), executor)) {
+            URI base = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            String etag = client.send(HttpRequest.newBuilder(base.resolve("/summary")).build(), HttpResponse.BodyHandlers.discarding())
+                    .headers().firstValue("ETag").orElseThrow();
+            System.out.printf("Board of %d games, summary of %d bytes%n", games, board.getRenderedSummary().getJson().remaining());
+            // First round warms up both sides, only the second one is reported
+            for (boolean report : new boolean[]{false, true}) {
+                poll(client, base, pollers, seconds, etag, report ? "304 revalidations" : null);
+                poll(client, base, pollers, seconds, null, report ? "200 full summaries" : null);
+            }
+            push(board, server, base, streams, publishes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void poll(HttpClient client, URI base, int pollers, int seconds, String etag, String label)
+            throws InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve("/summary"));
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        HttpRequest request = builder.build();
+        LongAdder requests = new LongAdder();
+        LongAdder failures = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < pollers; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        requests.increment();
+                    } catch (Exception e) {
+                        failures.increment();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (label == null) {
+            return;
+        }
+        System.out.printf("%-20s %,10.0f requests/s from %d clients (%d failed)%n",
+                label, requests.sum() / (double) seconds, pollers, failures.sum());
+    }
+
+    /**
+     * The event clients are plain sockets with a reading thread each rather than {@link HttpClient}
+     * streams: on a small machine the client's single selector thread, decoding every line of
+     * every stream, is what gets measured otherwise.
+     */
+    private static void push(LiveScoreBoard board, ScoreBoardHttpServer server, URI base, int streams, int publishes)
+            throws Exception {
+        ConcurrentHashMap<Long, Long> publishedAt = new ConcurrentHashMap<>();
+        CountDownLatch connected = new CountDownLatch(streams);
+        List<Long> latencies = new ArrayList<>();
+        byte[] request = ("GET /events HTTP/1.1\r\nHost: " + base.getAuthority() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        List<Socket> sockets = new ArrayList<>();
+        for (int i = 0; i < streams; i++) {
+            Socket socket = new Socket(base.getHost(), base.getPort());
+            sockets.add(socket);
+            socket.getOutputStream().write(request);
+            Thread reader = new Thread(() -> {
+                try (BufferedReader events = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 64 * 1024)) {
+                    String line;
+                    while ((line = events.readLine()) != null) {
+                        // Chunk sizes and data lines go by; every event starts with its ID on a line of its own
+                        if (!line.startsWith("id: ")) {
+                            continue;
+                        }
+                        Long sent = publishedAt.get(Long.parseLong(line.substring(4)));
+                        if (sent == null) {
+                            connected.countDown();
+                            continue;
+                        }
+                        long latency = System.nanoTime() - sent;
+                        synchronized (latencies) {
+                            latencies.add(latency);
+                        }
+                    }
+                } catch (IOException e) {
+                    // Closed at the end of the run
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+        if (!connected.await(60, TimeUnit.SECONDS)) {
+            System.out.printf("Only %d of %d event streams connected%n", streams - connected.getCount(), streams);
+        }
+
+        int games = board.getSummary().size();
+        for (int update = 0; update < publishes; update++) {
+            int game = update % games;
+            board.updateScore("Home" + game, "Away" + game, update / games + 1, 0);
+            publishedAt.put(board.getVersion(), System.nanoTime());
+            board.publish();
+            server.publish(board.getRenderedSummary());
+            Thread.sleep(50);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (size(latencies) < (long) streams * publishes && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+
+        long[] sorted;
+        synchronized (latencies) {
+            sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        }
+        Arrays.sort(sorted);
+        if (sorted.length == 0) {
+            System.out.println("No events arrived");
+            return;
+        }
+        System.out.printf("Push to %d streams, %d publishes every 50 ms: %d events, latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                streams, publishes, sorted.length, millis(sorted, 0.5), millis(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static int size(List<Long> latencies) {
+        synchronized (latencies) {
+            return latencies.size();
+        }
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static int argument(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
@@ -0,0 +1,407 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.worldcup.scoreboard.LatencyHistogram;
+import com.worldcup.scoreboard.LatencySummary;
+import com.worldcup.scoreboard.ScoreBoard;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Soak test that plays a whole match day against a board, rather than one operation in a loop.
+ * Not a JMH benchmark: it runs for as long as the simulated day takes and prints a line every
+ * simulated half hour, then a summary with
+ * <ul>
+ *     <li>p50/p99/p99.9 latency and throughput per operation;</li>
+ *     <li>bytes allocated by the simulator's threads, in total and per second;</li>
+ *     <li>GC pauses per collector, as the JVM reports them.</li>
+ * </ul>
+ * The day is worked out up front from the seed: waves of kickoffs on the hour and half hour,
+ * goals that come more often towards the end of each half, the odd disallowed goal, updates the
+ * feed sends twice, and the final whistle. One thread replays it in order, so the same seed sends
+ * the board exactly the same changes. Meanwhile thousands of clients poll {@code getSummary()},
+ * spread over a few reader threads. Simulated time runs {@code speedup} times faster than real
+ * time; a thread that falls behind runs flat out until it catches up, and the lag is reported.
+ * <p>
+ * Latencies are the time spent in the call. The first lines include the JIT warming up.
+ * <pre>
+ * java -cp target/benchmarks.jar com.worldcup.scoreboard.benchmarks.MatchDaySimulator [engine] [hours] [clients] [readers] [speedup] [seed]
+ * </pre>
+ * The engine is picked the same way as in the JMH benchmarks.
+ */
+public final class MatchDaySimulator {
+
+    private static final long MINUTE = 60_000;
+    private static final long WAVE_INTERVAL = 30 * MINUTE;
+    private static final long MATCH_LENGTH = 2 * 60 * MINUTE;
+    private static final long REPORT_INTERVAL = 30 * MINUTE;
+    private static final long POLL_INTERVAL = 10_000;
+    private static final int MATCHES_PER_WAVE = 200;
+    // About 2.7 goals a game once the busier last ten minutes of each half are counted
+    private static final double GOALS_PER_MINUTE = 0.021;
+    private static final double HOME_GOALS = 0.55;
+    private static final double DISALLOWED = 0.04;
+    private static final double REDELIVERED = 0.02;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static volatile long sink;
+
+    private final ScoreBoard board;
+    private final List<Change> changes;
+    private final int clients;
+    private final int readers;
+    private final double speedup;
+    private final long seed;
+    private final long duration;
+    private final Latencies total = new Latencies();
+    private volatile Latencies interval = new Latencies();
+    private final AtomicInteger liveGames = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final Map<String, LatencyHistogram> gcPauses = new ConcurrentHashMap<>();
+    private final NotificationListener gcListener = this::garbageCollected;
+    private long startNanos;
+
+    private enum Operation {
+        START,
+        UPDATE,
+        FINISH,
+        SUMMARY
+    }
+
+    private MatchDaySimulator(ScoreBoard board, List<Change> changes, long duration, int clients, int readers,
+                              double speedup, long seed) {
+        this.board = board;
+        this.changes = changes;
+        this.duration = duration;
+        this.clients = clients;
+        this.readers = readers;
+        this.speedup = speedup;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String engine = args.length > 0 ? args[0] : "live";
+        int hours = argument(args, 1, 6);
+        int clients = argument(args, 2, 5_000);
+        int readers = argument(args, 3, 4);
+        int speedup = argument(args, 4, 360);
+        long seed = argument(args, 5, 42);
+        if (hours <= 0 || clients <= 0 || readers <= 0 || speedup <= 0) {
+            throw new IllegalArgumentException("Hours, clients, readers and speedup must be positive");
+        }
+
+        long duration = hours * 60 * MINUTE;
+        List<Change> changes = schedule(duration, new Random(seed));
+        ScoreBoard board = Engines.create(engine, readers + 1);
+        System.out.printf("%s board, %d h of matches at %dx (%.1f min), %,d changes, %,d clients polling every %d s on %d threads, seed %d%n",
+                engine, hours, speedup, duration / (double) speedup / MINUTE, changes.size(), clients,
+                POLL_INTERVAL / 1000, readers, seed);
+        new MatchDaySimulator(board, changes, duration, clients, readers, speedup, seed).run();
+    }
+
+    /**
+     * Waves of {@link #MATCHES_PER_WAVE} kickoffs every half hour, for as long as the matches
+     * still end within the day, each kickoff a few minutes after the wave starts.
+     */
+    private static List<Change> schedule(long duration, Random random) {
+        List<Change> changes = new ArrayList<>();
+        int match = 0;
+        for (long wave = 0; wave == 0 || wave + MATCH_LENGTH <= duration; wave += WAVE_INTERVAL) {
+            for (int i = 0; i < MATCHES_PER_WAVE; i++) {
+                play(changes, random, match++, wave + random.nextInt((int) (5 * MINUTE)));
+            }
+        }
+        // Stable, so changes made at the same moment stay in the order they were made
+        changes.sort(Comparator.comparingLong(Change::at));
+        return changes;
+    }
+
+    private static void play(List<Change> changes, Random random, int match, long kickoff) {
+        String homeTeam = "Home" + match;
+        String awayTeam = "Away" + match;
+        int[] score = new int[2];
+        changes.add(new Change(kickoff, Operation.START, homeTeam, awayTeam, 0, 0));
+        long halfTime = kickoff + 45 * MINUTE + (1 + random.nextInt(5)) * MINUTE;
+        long last = playHalf(changes, random, homeTeam, awayTeam, score, kickoff, halfTime, kickoff);
+        long secondHalf = halfTime + 15 * MINUTE;
+        long fullTime = secondHalf + 45 * MINUTE + (2 + random.nextInt(7)) * MINUTE;
+        last = playHalf(changes, random, homeTeam, awayTeam, score, secondHalf, fullTime, last);
+        changes.add(new Change(Math.max(fullTime, last + 1), Operation.FINISH, homeTeam, awayTeam, 0, 0));
+    }
+
+    /**
+     * One minute at a time, with twice the chance of a goal from the 35th minute of the half
+     * on. Every change of a match comes strictly after the one before it.
+     */
+    private static long playHalf(List<Change> changes, Random random, String homeTeam, String awayTeam, int[] score,
+                                 long start, long end, long last) {
+        long closing = start + 35 * MINUTE;
+        for (long minute = start; minute < end; minute += MINUTE) {
+            double chance = minute >= closing ? 2 * GOALS_PER_MINUTE : GOALS_PER_MINUTE;
+            if (random.nextDouble() >= chance) {
+                continue;
+            }
+            int side = random.nextDouble() < HOME_GOALS ? 0 : 1;
+            score[side]++;
+            last = Math.max(minute + random.nextInt((int) MINUTE), last + 1);
+            changes.add(new Change(last, Operation.UPDATE, homeTeam, awayTeam, score[0], score[1]));
+            if (random.nextDouble() < REDELIVERED) {
+                last += 1_000 + random.nextInt(1_000);
+                changes.add(new Change(last, Operation.UPDATE, homeTeam, awayTeam, score[0], score[1]));
+            }
+            if (random.nextDouble() < DISALLOWED) {
+                score[side]--;
+                last += MINUTE + random.nextInt((int) (2 * MINUTE));
+                changes.add(new Change(last, Operation.UPDATE, homeTeam, awayTeam, score[0], score[1]));
+            }
+        }
+        return last;
+    }
+
+    private void run() throws InterruptedException {
+        List<NotificationEmitter> collectors = watchGarbageCollection();
+        startNanos = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(this::write, "match-day-writer"));
+        for (int reader = 0; reader < readers; reader++) {
+            int index = reader;
+            threads.add(new Thread(() -> read(index), "match-day-reader-" + reader));
+        }
+        threads.forEach(Thread::start);
+
+        for (long report = REPORT_INTERVAL; report <= duration; report += REPORT_INTERVAL) {
+            waitUntil(realTime(report));
+            Latencies finished = interval;
+            interval = new Latencies();
+            printInterval(report, finished);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        for (NotificationEmitter collector : collectors) {
+            try {
+                collector.removeNotificationListener(gcListener);
+            } catch (Exception e) {
+                // Already gone
+            }
+        }
+        printSummary(elapsedNanos);
+    }
+
+    private void write() {
+        long allocatedBefore = allocatedBytes();
+        for (Change change : changes) {
+            if (change.at() >= duration) {
+                break;
+            }
+            lagged(change.at());
+            long started = System.nanoTime();
+            try {
+                switch (change.operation()) {
+                    case START -> board.startGame(change.homeTeam(), change.awayTeam());
+                    case UPDATE -> board.updateScore(change.homeTeam(), change.awayTeam(), change.homeScore(), change.awayScore());
+                    case FINISH -> board.finishGame(change.homeTeam(), change.awayTeam());
+                    default -> throw new IllegalStateException("Not a change: " + change.operation());
+                }
+            } catch (RuntimeException e) {
+                failures.increment();
+                continue;
+            }
+            record(change.operation(), System.nanoTime() - started);
+            if (change.operation() == Operation.START) {
+                liveGames.incrementAndGet();
+            } else if (change.operation() == Operation.FINISH) {
+                liveGames.decrementAndGet();
+            }
+        }
+        countAllocations(allocatedBefore);
+    }
+
+    /**
+     * The reader's share of the clients polls like one stream of requests with exponential
+     * gaps, which is what many clients polling on their own timers add up to.
+     */
+    private void read(int index) {
+        long allocatedBefore = allocatedBytes();
+        Random random = new Random(seed * 31 + index + 1);
+        double meanGap = POLL_INTERVAL / ((double) clients / readers);
+        double next = 0;
+        long seen = 0;
+        while (true) {
+            next += -Math.log(1 - random.nextDouble()) * meanGap;
+            if (next >= duration) {
+                break;
+            }
+            lagged((long) next);
+            long started = System.nanoTime();
+            seen += board.getSummary().size();
+            record(Operation.SUMMARY, System.nanoTime() - started);
+        }
+        sink = seen;
+        countAllocations(allocatedBefore);
+    }
+
+    /**
+     * Waits for the simulated moment and notes how late the thread got there.
+     */
+    private void lagged(long simulated) {
+        long due = realTime(simulated);
+        waitUntil(due);
+        long lag = System.nanoTime() - due;
+        interval.lag(lag);
+        total.lag(lag);
+    }
+
+    private void record(Operation operation, long nanos) {
+        total.record(operation, nanos);
+        interval.record(operation, nanos);
+    }
+
+    private long realTime(long simulated) {
+        return startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(simulated) / speedup);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void printInterval(long simulated, Latencies latencies) {
+        double seconds = REPORT_INTERVAL / speedup / 1000;
+        LatencySummary summary = latencies.get(Operation.SUMMARY);
+        LatencySummary update = latencies.get(Operation.UPDATE);
+        System.out.printf("%02d:%02d  %,5d games  %,9.0f summaries/s  summary p99 %s  update p99 %s  max lag %s  gc %d pauses, %.0f ms%n",
+                simulated / (60 * MINUTE), simulated / MINUTE % 60, liveGames.get(),
+                summary.getCount() / seconds, micros(summary.getP99Nanos()), micros(update.getP99Nanos()),
+                millis(latencies.maxLag.get()), latencies.gcPauses.sum(), latencies.gcNanos.sum() / 1e6);
+    }
+
+    private void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nRan %.1f s, %,d failed changes, max lag behind schedule %s%n",
+                seconds, failures.sum(), millis(total.maxLag.get()));
+        System.out.printf("%-8s %12s %12s %10s %10s %10s %10s%n", "", "count", "ops/s", "p50", "p99", "p99.9", "max");
+        for (Operation operation : OPERATIONS) {
+            LatencySummary latency = total.get(operation);
+            System.out.printf("%-8s %,12d %,12.0f %10s %10s %10s %10s%n", operation, latency.getCount(),
+                    latency.getCount() / seconds, micros(latency.getP50Nanos()), micros(latency.getP99Nanos()),
+                    micros(latency.getP999Nanos()), micros(latency.getMaxNanos()));
+        }
+        long allocated = allocatedBytes.sum();
+        if (allocatedBytes() < 0) {
+            System.out.println("Allocated bytes aren't tracked by this JVM");
+        } else {
+            System.out.printf("Allocated %,.0f MB, %,.1f MB/s%n", allocated / 1e6, allocated / 1e6 / seconds);
+        }
+        for (Map.Entry<String, LatencyHistogram> collector : new TreeMap<>(gcPauses).entrySet()) {
+            LatencySummary pauses = collector.getValue().summarize();
+            System.out.printf("%s: %,d pauses, total %.0f ms, p50 %s, p99 %s, max %s%n", collector.getKey(),
+                    pauses.getCount(), pauses.getCount() * pauses.getMeanNanos() / 1e6,
+                    millis(pauses.getP50Nanos()), millis(pauses.getP99Nanos()), millis(pauses.getMaxNanos()));
+        }
+    }
+
+    private List<NotificationEmitter> watchGarbageCollection() {
+        List<NotificationEmitter> emitters = new ArrayList<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+                emitters.add(emitter);
+            }
+        }
+        return emitters;
+    }
+
+    private void garbageCollected(Notification notification, Object handback) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long nanos = TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration());
+        gcPauses.computeIfAbsent(info.getGcName(), name -> new LatencyHistogram()).record(nanos);
+        Latencies latencies = interval;
+        latencies.gcPauses.increment();
+        latencies.gcNanos.add(nanos);
+    }
+
+    /**
+     * Bytes this thread has allocated so far, or -1 if the JVM doesn't say.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private void countAllocations(long before) {
+        if (before >= 0) {
+            allocatedBytes.add(allocatedBytes() - before);
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f us", nanos / 1e3);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f ms", nanos / 1e6);
+    }
+
+    private static int argument(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    /**
+     * One write to the board, at a simulated time in milliseconds since the day started.
+     */
+    private record Change(long at, Operation operation, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+    }
+
+    private static final class Latencies {
+        private final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+        private final AtomicLong maxLag = new AtomicLong();
+        private final LongAdder gcPauses = new LongAdder();
+        private final LongAdder gcNanos = new LongAdder();
+
+        private Latencies() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        private void record(Operation operation, long nanos) {
+            histograms[operation.ordinal()].record(nanos);
+        }
+
+        private LatencySummary get(Operation operation) {
+            return histograms[operation.ordinal()].summarize();
+        }
+
+        private void lag(long nanos) {
+            maxLag.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.Game;
+import com.worldcup.scoreboard.ScoreBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each single board operation on one thread, for boards from a handful of games up to
+ * a million. The board keeps the same size for the whole run: games are only finished to be
+ * started again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperationsBenchmark {
+
+    @Param({"live", "concurrent", "sharded", "offheap"})
+    private String engine;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int boardSize;
+
+    private ScoreBoard board;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int next;
+    private int round;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        board = Engines.create(engine, params.getThreads());
+        homeTeams = new String[boardSize];
+        awayTeams = new String[boardSize];
+        for (int game = 0; game < boardSize; game++) {
+            homeTeams[game] = "Home" + game;
+            awayTeams[game] = "Away" + game;
+            board.startGame(homeTeams[game], awayTeams[game]);
+        }
+    }
+
+    @Benchmark
+    public void updateScore() {
+        int game = nextGame();
+        board.updateScore(homeTeams[game], awayTeams[game], round % 10, game % 7);
+    }
+
+    /**
+     * Finishing and starting are measured as a pair, so the board doesn't drain or grow.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void finishThenStart() {
+        int game = nextGame();
+        board.finishGame(homeTeams[game], awayTeams[game]);
+        board.startGame(homeTeams[game], awayTeams[game]);
+    }
+
+    @Benchmark
+    public List<Game> getSummary() {
+        return board.getSummary();
+    }
+
+    @Benchmark
+    public List<Game> getTopGames() {
+        return board.getTopGames(10);
+    }
+
+    private int nextGame() {
+        int game = next;
+        if (++next == boardSize) {
+            next = 0;
+            round++;
+        }
+        return game;
+    }
+}
@@ -0,0 +1,136 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.ScoreBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a shared board under a mix of reads and writes, on 1, 4 and 16 threads.
+ * <ul>
+ *     <li>{@code read-heavy}: 90% top-ten reads, 10% score updates</li>
+ *     <li>{@code write-heavy}: 90% score updates, 5% finished games and 5% new ones</li>
+ *     <li>{@code mixed}: half top-ten reads, half score updates</li>
+ * </ul>
+ * Each thread owns every n-th game, so threads never try to finish or start the same game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkloadBenchmark {
+
+    @Param({"live", "concurrent", "sharded", "offheap"})
+    private String engine;
+
+    @Param({"1000", "100000"})
+    private int boardSize;
+
+    @Param({"read-heavy", "write-heavy", "mixed"})
+    private String workload;
+
+    private ScoreBoard board;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int readsInTwenty;
+    private boolean restarts;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        if (boardSize < params.getThreads()) {
+            throw new IllegalArgumentException("Board needs at least one game per thread");
+        }
+        board = Engines.create(engine, params.getThreads());
+        homeTeams = new String[boardSize];
+        awayTeams = new String[boardSize];
+        for (int game = 0; game < boardSize; game++) {
+            homeTeams[game] = "Home" + game;
+            awayTeams[game] = "Away" + game;
+            board.startGame(homeTeams[game], awayTeams[game]);
+        }
+        switch (workload) {
+            case "read-heavy" -> readsInTwenty = 18;
+            case "write-heavy" -> {
+                readsInTwenty = 0;
+                restarts = true;
+            }
+            case "mixed" -> readsInTwenty = 10;
+            default -> throw new IllegalArgumentException("Unknown workload: " + workload);
+        }
+    }
+
+    /**
+     * The games one benchmark thread is allowed to write to, and where it is in its script.
+     */
+    @State(Scope.Thread)
+    public static class Feed {
+        private int first;
+        private int stride;
+        private int game;
+        private int step;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            first = params.getThreadIndex();
+            stride = params.getThreadCount();
+            game = first;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneThread(Feed feed, Blackhole blackhole) {
+        step(feed, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourThreads(Feed feed, Blackhole blackhole) {
+        step(feed, blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void sixteenThreads(Feed feed, Blackhole blackhole) {
+        step(feed, blackhole);
+    }
+
+    private void step(Feed feed, Blackhole blackhole) {
+        int slot = feed.step++ % 20;
+        if (slot < readsInTwenty) {
+            blackhole.consume(board.getTopGames(10));
+            return;
+        }
+        int game = feed.game;
+        if (restarts && slot == 18) {
+            // Started again on the next step, so the board keeps its size
+            board.finishGame(homeTeams[game], awayTeams[game]);
+            return;
+        }
+        if (restarts && slot == 19) {
+            board.startGame(homeTeams[game], awayTeams[game]);
+        } else {
+            board.updateScore(homeTeams[game], awayTeams[game], feed.step % 10, game % 7);
+        }
+        feed.game += feed.stride;
+        if (feed.game >= boardSize) {
+            feed.game = feed.first;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.worldcup.scoreboard;
+
+import java.time.Instant;
+
+/**
+ * Final result of a finished game, as kept by {@link GameArchive}. Times are to the millisecond.
+ */
+public record ArchivedGame(String homeTeam, String awayTeam, int homeScore, int awayScore,
+                           Instant startedAt, Instant finishedAt) {
+
+    public int totalScore() {
+        return homeScore + awayScore;
+    }
+
+    @Override
+    public String toString() {
+        return homeTeam + " " + homeScore + " - " + awayTeam + " " + awayScore;
+    }
+}
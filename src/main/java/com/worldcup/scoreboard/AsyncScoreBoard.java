@@ -0,0 +1,269 @@
+package com.worldcup.scoreboard;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link LiveScoreBoard} on a thread of its own and takes commands from any number of
+ * threads, so callers never wait for a lock. Every call returns at once with a future; a
+ * command that fails, e.g. with {@link GameNotFoundException}, completes its future
+ * exceptionally.
+ * <p>
+ * Commands go through a ring of slots that are all allocated up front. A caller claims the next
+ * slot, fills it in and marks it published; the writer thread takes every published command in
+ * one go, runs them in order against the board and only then frees the slots, so a burst of
+ * commands costs one hand-over rather than one per command. Summary requests with no change in
+ * between share one {@link SummarySnapshot}. When the ring is full, callers wait for the writer using
+ * the same {@link WaitStrategy} the writer uses to wait for commands.
+ * <p>
+ * Futures are completed on the writer thread, so stages chained on them without an executor run
+ * there too and hold up every other command. Use the {@code ...Async} variants for anything
+ * slow. The board belongs to the writer thread from now on: don't call it directly anymore.
+ */
+public final class AsyncScoreBoard implements AutoCloseable {
+
+    private static final int START = 1;
+    private static final int UPDATE = 2;
+    private static final int FINISH = 3;
+    private static final int SUMMARY = 4;
+    private static final int SKIP = 5;
+
+    private static final int SPINS_BEFORE_YIELD = 100;
+    // What the writer sets the claim counter to on its way out, so every later claim is negative
+    private static final long SEALED = Long.MIN_VALUE;
+
+    private final LiveScoreBoard board;
+    private final WaitStrategy waitStrategy;
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    /**
+     * A ring of 1024 commands, with a writer that parks while there's nothing to do.
+     */
+    public AsyncScoreBoard(LiveScoreBoard board) {
+        this(board, 1024, WaitStrategy.BLOCKING);
+    }
+
+    /**
+     * @param ringSize how many commands can be waiting at once; rounded up to a power of two
+     */
+    public AsyncScoreBoard(LiveScoreBoard board, int ringSize, WaitStrategy waitStrategy) {
+        if (board == null) {
+            throw new IllegalArgumentException("Board cannot be null");
+        }
+        if (ringSize <= 0 || ringSize > 1 << 30) {
+            throw new IllegalArgumentException("Ring size must be positive and at most 2^30");
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy cannot be null");
+        }
+        this.board = board;
+        this.waitStrategy = waitStrategy;
+        int capacity = Integer.highestOneBit(ringSize - 1) << 1;
+        this.ring = new Slot[Math.max(capacity, 1)];
+        for (int i = 0; i < ring.length; i++) {
+            // Nothing published yet: the first command for slot i is sequence i
+            ring[i] = new Slot(i - ring.length);
+        }
+        this.mask = ring.length - 1;
+        this.writer = new Thread(this::run, "async-scoreboard-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<Void> startGame(String homeTeam, String awayTeam) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submit(START, homeTeam, awayTeam, 0, 0, future);
+        return future;
+    }
+
+    public CompletableFuture<Void> updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submit(UPDATE, homeTeam, awayTeam, homeScore, awayScore, future);
+        return future;
+    }
+
+    public CompletableFuture<Void> finishGame(String homeTeam, String awayTeam) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submit(FINISH, homeTeam, awayTeam, 0, 0, future);
+        return future;
+    }
+
+    /**
+     * The summary as it is once every command submitted before this one has run. It's a
+     * snapshot rather than the board's live games, so it can be read on any thread.
+     */
+    public CompletableFuture<SummarySnapshot> getSummary() {
+        CompletableFuture<SummarySnapshot> future = new CompletableFuture<>();
+        submit(SUMMARY, null, null, 0, 0, future);
+        return future;
+    }
+
+    /**
+     * Stops taking commands, lets the writer finish the ones already taken and waits for it.
+     * Commands submitted from now on fail with {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(int type, String homeTeam, String awayTeam, int homeScore, int awayScore,
+                        CompletableFuture<?> future) {
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Async board is closed"));
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        if (sequence < 0) {
+            // Claimed after the writer had caught up and left, so no slot will ever free up
+            future.completeExceptionally(new IllegalStateException("Async board is closed"));
+            return;
+        }
+        int spins = 0;
+        while (sequence - ring.length >= consumed.get()) {
+            spins = idle(spins);
+        }
+        Slot slot = ring[(int) sequence & mask];
+        if (closed) {
+            // Closed since we checked: the writer may already be gone, so this one fails here.
+            // The slot still has to be published, or a writer still draining would wait for it.
+            slot.type = SKIP;
+            future.completeExceptionally(new IllegalStateException("Async board is closed"));
+        } else {
+            slot.type = type;
+            slot.homeTeam = homeTeam;
+            slot.awayTeam = awayTeam;
+            slot.homeScore = homeScore;
+            slot.awayScore = awayScore;
+            slot.future = future;
+        }
+        slot.published = sequence;
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void run() {
+        long next = 0;
+        int spins = 0;
+        while (true) {
+            long batchEnd = next;
+            Slot slot;
+            while ((slot = ring[(int) batchEnd & mask]).published == batchEnd) {
+                execute(slot);
+                batchEnd++;
+            }
+            if (batchEnd != next) {
+                next = batchEnd;
+                consumed.set(next);
+                spins = 0;
+                continue;
+            }
+            // Everyone who claimed a slot publishes it, so once the writer has caught up with the
+            // claims there is nothing left that could still arrive. Sealing the counter in the
+            // same step turns away anyone who passed the closed check but hasn't claimed yet.
+            if (closed && claimed.compareAndSet(next, SEALED)) {
+                return;
+            }
+            if (waitStrategy == WaitStrategy.BLOCKING) {
+                writerParked = true;
+                if (ring[(int) next & mask].published != next && !closed) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+            } else {
+                spins = idle(spins);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void execute(Slot slot) {
+        CompletableFuture<Object> future = (CompletableFuture<Object>) slot.future;
+        Object result = null;
+        try {
+            switch (slot.type) {
+                case START -> board.startGame(slot.homeTeam, slot.awayTeam);
+                case UPDATE -> board.updateScore(slot.homeTeam, slot.awayTeam, slot.homeScore, slot.awayScore);
+                case FINISH -> board.finishGame(slot.homeTeam, slot.awayTeam);
+                // The board makes one snapshot per version, so summaries in a burst with no
+                // changes in between all get the same one
+                case SUMMARY -> result = board.publish();
+                case SKIP -> {
+                    return;
+                }
+                default -> throw new IllegalStateException("Unknown command type: " + slot.type);
+            }
+        } catch (RuntimeException e) {
+            slot.clear();
+            future.completeExceptionally(e);
+            return;
+        }
+        slot.clear();
+        future.complete(result);
+    }
+
+    /**
+     * Waiting for the ring to have room (callers) or for a command (the writer, unless it
+     * blocks). Callers that find the ring full under {@link WaitStrategy#BLOCKING} park briefly
+     * rather than wait for a signal, since a full ring only lasts while the writer is busy.
+     */
+    private int idle(int spins) {
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (spins < SPINS_BEFORE_YIELD) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case BLOCKING -> LockSupport.parkNanos(this, 10_000);
+        }
+        return spins + 1;
+    }
+
+    /**
+     * One preallocated command. Its fields are written by the caller that claimed it and read by
+     * the writer once {@link #published} says it's ready, which is what makes them visible.
+     */
+    private static final class Slot {
+        private int type;
+        private String homeTeam;
+        private String awayTeam;
+        private int homeScore;
+        private int awayScore;
+        private CompletableFuture<?> future;
+        private volatile long published;
+
+        private Slot(long published) {
+            this.published = published;
+        }
+
+        private void clear() {
+            type = 0;
+            homeTeam = null;
+            awayTeam = null;
+            future = null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.worldcup.scoreboard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary score feed read by {@link BinaryFeedDecoder}, and helpers for writing one.
+ * <p>
+ * A feed is a plain sequence of commands, big-endian, with no header. Teams are named once and
+ * then referred to by a feed team ID that the producer picks (small, non-negative ints work
+ * best, up to {@link #MAX_TEAM_ID}), so the commands that make up nearly all of a feed carry no
+ * text at all:
+ * <pre>
+ * TEAM    0x01  int teamId  short length  UTF-8 name     defines or renames a feed team ID
+ * START   0x02  int homeId  int awayId                   9 bytes
+ * UPDATE  0x03  int homeId  int awayId  int home  int away   17 bytes
+ * FINISH  0x04  int homeId  int awayId                   9 bytes
+ * </pre>
+ */
+public final class BinaryFeed {
+
+    public static final byte TEAM = 0x01;
+    public static final byte START = 0x02;
+    public static final byte UPDATE = 0x03;
+    public static final byte FINISH = 0x04;
+
+    /**
+     * Highest feed team ID a decoder accepts. The decoder indexes its team table by feed ID, so
+     * this keeps a bad or hostile feed from making it allocate gigabytes.
+     */
+    public static final int MAX_TEAM_ID = (1 << 20) - 1;
+
+    static final int TEAM_HEADER_SIZE = 1 + Integer.BYTES + Short.BYTES;
+    static final int GAME_COMMAND_SIZE = 1 + 2 * Integer.BYTES;
+    static final int UPDATE_SIZE = 1 + 4 * Integer.BYTES;
+    static final int MAX_NAME_BYTES = Short.MAX_VALUE;
+
+    private BinaryFeed() {
+    }
+
+    public static ByteBuffer putTeam(ByteBuffer out, int teamId, String name) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Team name is too long for a binary feed: " + name);
+        }
+        return out.put(TEAM).putInt(teamId).putShort((short) encoded.length).put(encoded);
+    }
+
+    public static ByteBuffer putStart(ByteBuffer out, int homeTeamId, int awayTeamId) {
+        return out.put(START).putInt(homeTeamId).putInt(awayTeamId);
+    }
+
+    public static ByteBuffer putUpdate(ByteBuffer out, int homeTeamId, int awayTeamId, int homeScore, int awayScore) {
+        return out.put(UPDATE).putInt(homeTeamId).putInt(awayTeamId).putInt(homeScore).putInt(awayScore);
+    }
+
+    public static ByteBuffer putFinish(ByteBuffer out, int homeTeamId, int awayTeamId) {
+        return out.put(FINISH).putInt(homeTeamId).putInt(awayTeamId);
+    }
+}
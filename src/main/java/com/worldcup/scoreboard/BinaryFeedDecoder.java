@@ -0,0 +1,256 @@
+package com.worldcup.scoreboard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Applies a {@link BinaryFeed} to a {@link LiveScoreBoard} straight out of NIO buffers.
+ * <p>
+ * Commands are decoded in place from one reusable direct buffer, or from the mapped file, and
+ * score updates and finishes go to the board's team-ID methods. Once every team has been named
+ * and its first game started, decoding allocates nothing per command: no strings, no game keys.
+ * Strings are only made for team names and for starting games. A board that publishes on every
+ * change publishes every 16K commands instead while the decoder is at it, and once more at the
+ * end of each buffer or window.
+ * <p>
+ * Commands the board turns down are counted the same way as for {@link FeedIngestor}, and
+ * decoding carries on. So are team IDs that are negative or above {@link BinaryFeed#MAX_TEAM_ID},
+ * which count as malformed. A feed that can't be decoded at all, with an unknown command byte or
+ * cut off in the middle of a command, fails with an {@link IOException}. Not thread-safe, like
+ * the board.
+ */
+public final class BinaryFeedDecoder {
+
+    private static final int BUFFER_SIZE = 128 * 1024;
+    private static final long MAP_WINDOW = 1L << 30;
+    private static final int PUBLISH_EVERY = 16 * 1024;
+
+    private final LiveScoreBoard board;
+    private final TeamRegistry registry;
+    private ByteBuffer buffer;
+    // Indexed by feed team ID
+    private String[] names = new String[64];
+    private int[] boardIds = new int[64];
+
+    private long recordsRead;
+    private long applied;
+    private long malformed;
+    private long gameNotFound;
+    private long gameAlreadyExists;
+    private long invalid;
+    private long otherFailures;
+
+    public BinaryFeedDecoder(LiveScoreBoard board) {
+        if (board == null) {
+            throw new IllegalArgumentException("Board cannot be null");
+        }
+        this.board = board;
+        this.registry = board.getTeamRegistry();
+    }
+
+    /**
+     * Reads the channel to its end. The channel isn't closed.
+     *
+     * @return the totals so far, as {@link #getReport()}
+     */
+    public IngestionReport decode(ReadableByteChannel channel) throws IOException {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        buffer.clear();
+        long offset = 0;
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            offset += decodeCommands(buffer, offset);
+            buffer.compact();
+        }
+        if (buffer.position() > 0) {
+            throw new IOException("Binary feed ends in the middle of a command at offset " + offset);
+        }
+        return getReport();
+    }
+
+    /**
+     * Maps the file and decodes it in place, a window of up to a gigabyte at a time.
+     */
+    public IngestionReport decode(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                long length = Math.min(size - offset, MAP_WINDOW);
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                int consumed = decodeCommands(window, offset);
+                if (consumed == 0) {
+                    throw new IOException("Binary feed ends in the middle of a command at offset " + offset);
+                }
+                offset += consumed;
+            }
+        }
+        return getReport();
+    }
+
+    /**
+     * Totals over everything this decoder has read. Team definitions aren't counted.
+     */
+    public IngestionReport getReport() {
+        return new IngestionReport(recordsRead, applied, malformed, gameNotFound, gameAlreadyExists, invalid, otherFailures);
+    }
+
+    /**
+     * Decodes every whole command in the buffer and returns how many bytes they took. The buffer
+     * is left positioned after the last whole command.
+     */
+    private int decodeCommands(ByteBuffer in, long offset) throws IOException {
+        boolean publishOnChange = board.isPublishOnChange();
+        board.setPublishOnChange(false);
+        try {
+            return decodeCommands(in, offset, publishOnChange);
+        } finally {
+            board.setPublishOnChange(publishOnChange);
+        }
+    }
+
+    private int decodeCommands(ByteBuffer in, long offset, boolean publish) throws IOException {
+        int start = in.position();
+        int sincePublished = 0;
+        int position = start;
+        int limit = in.limit();
+        while (position < limit) {
+            byte command = in.get(position);
+            int size = switch (command) {
+                case BinaryFeed.TEAM -> limit - position < BinaryFeed.TEAM_HEADER_SIZE
+                        ? Integer.MAX_VALUE
+                        : BinaryFeed.TEAM_HEADER_SIZE + (in.getShort(position + 5) & 0xffff);
+                case BinaryFeed.START, BinaryFeed.FINISH -> BinaryFeed.GAME_COMMAND_SIZE;
+                case BinaryFeed.UPDATE -> BinaryFeed.UPDATE_SIZE;
+                default -> throw new IOException(String.format("Unknown binary feed command 0x%02x at offset %d",
+                        command, offset + position - start));
+            };
+            if (size > limit - position) {
+                break;
+            }
+            int homeId = in.getInt(position + 1);
+            switch (command) {
+                case BinaryFeed.TEAM -> defineTeam(homeId, in, position + BinaryFeed.TEAM_HEADER_SIZE,
+                        size - BinaryFeed.TEAM_HEADER_SIZE);
+                case BinaryFeed.START -> start(homeId, in.getInt(position + 5));
+                case BinaryFeed.UPDATE -> update(homeId, in.getInt(position + 5), in.getInt(position + 9), in.getInt(position + 13));
+                default -> finish(homeId, in.getInt(position + 5));
+            }
+            position += size;
+            if (publish && ++sincePublished == PUBLISH_EVERY) {
+                board.publish();
+                sincePublished = 0;
+            }
+        }
+        in.position(position);
+        return position - start;
+    }
+
+    private void defineTeam(int teamId, ByteBuffer in, int from, int length) {
+        if (teamId < 0 || teamId > BinaryFeed.MAX_TEAM_ID) {
+            malformed++;
+            return;
+        }
+        if (teamId >= names.length) {
+            int capacity = Math.min(Math.max(teamId + 1, names.length * 2), BinaryFeed.MAX_TEAM_ID + 1);
+            names = Arrays.copyOf(names, capacity);
+            boardIds = Arrays.copyOf(boardIds, capacity);
+        }
+        byte[] encoded = new byte[length];
+        in.get(from, encoded);
+        names[teamId] = new String(encoded, StandardCharsets.UTF_8);
+        boardIds[teamId] = registry.idOf(names[teamId]);
+    }
+
+    private void start(int homeId, int awayId) {
+        recordsRead++;
+        if (!isDefined(homeId) || !isDefined(awayId)) {
+            malformed++;
+            return;
+        }
+        try {
+            board.startGame(names[homeId], names[awayId]);
+            applied++;
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+        boardIds[homeId] = registry.idOf(names[homeId]);
+        boardIds[awayId] = registry.idOf(names[awayId]);
+    }
+
+    private void update(int homeId, int awayId, int homeScore, int awayScore) {
+        recordsRead++;
+        if (!isDefined(homeId) || !isDefined(awayId)) {
+            malformed++;
+            return;
+        }
+        int home = boardIdOf(homeId);
+        int away = boardIdOf(awayId);
+        if (home == TeamRegistry.UNKNOWN || away == TeamRegistry.UNKNOWN) {
+            gameNotFound++;
+            return;
+        }
+        try {
+            board.updateScore(home, away, homeScore, awayScore);
+            applied++;
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void finish(int homeId, int awayId) {
+        recordsRead++;
+        if (!isDefined(homeId) || !isDefined(awayId)) {
+            malformed++;
+            return;
+        }
+        int home = boardIdOf(homeId);
+        int away = boardIdOf(awayId);
+        if (home == TeamRegistry.UNKNOWN || away == TeamRegistry.UNKNOWN) {
+            gameNotFound++;
+            return;
+        }
+        try {
+            board.finishGame(home, away);
+            applied++;
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private boolean isDefined(int teamId) {
+        return teamId >= 0 && teamId < names.length && names[teamId] != null;
+    }
+
+    /**
+     * The board may have met the team through some other caller since it was named in the feed.
+     */
+    private int boardIdOf(int teamId) {
+        int boardId = boardIds[teamId];
+        if (boardId == TeamRegistry.UNKNOWN) {
+            boardId = registry.idOf(names[teamId]);
+            boardIds[teamId] = boardId;
+        }
+        return boardId;
+    }
+
+    private void failed(RuntimeException e) {
+        if (e instanceof GameNotFoundException) {
+            gameNotFound++;
+        } else if (e instanceof GameAlreadyExistsException) {
+            gameAlreadyExists++;
+        } else if (e instanceof IllegalArgumentException) {
+            invalid++;
+        } else {
+            otherFailures++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Remembers which games changed in the last few thousand board changes, so a delta can be
+ * worked out without comparing whole summaries. It's a fixed-size ring of (version, game key)
+ * pairs: recording a change is two array writes, and the oldest changes simply fall off.
+ */
+final class ChangeLog {
+
+    private final long[] versions;
+    private final long[] gameKeys;
+    private int next;
+    private int size;
+    private long forgottenUpTo = -1;
+
+    ChangeLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Change log capacity must be positive");
+        }
+        this.versions = new long[capacity];
+        this.gameKeys = new long[capacity];
+    }
+
+    void record(long version, long gameKey) {
+        if (size == versions.length) {
+            forgottenUpTo = versions[next];
+        } else {
+            size++;
+        }
+        versions[next] = version;
+        gameKeys[next] = gameKey;
+        next = (next + 1) % versions.length;
+    }
+
+    /**
+     * For a board that starts out at {@code version}, e.g. one loaded from a checkpoint, which
+     * knows nothing about the changes that got it there.
+     */
+    void startAt(long version) {
+        forgottenUpTo = Math.max(forgottenUpTo, version);
+    }
+
+    /**
+     * Whether every change made after {@code version} is still in the log.
+     */
+    boolean covers(long version) {
+        return version >= forgottenUpTo;
+    }
+
+    /**
+     * Calls back with the key of every game changed after {@code version}, newest first.
+     * The same game can come up more than once.
+     */
+    void forEachSince(long version, GameKeyConsumer consumer) {
+        for (int i = 1; i <= size; i++) {
+            int slot = Math.floorMod(next - i, versions.length);
+            if (versions[slot] <= version) {
+                return;
+            }
+            consumer.accept(gameKeys[slot]);
+        }
+    }
+
+    @FunctionalInterface
+    interface GameKeyConsumer {
+        void accept(long gameKey);
+    }
+}
@@ -0,0 +1,262 @@
+package com.worldcup.scoreboard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Everything on a {@link LiveScoreBoard} at one version, in a form that is quick to write out
+ * and quick to load back.
+ * <p>
+ * Taking a checkpoint only copies the board into a few flat arrays, so the board's thread can
+ * take one between two changes and hand it to another thread to {@link #write(Path)} while the
+ * board keeps going. On disk it's a header, the team dictionary, one column each for game keys,
+ * packed scores, creation order and creation time (games in summary order), and a CRC32 over
+ * the lot. Loading maps the file and copies the columns straight into arrays, so a board with
+ * hundreds of thousands of games is back in milliseconds instead of after replaying a day of
+ * journal.
+ * <p>
+ * A checkpoint of a journaled board remembers how far the journal had got. A board built from
+ * the checkpoint and the same journal only replays what came after that.
+ */
+public final class Checkpoint {
+
+    static final int MAGIC = 0x57434350; // "WCCP"
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 40;
+
+    private final long version;
+    private final long journalPosition;
+    private final int journalTeams;
+    private final String[] teamNames;
+    private final long[] gameKeys;
+    private final long[] scores;
+    private final long[] sequences;
+    private final long[] createdSeconds;
+    private final int[] createdNanos;
+    private final Journal journal;
+
+    private Checkpoint(long version, long journalPosition, int journalTeams, String[] teamNames, long[] gameKeys,
+                       long[] scores, long[] sequences, long[] createdSeconds, int[] createdNanos, Journal journal) {
+        this.version = version;
+        this.journalPosition = journalPosition;
+        this.journalTeams = journalTeams;
+        this.teamNames = teamNames;
+        this.gameKeys = gameKeys;
+        this.scores = scores;
+        this.sequences = sequences;
+        this.createdSeconds = createdSeconds;
+        this.createdNanos = createdNanos;
+        this.journal = journal;
+    }
+
+    /**
+     * Copies the board's state. Has to run on the board's thread, between two changes.
+     */
+    static Checkpoint capture(long version, TeamRegistry teams, RankingIndex ranking, Journal journal) {
+        String[] teamNames = new String[teams.size()];
+        for (int teamId = 0; teamId < teamNames.length; teamId++) {
+            teamNames[teamId] = teams.nameOf(teamId);
+        }
+        int size = ranking.size();
+        long[] gameKeys = new long[size];
+        long[] scores = new long[size];
+        long[] sequences = new long[size];
+        long[] createdSeconds = new long[size];
+        int[] createdNanos = new int[size];
+        int[] i = {0};
+        ranking.forEach(entry -> {
+            Game game = entry.getGame();
+            gameKeys[i[0]] = entry.getGameKey();
+            scores[i[0]] = game.getPackedScore();
+            sequences[i[0]] = entry.getSequence();
+            createdSeconds[i[0]] = game.getCreatedAt().getEpochSecond();
+            createdNanos[i[0]] = game.getCreatedAt().getNano();
+            i[0]++;
+        });
+        long journalPosition = journal == null ? -1 : journal.position();
+        int journalTeams = journal == null ? -1 : journal.teamsWritten();
+        return new Checkpoint(version, journalPosition, journalTeams, teamNames, gameKeys, scores, sequences,
+                createdSeconds, createdNanos, journal);
+    }
+
+    /**
+     * Loads a checkpoint written by {@link #write(Path)}.
+     */
+    public static Checkpoint read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE + Integer.BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a scoreboard checkpoint");
+            }
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize), file.toString());
+        }
+    }
+
+    /**
+     * Reads a checkpoint from what {@link #encode()} made, starting at the buffer's position.
+     *
+     * @param source names the checkpoint in error messages
+     */
+    static Checkpoint decode(ByteBuffer in, String source) throws IOException {
+        int size = in.remaining();
+        if (size < HEADER_SIZE + Integer.BYTES) {
+            throw new IOException(source + " is not a scoreboard checkpoint");
+        }
+        in = in.slice();
+        if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+            throw new IOException(source + " is not a scoreboard checkpoint");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate().position(0).limit(size - Integer.BYTES));
+        if (in.getInt(size - Integer.BYTES) != (int) crc.getValue()) {
+            throw new IOException("Checkpoint " + source + " is corrupt");
+        }
+
+        long version = in.getLong();
+        long journalPosition = in.getLong();
+        int journalTeams = in.getInt();
+        int teamCount = in.getInt();
+        int gameCount = in.getInt();
+        in.getInt(); // reserved
+
+        String[] teamNames = new String[teamCount];
+        byte[] name = new byte[Short.MAX_VALUE];
+        for (int teamId = 0; teamId < teamCount; teamId++) {
+            int length = in.getShort();
+            in.get(name, 0, length);
+            teamNames[teamId] = new String(name, 0, length, StandardCharsets.UTF_8);
+        }
+        long[] gameKeys = readLongs(in, gameCount);
+        long[] scores = readLongs(in, gameCount);
+        long[] sequences = readLongs(in, gameCount);
+        long[] createdSeconds = readLongs(in, gameCount);
+        int[] createdNanos = new int[gameCount];
+        in.asIntBuffer().get(createdNanos);
+        return new Checkpoint(version, journalPosition, journalTeams, teamNames, gameKeys, scores, sequences,
+                createdSeconds, createdNanos, null);
+    }
+
+    /**
+     * Writes the checkpoint to {@code file}, replacing whatever was there only once the new one
+     * is safely on disk. Safe to call from any thread. For a journaled board the journal is
+     * flushed first, so the journal never ends up behind a checkpoint.
+     */
+    public void write(Path file) throws IOException {
+        if (journal != null) {
+            journal.flush();
+        }
+        ByteBuffer out = encode();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The checkpoint in its file format, ready to read from.
+     */
+    ByteBuffer encode() {
+        byte[][] encodedNames = new byte[teamNames.length][];
+        long size = HEADER_SIZE;
+        for (int teamId = 0; teamId < teamNames.length; teamId++) {
+            encodedNames[teamId] = teamNames[teamId].getBytes(StandardCharsets.UTF_8);
+            if (encodedNames[teamId].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Team name is too long for a checkpoint: " + teamNames[teamId]);
+            }
+            size += Short.BYTES + encodedNames[teamId].length;
+        }
+        size += (long) gameKeys.length * (4 * Long.BYTES + Integer.BYTES) + Integer.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board is too big for a checkpoint");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC).putInt(FORMAT_VERSION)
+                .putLong(version).putLong(journalPosition)
+                .putInt(journalTeams).putInt(teamNames.length).putInt(gameKeys.length).putInt(0);
+        for (byte[] name : encodedNames) {
+            out.putShort((short) name.length).put(name);
+        }
+        writeLongs(out, gameKeys);
+        writeLongs(out, scores);
+        writeLongs(out, sequences);
+        writeLongs(out, createdSeconds);
+        out.asIntBuffer().put(createdNanos);
+        out.position(out.position() + createdNanos.length * Integer.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        return out.flip();
+    }
+
+    /**
+     * The board version this checkpoint was taken at.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Number of games in the checkpoint.
+     */
+    public int size() {
+        return gameKeys.length;
+    }
+
+    long getJournalPosition() {
+        return journalPosition;
+    }
+
+    int getJournalTeams() {
+        return journalTeams;
+    }
+
+    String[] getTeamNames() {
+        return teamNames;
+    }
+
+    long[] getGameKeys() {
+        return gameKeys;
+    }
+
+    long[] getPackedScores() {
+        return scores;
+    }
+
+    long[] getSequences() {
+        return sequences;
+    }
+
+    long[] getCreatedSeconds() {
+        return createdSeconds;
+    }
+
+    int[] getCreatedNanos() {
+        return createdNanos;
+    }
+
+    private static long[] readLongs(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static void writeLongs(ByteBuffer out, long[] values) {
+        out.asLongBuffer().put(values);
+        out.position(out.position() + values.length * Long.BYTES);
+    }
+}
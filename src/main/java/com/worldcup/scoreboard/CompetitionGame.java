@@ -0,0 +1,12 @@
+package com.worldcup.scoreboard;
+
+/**
+ * A game on one of the boards of a {@link ScoreBoardRegistry}, with the competition it's part of.
+ */
+public record CompetitionGame(String competition, Game game) {
+
+    @Override
+    public String toString() {
+        return competition + ": " + game;
+    }
+}
@@ -0,0 +1,228 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe scoreboard for boards fed by many threads at once.
+ * <p>
+ * Starting and finishing games go through a {@link ConcurrentHashMap}, so threads working on
+ * different games don't block each other. Score updates are a single atomic write on the game
+ * itself and take no lock at all. The summary hands out copies taken with one read per game,
+ * so a reader never sees a half-applied update. The list as a whole is not a point-in-time
+ * snapshot of the board though: games started or updated while it's being built may or may
+ * not show up.
+ */
+public class ConcurrentLiveScoreBoard implements ScoreBoard {
+
+    private final ConcurrentMap<String, Slot> games;
+    private final AtomicLong nextSequence;
+
+    public ConcurrentLiveScoreBoard() {
+        this.games = new ConcurrentHashMap<>();
+        this.nextSequence = new AtomicLong();
+    }
+
+    @Override
+    public void startGame(String homeTeam, String awayTeam) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        String gameKey = createGameKey(homeTeam, awayTeam);
+        Slot slot = new Slot(new Game(homeTeam, awayTeam), nextSequence.getAndIncrement());
+
+        if (games.putIfAbsent(gameKey, slot) != null) {
+            throw new GameAlreadyExistsException(homeTeam, awayTeam);
+        }
+    }
+
+    @Override
+    public void updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        Slot slot = games.get(createGameKey(homeTeam, awayTeam));
+
+        if (slot == null) {
+            throw new GameNotFoundException(homeTeam, awayTeam);
+        }
+
+        slot.game.updateScore(homeScore, awayScore);
+    }
+
+    @Override
+    public void finishGame(String homeTeam, String awayTeam) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        if (games.remove(createGameKey(homeTeam, awayTeam)) == null) {
+            throw new GameNotFoundException(homeTeam, awayTeam);
+        }
+    }
+
+    /**
+     * All-or-nothing: if one of the games is already running, the ones this call managed to
+     * start are taken off again. Other threads can briefly see the batch part-way through.
+     */
+    @Override
+    public void startGames(Collection<Fixture> fixtures) {
+        for (Fixture fixture : fixtures) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+        }
+
+        Map<String, Slot> started = new LinkedHashMap<>();
+        for (Fixture fixture : fixtures) {
+            String gameKey = createGameKey(fixture.homeTeam(), fixture.awayTeam());
+            Slot slot = new Slot(new Game(fixture.homeTeam(), fixture.awayTeam()), nextSequence.getAndIncrement());
+            if (started.containsKey(gameKey) || games.putIfAbsent(gameKey, slot) != null) {
+                started.forEach(games::remove);
+                throw new GameAlreadyExistsException(fixture.homeTeam(), fixture.awayTeam());
+            }
+            started.put(gameKey, slot);
+        }
+    }
+
+    /**
+     * Every game is looked up and every score checked before anything is written. A game
+     * finished by another thread in the meantime just takes its update with it.
+     */
+    @Override
+    public void applyBatch(Collection<ScoreUpdate> updates) {
+        Slot[] slots = new Slot[updates.size()];
+        int i = 0;
+        for (ScoreUpdate update : updates) {
+            validateTeamNames(update.homeTeam(), update.awayTeam());
+            validateScores(update.homeScore(), update.awayScore());
+            Slot slot = games.get(createGameKey(update.homeTeam(), update.awayTeam()));
+            if (slot == null) {
+                throw new GameNotFoundException(update.homeTeam(), update.awayTeam());
+            }
+            slots[i++] = slot;
+        }
+
+        i = 0;
+        for (ScoreUpdate update : updates) {
+            slots[i++].game.updateScore(update.homeScore(), update.awayScore());
+        }
+    }
+
+    /**
+     * All-or-nothing, like {@link #startGames(Collection)}: if a game is missing, the ones this
+     * call already removed are put back.
+     */
+    @Override
+    public void finishGames(Collection<Fixture> fixtures) {
+        for (Fixture fixture : fixtures) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+        }
+
+        Map<String, Slot> finished = new LinkedHashMap<>();
+        for (Fixture fixture : fixtures) {
+            String gameKey = createGameKey(fixture.homeTeam(), fixture.awayTeam());
+            Slot slot = games.remove(gameKey);
+            if (slot == null) {
+                finished.forEach(games::putIfAbsent);
+                throw new GameNotFoundException(fixture.homeTeam(), fixture.awayTeam());
+            }
+            finished.put(gameKey, slot);
+        }
+    }
+
+    /**
+     * Returns detached copies of the games, so later updates don't change the list
+     * you're holding.
+     */
+    @Override
+    public List<Game> getSummary() {
+        List<RankedGame> ranked = new ArrayList<>(games.size());
+        for (Slot slot : games.values()) {
+            ranked.add(new RankedGame(slot.game.copy(), slot.sequence));
+        }
+        ranked.sort(RankedGame.SUMMARY_ORDER);
+        return toGames(ranked, 0, ranked.size());
+    }
+
+    @Override
+    public List<Game> getTopGames(int n) {
+        return getSummary(0, n);
+    }
+
+    /**
+     * Keeps only the best {@code offset + limit} games in a bounded heap while going over
+     * the board, so a small page costs O(n log k) instead of a full sort.
+     */
+    @Override
+    public List<Game> getSummary(int offset, int limit) {
+        validatePage(offset, limit);
+
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        if (wanted == 0) {
+            return new ArrayList<>();
+        }
+        // Worst game sits on top of the heap, so it's the one that gets pushed out
+        PriorityQueue<RankedGame> best = new PriorityQueue<>(Math.min(wanted, 256), RankedGame.SUMMARY_ORDER.reversed());
+        for (Slot slot : games.values()) {
+            RankedGame candidate = new RankedGame(slot.game.copy(), slot.sequence);
+            if (best.size() < wanted) {
+                best.add(candidate);
+            } else if (RankedGame.SUMMARY_ORDER.compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        List<RankedGame> ranked = new ArrayList<>(best);
+        ranked.sort(RankedGame.SUMMARY_ORDER);
+        return toGames(ranked, offset, ranked.size());
+    }
+
+    private List<Game> toGames(List<RankedGame> ranked, int from, int to) {
+        List<Game> summary = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            summary.add(ranked.get(i).getGame());
+        }
+        return summary;
+    }
+
+    private void validateScores(int homeScore, int awayScore) {
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+    }
+
+    private void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
+    private void validateTeamNames(String homeTeam, String awayTeam) {
+        if (homeTeam == null || awayTeam == null) {
+            throw new IllegalArgumentException("Team names cannot be null");
+        }
+        if (homeTeam.trim().isEmpty() || awayTeam.trim().isEmpty()) {
+            throw new IllegalArgumentException("Team names cannot be empty");
+        }
+    }
+
+    private String createGameKey(String homeTeam, String awayTeam) {
+        return homeTeam + " vs " + awayTeam;
+    }
+
+    private static final class Slot {
+        private final Game game;
+        private final long sequence;
+
+        private Slot(Game game, long sequence) {
+            this.game = game;
+            this.sequence = sequence;
+        }
+    }
+}
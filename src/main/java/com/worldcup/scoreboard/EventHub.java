@@ -0,0 +1,233 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans board events out to {@link Flow.Subscriber}s.
+ * <p>
+ * The board thread only drops each event into the subscribers' bounded buffers and, if needed,
+ * hands a delivery task to the executor. It never waits for a subscriber: once a buffer is
+ * full, the subscription's {@link OverflowPolicy} decides what gets thrown away. Delivery
+ * respects each subscriber's demand and never runs on two threads at once.
+ */
+final class EventHub {
+
+    private final Executor executor;
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    EventHub(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+
+    /**
+     * Cheap enough to check before building an event, so a board nobody listens to
+     * doesn't allocate anything for events.
+     */
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    void publish(ScoreBoardEvent event) {
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    Flow.Publisher<ScoreBoardEvent> publisher(int bufferSize, OverflowPolicy policy) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        Objects.requireNonNull(policy, "Overflow policy cannot be null");
+        return subscriber -> subscribe(subscriber, bufferSize, policy);
+    }
+
+    private void subscribe(Flow.Subscriber<? super ScoreBoardEvent> subscriber, int bufferSize, OverflowPolicy policy) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        EventSubscription subscription = new EventSubscription(subscriber, bufferSize, policy);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class EventSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super ScoreBoardEvent> subscriber;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final ArrayDeque<Pending> buffer = new ArrayDeque<>();
+        private final Map<Fixture, Pending> pendingScores = new HashMap<>();
+        private final Map<Fixture, Pending> pendingRanks = new HashMap<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger scheduled = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        private EventSubscription(Flow.Subscriber<? super ScoreBoardEvent> subscriber, int capacity, OverflowPolicy policy) {
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+            this.policy = policy;
+        }
+
+        void offer(ScoreBoardEvent event) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (buffer) {
+                if (policy != OverflowPolicy.COALESCE_PER_GAME || !fold(event)) {
+                    if (buffer.size() == capacity) {
+                        untrack(buffer.poll());
+                    }
+                    Pending pending = new Pending(event);
+                    buffer.add(pending);
+                    track(pending);
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested number of events must be positive");
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (buffer) {
+                buffer.clear();
+                pendingScores.clear();
+                pendingRanks.clear();
+            }
+        }
+
+        /**
+         * Delivers as many buffered events as the subscriber asked for. Only one thread runs
+         * this at a time; an offer or request that comes in meanwhile makes it go round again.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (error != null && !cancelled) {
+                    cancel();
+                    subscriber.onError(error);
+                }
+                long wanted = demand.get();
+                long delivered = 0;
+                while (delivered != wanted && !cancelled) {
+                    ScoreBoardEvent event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (Throwable e) {
+                        // A subscriber that throws has broken the contract, so treat it as gone
+                        cancel();
+                    }
+                    delivered++;
+                }
+                if (delivered != 0 && wanted != Long.MAX_VALUE) {
+                    demand.addAndGet(-delivered);
+                }
+                missed = scheduled.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void schedule() {
+            if (scheduled.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                }
+            }
+        }
+
+        private ScoreBoardEvent poll() {
+            synchronized (buffer) {
+                Pending pending = buffer.poll();
+                if (pending == null) {
+                    return null;
+                }
+                untrack(pending);
+                return pending.event;
+            }
+        }
+
+        /**
+         * Folds a score update or rank change into the one still waiting for the same game.
+         * A start or finish ends the game's run of foldable events, so updates from before a
+         * finish never get merged with updates after a restart.
+         */
+        private boolean fold(ScoreBoardEvent event) {
+            Fixture fixture = new Fixture(event.game().homeTeam(), event.game().awayTeam());
+            if (event instanceof ScoreBoardEvent.ScoreUpdated update) {
+                Pending pending = pendingScores.get(fixture);
+                if (pending != null) {
+                    ScoreBoardEvent.ScoreUpdated waiting = (ScoreBoardEvent.ScoreUpdated) pending.event;
+                    pending.event = new ScoreBoardEvent.ScoreUpdated(update.version(), waiting.previous(), update.game());
+                    return true;
+                }
+            } else if (event instanceof ScoreBoardEvent.RankChanged rankChange) {
+                Pending pending = pendingRanks.get(fixture);
+                if (pending != null) {
+                    ScoreBoardEvent.RankChanged waiting = (ScoreBoardEvent.RankChanged) pending.event;
+                    pending.event = new ScoreBoardEvent.RankChanged(rankChange.version(), rankChange.game(),
+                            waiting.previousPosition(), rankChange.position());
+                    return true;
+                }
+            } else {
+                pendingScores.remove(fixture);
+                pendingRanks.remove(fixture);
+            }
+            return false;
+        }
+
+        private void track(Pending pending) {
+            if (policy != OverflowPolicy.COALESCE_PER_GAME) {
+                return;
+            }
+            if (pending.event instanceof ScoreBoardEvent.ScoreUpdated) {
+                pendingScores.put(pending.fixture(), pending);
+            } else if (pending.event instanceof ScoreBoardEvent.RankChanged) {
+                pendingRanks.put(pending.fixture(), pending);
+            }
+        }
+
+        private void untrack(Pending pending) {
+            if (policy != OverflowPolicy.COALESCE_PER_GAME) {
+                return;
+            }
+            pendingScores.remove(pending.fixture(), pending);
+            pendingRanks.remove(pending.fixture(), pending);
+        }
+    }
+
+    private static final class Pending {
+        private ScoreBoardEvent event;
+
+        private Pending(ScoreBoardEvent event) {
+            this.event = event;
+        }
+
+        private Fixture fixture() {
+            return new Fixture(event.game().homeTeam(), event.game().awayTeam());
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.worldcup.scoreboard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads a line-based score feed (see {@link FeedRecord} for the format) and applies it to a
+ * board, so every deployment doesn't need its own glue code.
+ * <p>
+ * Lines are read in order on the calling thread and handed out in chunks to the parser
+ * executor. Parsed records go back into feed order and are then split over a number of lanes
+ * by game: every record for a game goes to the same lane, so each game sees its changes in feed
+ * order, while different games are applied in parallel. Records travel to the lanes a chunk
+ * at a time rather than one by one, and each lane applies what it takes off its queue as one
+ * micro-batch: runs of score updates in a batch go to the board as one
+ * {@link ScoreBoard#applyBatch(java.util.Collection)}. The lane queues and the number of chunks
+ * being parsed are both bounded, so a board that can't keep up slows the reading down instead
+ * of filling the heap.
+ * <p>
+ * More than one lane only makes sense for a thread-safe board such as
+ * {@link ConcurrentLiveScoreBoard} or {@link ShardedScoreBoard}. On Java 21 and later, pass
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} as the parser executor to parse on
+ * virtual threads.
+ * <p>
+ * Records that can't be applied are counted and skipped; see {@link #getReport()}.
+ */
+public final class FeedIngestor {
+
+    private static final int LINES_PER_CHUNK = 256;
+    private static final int CHUNKS_AHEAD = 16;
+    // Put on each lane's queue once the feed has ended; compared by identity
+    private static final List<FeedRecord> END = new ArrayList<>();
+
+    private final ScoreBoard board;
+    private final int laneCount;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Executor parsers;
+
+    private final LongAdder recordsRead = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+    private final LongAdder gameNotFound = new LongAdder();
+    private final LongAdder gameAlreadyExists = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder otherFailures = new LongAdder();
+
+    /**
+     * Feeds a board that isn't thread-safe: one lane, parsing on the common pool.
+     */
+    public FeedIngestor(ScoreBoard board) {
+        this(board, 1, ForkJoinPool.commonPool());
+    }
+
+    public FeedIngestor(ScoreBoard board, int lanes, Executor parsers) {
+        this(board, lanes, 1024, 16, parsers);
+    }
+
+    /**
+     * @param lanes         how many games can be applied at the same time
+     * @param batchSize     roughly the most records a lane applies in one micro-batch
+     * @param queueCapacity chunks of records each lane can hold before reading waits for it
+     * @param parsers       runs the parsing, one task per chunk of lines
+     */
+    public FeedIngestor(ScoreBoard board, int lanes, int batchSize, int queueCapacity, Executor parsers) {
+        Objects.requireNonNull(board, "Board cannot be null");
+        Objects.requireNonNull(parsers, "Parser executor cannot be null");
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.board = board;
+        this.laneCount = lanes;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.parsers = parsers;
+    }
+
+    /**
+     * Reads a feed file, or a named pipe, to the end.
+     */
+    public IngestionReport ingest(Path feed) throws IOException {
+        try (InputStream in = Files.newInputStream(feed)) {
+            return ingest(in);
+        }
+    }
+
+    /**
+     * Reads the stream to the end and returns once every record in it has been applied or
+     * counted as failed. For a local socket, pass
+     * {@code Channels.newInputStream(SocketChannel.open(UnixDomainSocketAddress.of(path)))}.
+     * The stream isn't closed.
+     *
+     * @return the totals so far, as {@link #getReport()}
+     */
+    public IngestionReport ingest(InputStream feed) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(feed, StandardCharsets.UTF_8));
+        Lane[] lanes = new Lane[laneCount];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+        }
+        ArrayDeque<FutureTask<FeedRecord[]>> parsing = new ArrayDeque<>();
+        boolean interrupted = false;
+        try {
+            List<String> chunk = new ArrayList<>(LINES_PER_CHUNK);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == LINES_PER_CHUNK) {
+                    parsing.add(parse(chunk));
+                    chunk = new ArrayList<>(LINES_PER_CHUNK);
+                    if (parsing.size() == CHUNKS_AHEAD) {
+                        route(parsed(parsing.poll()), lanes);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                parsing.add(parse(chunk));
+            }
+            while (!parsing.isEmpty()) {
+                route(parsed(parsing.poll()), lanes);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            for (Lane lane : lanes) {
+                interrupted |= !lane.finish();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while ingesting the feed");
+        }
+        return getReport();
+    }
+
+    /**
+     * Totals over every feed this ingestor has read. Safe to call while a feed is being read.
+     */
+    public IngestionReport getReport() {
+        return new IngestionReport(recordsRead.sum(), applied.sum(), malformed.sum(), gameNotFound.sum(),
+                gameAlreadyExists.sum(), invalid.sum(), otherFailures.sum());
+    }
+
+    /**
+     * A plain task on the parser executor. CompletableFuture.supplyAsync would be shorter, but on
+     * a machine with one or two cores it skips the common pool and starts a thread per chunk.
+     */
+    private FutureTask<FeedRecord[]> parse(List<String> lines) {
+        FutureTask<FeedRecord[]> task = new FutureTask<>(() -> {
+            List<FeedRecord> records = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                try {
+                    FeedRecord record = FeedRecord.parse(line);
+                    if (record != null) {
+                        records.add(record);
+                        recordsRead.increment();
+                    }
+                } catch (IllegalArgumentException e) {
+                    recordsRead.increment();
+                    malformed.increment();
+                }
+            }
+            return records.toArray(new FeedRecord[0]);
+        });
+        parsers.execute(task);
+        return task;
+    }
+
+    private FeedRecord[] parsed(FutureTask<FeedRecord[]> task) throws InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Parsing the feed failed", e.getCause());
+        }
+    }
+
+    private void route(FeedRecord[] records, Lane[] lanes) throws InterruptedException {
+        if (records.length == 0) {
+            return;
+        }
+        if (lanes.length == 1) {
+            lanes[0].queue.put(Arrays.asList(records));
+            return;
+        }
+        List<List<FeedRecord>> split = new ArrayList<>(lanes.length);
+        for (int lane = 0; lane < lanes.length; lane++) {
+            split.add(null);
+        }
+        for (FeedRecord record : records) {
+            int hash = record.homeTeam().hashCode() * 31 + record.awayTeam().hashCode();
+            int lane = Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+            if (split.get(lane) == null) {
+                split.set(lane, new ArrayList<>());
+            }
+            split.get(lane).add(record);
+        }
+        for (int lane = 0; lane < lanes.length; lane++) {
+            if (split.get(lane) != null) {
+                lanes[lane].queue.put(split.get(lane));
+            }
+        }
+    }
+
+    private void apply(List<FeedRecord> batch) {
+        int i = 0;
+        while (i < batch.size()) {
+            if (batch.get(i).type() != FeedRecord.Type.UPDATE) {
+                applyOne(batch.get(i++));
+                continue;
+            }
+            int end = i + 1;
+            while (end < batch.size() && batch.get(end).type() == FeedRecord.Type.UPDATE) {
+                end++;
+            }
+            if (end - i == 1) {
+                applyOne(batch.get(i));
+            } else {
+                applyUpdates(batch.subList(i, end));
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * If the batch is turned down, the updates are tried one at a time to find out which ones
+     * failed. Setting a score twice gives the same result, so that's safe even for a board
+     * whose batches aren't all-or-nothing.
+     */
+    private void applyUpdates(List<FeedRecord> records) {
+        List<ScoreUpdate> updates = new ArrayList<>(records.size());
+        for (FeedRecord record : records) {
+            updates.add(record.toScoreUpdate());
+        }
+        try {
+            board.applyBatch(updates);
+            applied.add(records.size());
+        } catch (RuntimeException e) {
+            records.forEach(this::applyOne);
+        }
+    }
+
+    private void applyOne(FeedRecord record) {
+        try {
+            switch (record.type()) {
+                case START -> board.startGame(record.homeTeam(), record.awayTeam());
+                case UPDATE -> board.updateScore(record.homeTeam(), record.awayTeam(), record.homeScore(), record.awayScore());
+                case FINISH -> board.finishGame(record.homeTeam(), record.awayTeam());
+            }
+            applied.increment();
+        } catch (GameNotFoundException e) {
+            gameNotFound.increment();
+        } catch (GameAlreadyExistsException e) {
+            gameAlreadyExists.increment();
+        } catch (IllegalArgumentException e) {
+            invalid.increment();
+        } catch (RuntimeException e) {
+            otherFailures.increment();
+        }
+    }
+
+    /**
+     * One queue and the thread that drains it.
+     */
+    private final class Lane {
+        private final BlockingQueue<List<FeedRecord>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+
+        private Lane(int index) {
+            thread = new Thread(this::run, "feed-lane-" + index);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Lets the lane apply what's left and waits for it. Returns false if interrupted.
+         */
+        private boolean finish() {
+            try {
+                queue.put(END);
+                thread.join();
+                return true;
+            } catch (InterruptedException e) {
+                thread.interrupt();
+                return false;
+            }
+        }
+
+        private void run() {
+            List<FeedRecord> batch = new ArrayList<>(batchSize);
+            try {
+                while (true) {
+                    List<FeedRecord> records = queue.take();
+                    while (records != END) {
+                        batch.addAll(records);
+                        if (batch.size() >= batchSize || (records = queue.poll()) == null) {
+                            break;
+                        }
+                    }
+                    apply(batch);
+                    batch.clear();
+                    if (records == END) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.worldcup.scoreboard;
+
+/**
+ * One parsed line of a text feed. The feed has one change per line, fields separated by commas:
+ * <pre>
+ * START,Mexico,Canada
+ * UPDATE,Mexico,Canada,0,5
+ * FINISH,Mexico,Canada
+ * </pre>
+ * Blank lines and lines starting with {@code #} are skipped.
+ */
+record FeedRecord(Type type, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+
+    enum Type {
+        START,
+        UPDATE,
+        FINISH
+    }
+
+    /**
+     * Parses a line, returning null for lines that carry nothing.
+     *
+     * @throws IllegalArgumentException if the line isn't a valid feed record
+     */
+    static FeedRecord parse(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] fields = trimmed.split(",", -1);
+        Type type = typeOf(fields[0].trim());
+        int expectedFields = type == Type.UPDATE ? 5 : 3;
+        if (fields.length != expectedFields) {
+            throw new IllegalArgumentException("Expected " + expectedFields + " fields but got " + fields.length + ": " + line);
+        }
+        String homeTeam = fields[1].trim();
+        String awayTeam = fields[2].trim();
+        if (type != Type.UPDATE) {
+            return new FeedRecord(type, homeTeam, awayTeam, 0, 0);
+        }
+        try {
+            return new FeedRecord(type, homeTeam, awayTeam, Integer.parseInt(fields[3].trim()), Integer.parseInt(fields[4].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Scores must be numbers: " + line, e);
+        }
+    }
+
+    ScoreUpdate toScoreUpdate() {
+        return new ScoreUpdate(homeTeam, awayTeam, homeScore, awayScore);
+    }
+
+    private static Type typeOf(String field) {
+        for (Type type : Type.values()) {
+            if (type.name().equalsIgnoreCase(field)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown feed record type: " + field);
+    }
+}
@@ -0,0 +1,7 @@
+package com.worldcup.scoreboard;
+
+/**
+ * A pairing of home and away team, used to start or finish several games in one go.
+ */
+public record Fixture(String homeTeam, String awayTeam) {
+}
@@ -5,23 +5,42 @@ import java.util.Objects;
 
 /**
  * A game between two teams. Keeps track of the score and when it was created.
+ * <p>
+ * Both scores live in a single volatile word, so a score update is one atomic write and
+ * a reader can never pick up the home score of one update and the away score of another
+ * (as long as it reads them through {@link #copy()} or the packed value).
  */
 public class Game {
     private final String homeTeam;
     private final String awayTeam;
     private final Instant createdAt;
-    private int homeScore;
-    private int awayScore;
+    private volatile long score;
 
     public Game(String homeTeam, String awayTeam) {
+        this(homeTeam, awayTeam, Instant.now(), packScore(0, 0));
+    }
+
+    /**
+     * For putting a game back the way it was, e.g. from a checkpoint or journal.
+     */
+    Game(String homeTeam, String awayTeam, Instant createdAt, long packedScore) {
         validateTeamName(homeTeam, "Home team");
         validateTeamName(awayTeam, "Away team");
+        if (homeScoreOf(packedScore) < 0 || awayScoreOf(packedScore) < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
 
         this.homeTeam = homeTeam;
         this.awayTeam = awayTeam;
-        this.homeScore = 0;
-        this.awayScore = 0;
-        this.createdAt = Instant.now();
+        this.score = packedScore;
+        this.createdAt = Objects.requireNonNull(createdAt, "Created at cannot be null");
+    }
+
+    private Game(Game source, long score) {
+        this.homeTeam = source.homeTeam;
+        this.awayTeam = source.awayTeam;
+        this.createdAt = source.createdAt;
+        this.score = score;
     }
 
     private void validateTeamName(String teamName, String fieldName) {
@@ -37,8 +56,31 @@ public class Game {
         if (homeScore < 0 || awayScore < 0) {
             throw new IllegalArgumentException("Scores cannot be negative");
         }
-        this.homeScore = homeScore;
-        this.awayScore = awayScore;
+        this.score = packScore(homeScore, awayScore);
+    }
+
+    /**
+     * Detached copy with the score as it is right now. Both halves come from the same read,
+     * so the copy never mixes two different updates.
+     */
+    Game copy() {
+        return new Game(this, score);
+    }
+
+    long getPackedScore() {
+        return score;
+    }
+
+    static long packScore(int homeScore, int awayScore) {
+        return ((long) homeScore << 32) | (awayScore & 0xFFFFFFFFL);
+    }
+
+    static int homeScoreOf(long packedScore) {
+        return (int) (packedScore >>> 32);
+    }
+
+    static int awayScoreOf(long packedScore) {
+        return (int) packedScore;
     }
 
     public String getHomeTeam() {
@@ -50,15 +92,16 @@ public class Game {
     }
 
     public int getHomeScore() {
-        return homeScore;
+        return homeScoreOf(score);
     }
 
     public int getAwayScore() {
-        return awayScore;
+        return awayScoreOf(score);
     }
 
     public int getTotalScore() {
-        return homeScore + awayScore;
+        long packedScore = score;
+        return homeScoreOf(packedScore) + awayScoreOf(packedScore);
     }
 
     public Instant getCreatedAt() {
@@ -84,6 +127,7 @@ public class Game {
 
     @Override
     public String toString() {
-        return String.format("%s %d - %s %d", homeTeam, homeScore, awayTeam, awayScore);
+        long packedScore = score;
+        return homeTeam + " " + homeScoreOf(packedScore) + " - " + awayTeam + " " + awayScoreOf(packedScore);
     }
 }
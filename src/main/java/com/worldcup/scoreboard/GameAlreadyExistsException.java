@@ -5,4 +5,8 @@ public class GameAlreadyExistsException extends RuntimeException {
     public GameAlreadyExistsException(String homeTeam, String awayTeam) {
         super(String.format("Game between %s and %s already exists", homeTeam, awayTeam));
     }
+
+    protected GameAlreadyExistsException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,296 @@
+package com.worldcup.scoreboard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Finished games, kept for reporting after they leave the board. Hand one to
+ * {@link LiveScoreBoard#setArchive(GameArchive)} and every game the board finishes is appended
+ * here with its final score.
+ * <p>
+ * Results are stored in chunks of a few thousand rows, one primitive array per column (team IDs,
+ * packed score, start and finish time), so a result costs about 32 bytes plus 16 for the team
+ * index rather than a few objects. Retention works on whole chunks: the oldest chunk goes once
+ * all of it is older than the age limit, or once dropping it still leaves the number of games
+ * asked for. Either limit can be left out.
+ * <p>
+ * Queries never scan the whole history:
+ * <ul>
+ *     <li>{@link #getRecent(int)} walks back from the newest result;</li>
+ *     <li>{@link #getByTeam(String, int)} uses a per-team list of rows;</li>
+ *     <li>{@link #getFinishedBetween(Instant, Instant)} binary searches the finish times, which
+ *     only ever go up (a clock that steps back is held at the last time seen).</li>
+ * </ul>
+ * Writes come from the board's thread, but every method is synchronized, so reporting jobs can
+ * query from anywhere.
+ */
+public final class GameArchive {
+
+    static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final int maxGames;
+    private final long maxAgeMillis;
+    private final Clock clock;
+    private final int chunkSize;
+    private final TeamRegistry teams = new TeamRegistry();
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<RowList> rowsByTeam = new ArrayList<>();
+    // Rows are numbered from the first game ever archived, so a number stays valid until evicted
+    private long firstRow;
+    private long nextRow;
+    private long lastFinishedMillis = Long.MIN_VALUE;
+
+    /**
+     * An archive that keeps everything.
+     */
+    public GameArchive() {
+        this(Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param maxGames how many of the latest results to keep at least
+     * @param maxAge how long to keep results at least, or null for no age limit
+     */
+    public GameArchive(int maxGames, Duration maxAge) {
+        this(maxGames, maxAge, Clock.systemUTC());
+    }
+
+    public GameArchive(int maxGames, Duration maxAge, Clock clock) {
+        this(maxGames, maxAge, clock, DEFAULT_CHUNK_SIZE);
+    }
+
+    GameArchive(int maxGames, Duration maxAge, Clock clock, int chunkSize) {
+        if (maxGames <= 0) {
+            throw new IllegalArgumentException("Max games must be positive");
+        }
+        if (maxAge != null && (maxAge.isNegative() || maxAge.isZero())) {
+            throw new IllegalArgumentException("Max age must be positive");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.maxGames = maxGames;
+        this.maxAgeMillis = maxAge == null ? Long.MAX_VALUE : maxAge.toMillis();
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archives the game with its score as it is now, finished at the current time.
+     */
+    synchronized void add(Game game) {
+        long finishedMillis = Math.max(clock.millis(), lastFinishedMillis);
+        lastFinishedMillis = finishedMillis;
+        int homeTeamId = teams.register(game.getHomeTeam());
+        int awayTeamId = teams.register(game.getAwayTeam());
+
+        Chunk chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.size == chunkSize) {
+            chunk = new Chunk(chunkSize);
+            chunks.add(chunk);
+        }
+        int row = chunk.size++;
+        chunk.homeTeamIds[row] = homeTeamId;
+        chunk.awayTeamIds[row] = awayTeamId;
+        chunk.scores[row] = game.getPackedScore();
+        chunk.startedMillis[row] = game.getCreatedAt().toEpochMilli();
+        chunk.finishedMillis[row] = finishedMillis;
+
+        rowsOf(homeTeamId).add(nextRow);
+        if (awayTeamId != homeTeamId) {
+            rowsOf(awayTeamId).add(nextRow);
+        }
+        nextRow++;
+        evict(finishedMillis);
+    }
+
+    /**
+     * The latest {@code limit} results, newest first.
+     */
+    public synchronized List<ArchivedGame> getRecent(int limit) {
+        validateLimit(limit);
+        evict(clock.millis());
+        List<ArchivedGame> recent = new ArrayList<>((int) Math.min(limit, nextRow - firstRow));
+        for (long row = nextRow - 1; row >= firstRow && recent.size() < limit; row--) {
+            recent.add(read(row));
+        }
+        return recent;
+    }
+
+    /**
+     * The latest {@code limit} results for the team, home or away, newest first.
+     */
+    public synchronized List<ArchivedGame> getByTeam(String team, int limit) {
+        if (team == null) {
+            throw new IllegalArgumentException("Team name cannot be null");
+        }
+        validateLimit(limit);
+        evict(clock.millis());
+        int teamId = teams.idOf(team);
+        if (teamId == TeamRegistry.UNKNOWN) {
+            return new ArrayList<>();
+        }
+        RowList rows = rowsByTeam.get(teamId);
+        List<ArchivedGame> results = new ArrayList<>(Math.min(limit, rows.end - rows.start));
+        for (int i = rows.end - 1; i >= rows.start && rows.rows[i] >= firstRow && results.size() < limit; i--) {
+            results.add(read(rows.rows[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Results of games finished from {@code from} (inclusive) to {@code to} (exclusive),
+     * oldest first.
+     */
+    public synchronized List<ArchivedGame> getFinishedBetween(Instant from, Instant to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Time range cannot be null");
+        }
+        evict(clock.millis());
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        List<ArchivedGame> results = new ArrayList<>();
+        for (long row = firstFinishedAtOrAfter(fromMillis); row < nextRow; row++) {
+            if (finishedMillisOf(row) >= toMillis) {
+                break;
+            }
+            results.add(read(row));
+        }
+        return results;
+    }
+
+    /**
+     * Number of results kept right now.
+     */
+    public synchronized long size() {
+        evict(clock.millis());
+        return nextRow - firstRow;
+    }
+
+    /**
+     * Number of results ever archived, including the evicted ones.
+     */
+    public synchronized long getArchivedCount() {
+        return nextRow;
+    }
+
+    private long firstFinishedAtOrAfter(long millis) {
+        long low = firstRow;
+        long high = nextRow;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (finishedMillisOf(middle) < millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void evict(long nowMillis) {
+        while (chunks.size() > 1) {
+            Chunk oldest = chunks.get(0);
+            boolean tooMany = nextRow - firstRow - oldest.size >= maxGames;
+            boolean tooOld = nowMillis - oldest.finishedMillis[oldest.size - 1] > maxAgeMillis;
+            if (!tooMany && !tooOld) {
+                return;
+            }
+            chunks.remove(0);
+            firstRow += oldest.size;
+        }
+        // The last chunk is still being filled, so it only goes once all of it is too old
+        if (chunks.size() == 1) {
+            Chunk last = chunks.get(0);
+            if (nowMillis - last.finishedMillis[last.size - 1] > maxAgeMillis) {
+                chunks.clear();
+                firstRow = nextRow;
+            }
+        }
+    }
+
+    private ArchivedGame read(long row) {
+        Chunk chunk = chunkOf(row);
+        int index = indexOf(row);
+        long score = chunk.scores[index];
+        return new ArchivedGame(teams.nameOf(chunk.homeTeamIds[index]), teams.nameOf(chunk.awayTeamIds[index]),
+                Game.homeScoreOf(score), Game.awayScoreOf(score),
+                Instant.ofEpochMilli(chunk.startedMillis[index]), Instant.ofEpochMilli(chunk.finishedMillis[index]));
+    }
+
+    private long finishedMillisOf(long row) {
+        return chunkOf(row).finishedMillis[indexOf(row)];
+    }
+
+    /**
+     * Only the last chunk is ever partly full, and chunks are evicted whole from the front, so
+     * the row's chunk is just its distance from the first kept row over the chunk size.
+     */
+    private Chunk chunkOf(long row) {
+        return chunks.get((int) ((row - firstRow) / chunkSize));
+    }
+
+    private int indexOf(long row) {
+        return (int) ((row - firstRow) % chunkSize);
+    }
+
+    private RowList rowsOf(int teamId) {
+        while (rowsByTeam.size() <= teamId) {
+            rowsByTeam.add(new RowList());
+        }
+        return rowsByTeam.get(teamId);
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
+    private static final class Chunk {
+        private final int[] homeTeamIds;
+        private final int[] awayTeamIds;
+        private final long[] scores;
+        private final long[] startedMillis;
+        private final long[] finishedMillis;
+        private int size;
+
+        private Chunk(int capacity) {
+            this.homeTeamIds = new int[capacity];
+            this.awayTeamIds = new int[capacity];
+            this.scores = new long[capacity];
+            this.startedMillis = new long[capacity];
+            this.finishedMillis = new long[capacity];
+        }
+    }
+
+    /**
+     * Rows one team played in, oldest first. Evicted rows are dropped from the front lazily,
+     * whenever the list has to grow anyway.
+     */
+    private final class RowList {
+        private long[] rows = new long[4];
+        private int start;
+        private int end;
+
+        private void add(long row) {
+            if (end == rows.length) {
+                while (start < end && rows[start] < firstRow) {
+                    start++;
+                }
+                int live = end - start;
+                long[] target = live * 2 > rows.length ? Arrays.copyOf(rows, rows.length * 2) : rows;
+                System.arraycopy(rows, start, target, 0, live);
+                rows = target;
+                start = 0;
+                end = live;
+            }
+            rows[end++] = row;
+        }
+    }
+}
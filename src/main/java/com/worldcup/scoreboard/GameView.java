@@ -0,0 +1,23 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Read-only picture of a game at the moment a summary snapshot was taken.
+ * Unlike {@link Game} it never changes, so it's safe to hand to any thread.
+ */
+public record GameView(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+
+    static GameView of(Game game) {
+        long packedScore = game.getPackedScore();
+        return new GameView(game.getHomeTeam(), game.getAwayTeam(),
+                Game.homeScoreOf(packedScore), Game.awayScoreOf(packedScore));
+    }
+
+    public int totalScore() {
+        return homeScore + awayScore;
+    }
+
+    @Override
+    public String toString() {
+        return homeTeam + " " + homeScore + " - " + awayTeam + " " + awayScore;
+    }
+}
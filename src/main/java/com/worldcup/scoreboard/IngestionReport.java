@@ -0,0 +1,78 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Counts of what a {@link FeedIngestor} did with the records it read. Every record read ends up
+ * in exactly one of the other counts.
+ */
+public final class IngestionReport {
+
+    private final long recordsRead;
+    private final long applied;
+    private final long malformed;
+    private final long gameNotFound;
+    private final long gameAlreadyExists;
+    private final long invalid;
+    private final long otherFailures;
+
+    IngestionReport(long recordsRead, long applied, long malformed, long gameNotFound, long gameAlreadyExists,
+                    long invalid, long otherFailures) {
+        this.recordsRead = recordsRead;
+        this.applied = applied;
+        this.malformed = malformed;
+        this.gameNotFound = gameNotFound;
+        this.gameAlreadyExists = gameAlreadyExists;
+        this.invalid = invalid;
+        this.otherFailures = otherFailures;
+    }
+
+    /**
+     * Lines that carried a record, not counting blank lines and comments.
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getApplied() {
+        return applied;
+    }
+
+    /**
+     * Lines that couldn't be parsed.
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    public long getGameNotFound() {
+        return gameNotFound;
+    }
+
+    public long getGameAlreadyExists() {
+        return gameAlreadyExists;
+    }
+
+    /**
+     * Records the board turned down as invalid, such as negative scores or empty team names.
+     */
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Records the board failed on for any other reason.
+     */
+    public long getOtherFailures() {
+        return otherFailures;
+    }
+
+    public long getFailed() {
+        return malformed + gameNotFound + gameAlreadyExists + invalid + otherFailures;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestionReport{read=" + recordsRead + ", applied=" + applied + ", malformed=" + malformed
+                + ", gameNotFound=" + gameNotFound + ", gameAlreadyExists=" + gameAlreadyExists
+                + ", invalid=" + invalid + ", otherFailures=" + otherFailures + "}";
+    }
+}
@@ -0,0 +1,489 @@
+package com.worldcup.scoreboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of every change made to a {@link LiveScoreBoard}, so the board can be put
+ * back together after the process dies.
+ * <p>
+ * The file starts with a short header followed by records, each framed as
+ * {@code [length][type][payload][crc32]}. Team names are written once, the first time a game
+ * uses them; after that games are referred to by their packed team IDs, so a score update
+ * takes 25 bytes. Starts keep the game's creation time, so a replayed game gets it back. A
+ * batch is wrapped in begin and end records and is only replayed if both made it to disk.
+ * When the journal is opened again, replay stops at the first torn or corrupt record and the
+ * file is cut back to the last good one.
+ * <p>
+ * Records go through a reusable direct buffer and a {@link FileChannel}; when they reach the
+ * disk is up to the {@link SyncPolicy}. Not meant to be shared between boards.
+ */
+public final class Journal implements Closeable {
+
+    static final int MAGIC = 0x57435342; // "WCSB"
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_TEAM_NAME_BYTES = Short.MAX_VALUE;
+
+    private static final byte TEAM = 1;
+    private static final byte START = 2;
+    private static final byte UPDATE = 3;
+    private static final byte FINISH = 4;
+    private static final byte BATCH_BEGIN = 5;
+    private static final byte BATCH_END = 6;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final SyncPolicy policy;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService flusher;
+    private boolean replayed;
+    private boolean closed;
+    private boolean inBatch;
+    private int teamsWritten;
+    private int pendingChanges;
+    private long oldestPendingNanos;
+    private int recordStart;
+
+    private Journal(Path file, FileChannel channel, SyncPolicy policy) {
+        this.file = file;
+        this.channel = channel;
+        this.policy = policy;
+        if (policy.isFsync() && policy.getMaxPendingChanges() > 1) {
+            long delayNanos = policy.getMaxDelay().toNanos();
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "scoreboard-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Check a few times per delay window, so nothing waits much longer than maxDelay
+            long period = Math.max(1, delayNanos / 4);
+            flusher.scheduleAtFixedRate(this::flushIfDue, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Opens the journal at {@code file}, creating it if it isn't there yet. Hand it to a
+     * {@link LiveScoreBoard} constructor, which replays whatever is already in it.
+     */
+    public static Journal open(Path file, SyncPolicy policy) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip(), 0);
+                channel.force(true);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(header, 0);
+                header.flip();
+                if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                    throw new IOException(file + " is not a scoreboard journal");
+                }
+            }
+            return new Journal(file, channel, policy);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Pushes everything written so far to disk, whatever the sync policy says.
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            writeBuffer();
+            channel.force(false);
+            pendingChanges = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not flush journal " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        try {
+            writeBuffer();
+            channel.force(true);
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads every complete record back and cuts off anything after the last good one. Has to
+     * run once before the first append, so new records go after the good ones.
+     */
+    synchronized void replay(Visitor visitor) {
+        replay(visitor, HEADER_SIZE);
+    }
+
+    /**
+     * Same as {@link #replay(Visitor)}, but skips straight to where a {@link Checkpoint} left
+     * off. Everything before that position is already in the checkpoint.
+     */
+    synchronized void replayAfter(Checkpoint checkpoint, Visitor visitor) {
+        long position = checkpoint.getJournalPosition();
+        try {
+            if (position < 0 && channel.size() > HEADER_SIZE) {
+                throw new IllegalStateException("Checkpoint was taken without a journal, but " + file + " isn't empty");
+            }
+            if (position > channel.size()) {
+                throw new IllegalStateException("Journal " + file + " ends before the checkpoint at " + position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay journal " + file, e);
+        }
+        teamsWritten = Math.max(0, checkpoint.getJournalTeams());
+        replay(visitor, Math.max(HEADER_SIZE, position));
+    }
+
+    /**
+     * Where the next record goes, counting records that are still in the buffer. A checkpoint
+     * taken now covers everything before this position.
+     */
+    synchronized long position() {
+        try {
+            return channel.position() + buffer.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read journal position " + file, e);
+        }
+    }
+
+    synchronized int teamsWritten() {
+        return teamsWritten;
+    }
+
+    private void replay(Visitor visitor, long from) {
+        if (replayed) {
+            throw new IllegalStateException("Journal has already been replayed");
+        }
+        try {
+            long end = new Reader(visitor, from).readAll();
+            if (end < channel.size()) {
+                channel.truncate(end);
+            }
+            channel.position(end);
+            replayed = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay journal " + file, e);
+        }
+    }
+
+    synchronized void appendStart(TeamRegistry teams, long gameKey, Instant createdAt) {
+        writeNewTeams(teams);
+        beginRecord(START).putLong(gameKey).putLong(createdAt.getEpochSecond()).putInt(createdAt.getNano());
+        endRecord();
+        changed();
+    }
+
+    synchronized void appendUpdate(long gameKey, int homeScore, int awayScore) {
+        beginRecord(UPDATE).putLong(gameKey).putInt(homeScore).putInt(awayScore);
+        endRecord();
+        changed();
+    }
+
+    synchronized void appendFinish(long gameKey) {
+        beginRecord(FINISH).putLong(gameKey);
+        endRecord();
+        changed();
+    }
+
+    /**
+     * Starts a batch. The records appended until {@link #endBatch()} only count once the end
+     * record is written, and the whole batch is one change as far as the sync policy goes.
+     */
+    synchronized void beginBatch(TeamRegistry teams) {
+        writeNewTeams(teams);
+        beginRecord(BATCH_BEGIN);
+        endRecord();
+        inBatch = true;
+    }
+
+    synchronized void endBatch() {
+        beginRecord(BATCH_END);
+        endRecord();
+        inBatch = false;
+        changed();
+    }
+
+    /**
+     * Team names go in before the first record that uses their IDs, in ID order, so replaying
+     * them hands out the same IDs again.
+     */
+    /**
+     * Rejects a team name too long to write. The board checks before it registers a team: once
+     * registered, a name the journal can't write would fail every append after it.
+     */
+    static void checkTeamName(String team) {
+        // A char never takes more than 3 bytes, so most names don't need encoding to tell
+        if (team.length() > MAX_TEAM_NAME_BYTES / 3 && team.getBytes(StandardCharsets.UTF_8).length > MAX_TEAM_NAME_BYTES) {
+            throw new IllegalArgumentException("Team name is too long for the journal: " + team);
+        }
+    }
+
+    private void writeNewTeams(TeamRegistry teams) {
+        while (teamsWritten < teams.size()) {
+            byte[] name = teams.nameOf(teamsWritten).getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_TEAM_NAME_BYTES) {
+                throw new IllegalArgumentException("Team name is too long for the journal: " + teams.nameOf(teamsWritten));
+            }
+            beginRecord(TEAM).putInt(teamsWritten).putShort((short) name.length).put(name);
+            endRecord();
+            teamsWritten++;
+        }
+    }
+
+    private ByteBuffer beginRecord(byte type) {
+        if (!replayed) {
+            throw new IllegalStateException("Journal has to be replayed before anything is appended");
+        }
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        // Biggest record is a team name; make sure it fits before starting
+        if (buffer.remaining() < MAX_TEAM_NAME_BYTES + 32) {
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write journal " + file, e);
+            }
+        }
+        recordStart = buffer.position();
+        return buffer.putInt(0).put(type);
+    }
+
+    private void endRecord() {
+        int payloadStart = recordStart + Integer.BYTES;
+        int end = buffer.position();
+        buffer.putInt(recordStart, end - payloadStart);
+
+        crc.reset();
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(payloadStart).limit(end);
+        crc.update(payload);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private void changed() {
+        if (inBatch) {
+            return;
+        }
+        if (pendingChanges++ == 0) {
+            oldestPendingNanos = System.nanoTime();
+        }
+        if (pendingChanges >= policy.getMaxPendingChanges()) {
+            flush();
+        } else if (!policy.isFsync()) {
+            // Nothing will force it, but it has to leave the process before the board call returns
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write journal " + file, e);
+            }
+        }
+    }
+
+    private synchronized void flushIfDue() {
+        if (pendingChanges > 0 && System.nanoTime() - oldestPendingNanos >= policy.getMaxDelay().toNanos()) {
+            flush();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gets the records back in the order they were written. A batch is handed over only once
+     * its end record has been read, with {@link #beginBatch()} and {@link #endBatch()} around it.
+     */
+    interface Visitor {
+
+        void team(int teamId, String name);
+
+        void start(long gameKey, Instant createdAt);
+
+        void update(long gameKey, int homeScore, int awayScore);
+
+        void finish(long gameKey);
+
+        void beginBatch();
+
+        void endBatch();
+    }
+
+    /**
+     * Streams the file through a buffer and stops at the first record that isn't complete
+     * and intact.
+     */
+    private final class Reader {
+        private final Visitor visitor;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE * 2);
+        private final List<long[]> batch = new ArrayList<>();
+        private boolean readingBatch;
+        private final long from;
+        private long batchStart;
+        private long filePosition;
+        private boolean endOfFile;
+
+        private Reader(Visitor visitor, long from) {
+            this.visitor = visitor;
+            this.from = from;
+            this.filePosition = from;
+            in.limit(0);
+        }
+
+        /**
+         * Returns where the last good record ends.
+         */
+        long readAll() throws IOException {
+            long goodEnd = from;
+            long recordPosition = from;
+            while (true) {
+                if (!fill(Integer.BYTES)) {
+                    break;
+                }
+                int length = in.getInt(in.position());
+                if (length <= 0 || length > BUFFER_SIZE) {
+                    break;
+                }
+                if (!fill(Integer.BYTES + length + Integer.BYTES)) {
+                    break;
+                }
+                int payloadStart = in.position() + Integer.BYTES;
+                crc.reset();
+                ByteBuffer payload = in.duplicate();
+                payload.position(payloadStart).limit(payloadStart + length);
+                crc.update(payload);
+                if (in.getInt(payloadStart + length) != (int) crc.getValue()) {
+                    break;
+                }
+
+                in.position(payloadStart);
+                byte type = in.get();
+                if (!apply(type, recordPosition)) {
+                    break;
+                }
+                in.position(payloadStart + length + Integer.BYTES);
+                recordPosition += Integer.BYTES + length + Integer.BYTES;
+                if (!readingBatch) {
+                    goodEnd = recordPosition;
+                }
+            }
+            // A batch without its end record never happened
+            return readingBatch ? batchStart : goodEnd;
+        }
+
+        private boolean apply(byte type, long recordPosition) {
+            switch (type) {
+                case TEAM:
+                    int teamId = in.getInt();
+                    byte[] name = new byte[in.getShort()];
+                    in.get(name);
+                    visitor.team(teamId, new String(name, StandardCharsets.UTF_8));
+                    teamsWritten = teamId + 1;
+                    return true;
+                case START:
+                    return op(new long[]{START, in.getLong(), in.getLong(), in.getInt()});
+                case UPDATE:
+                    return op(new long[]{UPDATE, in.getLong(), in.getInt(), in.getInt()});
+                case FINISH:
+                    return op(new long[]{FINISH, in.getLong()});
+                case BATCH_BEGIN:
+                    if (readingBatch) {
+                        return false;
+                    }
+                    readingBatch = true;
+                    batchStart = recordPosition;
+                    return true;
+                case BATCH_END:
+                    if (!readingBatch) {
+                        return false;
+                    }
+                    visitor.beginBatch();
+                    batch.forEach(this::deliver);
+                    visitor.endBatch();
+                    batch.clear();
+                    readingBatch = false;
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private boolean op(long[] op) {
+            if (readingBatch) {
+                batch.add(op);
+            } else {
+                deliver(op);
+            }
+            return true;
+        }
+
+        private void deliver(long[] op) {
+            switch ((int) op[0]) {
+                case START -> visitor.start(op[1], Instant.ofEpochSecond(op[2], op[3]));
+                case UPDATE -> visitor.update(op[1], (int) op[2], (int) op[3]);
+                case FINISH -> visitor.finish(op[1]);
+                default -> throw new IllegalStateException("Unknown journal operation " + op[0]);
+            }
+        }
+
+        /**
+         * Makes sure at least {@code bytes} unread bytes are in the buffer. False at end of file.
+         */
+        private boolean fill(int bytes) throws IOException {
+            if (in.remaining() >= bytes) {
+                return true;
+            }
+            in.compact();
+            while (in.position() < bytes && !endOfFile) {
+                int read = channel.read(in, filePosition);
+                if (read < 0) {
+                    endOfFile = true;
+                } else {
+                    filePosition += read;
+                }
+            }
+            in.flip();
+            return in.remaining() >= bytes;
+        }
+    }
+}
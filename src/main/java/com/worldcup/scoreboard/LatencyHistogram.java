@@ -0,0 +1,94 @@
+package com.worldcup.scoreboard;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, log-linear histogram of nanosecond latencies, laid out the way HdrHistogram does
+ * it: every power of two is split into 32 equal buckets, so any recorded value is known to
+ * within about 3%, from a few nanoseconds up to a minute. Recording is one array increment plus
+ * a couple of atomic adds and never allocates. Safe to record and read from any threads; a read
+ * that races with recording may be off by the values in flight.
+ * <p>
+ * Public so that load tests driving a board from outside can report the same percentiles as
+ * {@link ScoreBoardMetrics}.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^36 ns is a little over a minute; anything slower lands in the last bucket
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_TRACKED = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(Math.min(value, MAX_TRACKED)));
+        total.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public LatencySummary summarize() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            copy[bucket] = counts.get(bucket);
+            count += copy[bucket];
+        }
+        long maxNanos = max.get();
+        if (count == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new LatencySummary(count, total.get() / count,
+                percentile(copy, count, 0.5, maxNanos),
+                percentile(copy, count, 0.9, maxNanos),
+                percentile(copy, count, 0.99, maxNanos),
+                percentile(copy, count, 0.999, maxNanos),
+                maxNanos);
+    }
+
+    /**
+     * Values below 32 get a bucket each. Above that, the highest set bit picks the group and the
+     * next five bits pick the bucket inside it.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * The largest value that lands in the bucket, so percentiles never read low.
+     */
+    static long highestValueIn(int bucket) {
+        int group = bucket / SUB_BUCKETS;
+        long sub = bucket % SUB_BUCKETS;
+        if (group == 0) {
+            return sub;
+        }
+        int shift = group - 1;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    private static long percentile(long[] counts, long count, double quantile, long maxNanos) {
+        long wanted = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= wanted) {
+                return Math.min(highestValueIn(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+}
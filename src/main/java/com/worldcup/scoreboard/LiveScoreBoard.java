@@ -1,74 +1,856 @@
 package com.worldcup.scoreboard;
 
-import java.util.LinkedHashMap;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
 
 public class LiveScoreBoard implements ScoreBoard {
 
-    private final Map<String, Game> games;
+    private static final int CHANGE_LOG_CAPACITY = 4096;
+
+    private final TeamRegistry teams;
+    private final LongObjectMap<RankingIndex.Entry> games;
+    private final TeamIndex gamesByTeam;
+    private final RankingIndex ranking;
+    private final ChangeLog changes;
+    private final EventHub events;
+    private final LongSupplier sequences;
+    private Journal journal;
+    private ScoreBoardMetrics metrics;
+    private GameArchive archive;
+    private ReplicationLog replication;
+    private boolean oneGamePerTeam;
+    private boolean publishOnChange;
+    private long version;
+    private volatile SummarySnapshot snapshot;
+    private volatile RenderedSummary rendered;
 
     public LiveScoreBoard() {
-        this.games = new LinkedHashMap<>();
+        this(ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Creates a board that delivers its events to subscribers on the given executor.
+     */
+    public LiveScoreBoard(Executor eventExecutor) {
+        this(eventExecutor, null);
+    }
+
+    /**
+     * Creates a durable board: everything already in the journal is replayed first, and every
+     * change from then on is written to it before it's applied. Closing the journal is up to you.
+     */
+    public LiveScoreBoard(Journal journal) {
+        this(ForkJoinPool.commonPool(), journal);
+    }
+
+    /**
+     * Creates a board with both an event executor and a journal. The journal can be null
+     * for a board that only lives in memory.
+     */
+    public LiveScoreBoard(Executor eventExecutor, Journal journal) {
+        this(eventExecutor, null, journal);
+    }
+
+    /**
+     * Creates a board that starts out as it was when the checkpoint was taken, then replays
+     * whatever the journal got after that. The journal can be null if there isn't one.
+     */
+    public LiveScoreBoard(Checkpoint checkpoint, Journal journal) {
+        this(ForkJoinPool.commonPool(), checkpoint, journal);
+    }
+
+    /**
+     * Creates a board with an event executor, a checkpoint to start from and a journal.
+     * The checkpoint and the journal can both be null.
+     */
+    public LiveScoreBoard(Executor eventExecutor, Checkpoint checkpoint, Journal journal) {
+        this(eventExecutor, checkpoint, journal,
+                checkpoint == null ? new TeamRegistry() : new TeamRegistry(checkpoint.getTeamNames().length), null,
+                CHANGE_LOG_CAPACITY);
+    }
+
+    /**
+     * For boards hosted by a {@link ScoreBoardRegistry}, which share its team registry and take
+     * their sequence numbers from it, so "most recent" means the same on every board.
+     */
+    LiveScoreBoard(Executor eventExecutor, TeamRegistry teams, LongSupplier sequences, int changeLogCapacity) {
+        this(eventExecutor, null, null, teams, sequences, changeLogCapacity);
+    }
+
+    private LiveScoreBoard(Executor eventExecutor, Checkpoint checkpoint, Journal journal, TeamRegistry teams,
+                           LongSupplier sequences, int changeLogCapacity) {
+        this.teams = teams;
+        this.games = checkpoint == null ? new LongObjectMap<>() : new LongObjectMap<>(checkpoint.size());
+        this.gamesByTeam = new TeamIndex();
+        this.ranking = new RankingIndex();
+        this.changes = new ChangeLog(changeLogCapacity);
+        this.events = new EventHub(eventExecutor);
+        this.sequences = sequences;
+        this.snapshot = new SummarySnapshot(0, new GameView[0]);
+        if (checkpoint != null) {
+            restore(checkpoint);
+        }
+        if (journal != null) {
+            if (checkpoint == null) {
+                journal.replay(new Replayer());
+            } else {
+                journal.replayAfter(checkpoint, new Replayer());
+            }
+            this.journal = journal;
+        }
+        publish();
     }
 
     @Override
     public void startGame(String homeTeam, String awayTeam) {
+        long started = startClock();
         validateTeamNames(homeTeam, awayTeam);
+        validateJournalable(homeTeam, awayTeam);
 
-        String gameKey = createGameKey(homeTeam, awayTeam);
+        long gameKey = TeamRegistry.gameKey(teams.register(homeTeam), teams.register(awayTeam));
 
         if (games.containsKey(gameKey)) {
-            throw new GameAlreadyExistsException(homeTeam, awayTeam);
+            throw alreadyExists(homeTeam, awayTeam);
+        }
+        if (oneGamePerTeam) {
+            checkNotPlaying(homeTeam);
+            checkNotPlaying(awayTeam);
         }
 
         Game game = new Game(homeTeam, awayTeam);
-        games.put(gameKey, game);
+        if (journal != null) {
+            journal.appendStart(teams, gameKey, game.getCreatedAt());
+        }
+        version++;
+        addGame(gameKey, game);
+        changeDone();
+        stopClock(ScoreBoardMetrics.Operation.START_GAME, started, homeTeam, awayTeam);
     }
 
     @Override
     public void updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        long started = startClock();
         validateTeamNames(homeTeam, awayTeam);
 
-        String gameKey = createGameKey(homeTeam, awayTeam);
-        Game game = games.get(gameKey);
+        RankingIndex.Entry entry = games.get(findGameKey(homeTeam, awayTeam));
 
-        if (game == null) {
-            throw new GameNotFoundException(homeTeam, awayTeam);
+        if (entry == null) {
+            throw notFound(homeTeam, awayTeam);
         }
 
-        game.updateScore(homeScore, awayScore);
+        updateGame(entry, homeScore, awayScore);
+        stopClock(ScoreBoardMetrics.Operation.UPDATE_SCORE, started, homeTeam, awayTeam);
+    }
+
+    /**
+     * Same as {@link #updateScore(String, String, int, int)}, for feeds that number their
+     * updates. Feeds redeliver and reorder messages, so an update whose sequence number isn't
+     * higher than the last one applied to the game is dropped rather than applied again. Each
+     * game counts on its own; a new game accepts any sequence number to begin with.
+     * <p>
+     * Sequence numbers aren't journaled or checkpointed, so after a restart the first update of
+     * each game is taken whatever its number.
+     *
+     * @return false if the update was stale or a duplicate and nothing changed
+     */
+    public boolean updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore, long feedSequence) {
+        long started = startClock();
+        validateTeamNames(homeTeam, awayTeam);
+        validateFeedSequence(feedSequence);
+
+        RankingIndex.Entry entry = games.get(findGameKey(homeTeam, awayTeam));
+
+        if (entry == null) {
+            throw notFound(homeTeam, awayTeam);
+        }
+
+        boolean applied = updateGame(entry, homeScore, awayScore, feedSequence);
+        stopClock(ScoreBoardMetrics.Operation.UPDATE_SCORE, started, homeTeam, awayTeam);
+        return applied;
+    }
+
+    /**
+     * Same as {@link #updateScore(String, String, int, int)}, but with the IDs from
+     * {@link #getTeamRegistry()}. Doesn't allocate anything once the game is running.
+     */
+    public void updateScore(int homeTeamId, int awayTeamId, int homeScore, int awayScore) {
+        long started = startClock();
+        validateTeamIds(homeTeamId, awayTeamId);
+
+        RankingIndex.Entry entry = games.get(TeamRegistry.gameKey(homeTeamId, awayTeamId));
+
+        if (entry == null) {
+            throw notFound(teams.nameOf(homeTeamId), teams.nameOf(awayTeamId));
+        }
+
+        updateGame(entry, homeScore, awayScore);
+        stopClock(ScoreBoardMetrics.Operation.UPDATE_SCORE, started, entry.getGame().getHomeTeam(), entry.getGame().getAwayTeam());
+    }
+
+    /**
+     * Same as {@link #updateScore(String, String, int, int, long)}, but with the IDs from
+     * {@link #getTeamRegistry()}.
+     */
+    public boolean updateScore(int homeTeamId, int awayTeamId, int homeScore, int awayScore, long feedSequence) {
+        long started = startClock();
+        validateTeamIds(homeTeamId, awayTeamId);
+        validateFeedSequence(feedSequence);
+
+        RankingIndex.Entry entry = games.get(TeamRegistry.gameKey(homeTeamId, awayTeamId));
+
+        if (entry == null) {
+            throw notFound(teams.nameOf(homeTeamId), teams.nameOf(awayTeamId));
+        }
+
+        boolean applied = updateGame(entry, homeScore, awayScore, feedSequence);
+        stopClock(ScoreBoardMetrics.Operation.UPDATE_SCORE, started, entry.getGame().getHomeTeam(), entry.getGame().getAwayTeam());
+        return applied;
     }
 
     @Override
     public void finishGame(String homeTeam, String awayTeam) {
+        long started = startClock();
         validateTeamNames(homeTeam, awayTeam);
 
-        String gameKey = createGameKey(homeTeam, awayTeam);
+        RankingIndex.Entry entry = games.get(findGameKey(homeTeam, awayTeam));
+
+        if (entry == null) {
+            throw notFound(homeTeam, awayTeam);
+        }
+
+        finishGame(entry);
+        stopClock(ScoreBoardMetrics.Operation.FINISH_GAME, started, homeTeam, awayTeam);
+    }
+
+    /**
+     * Same as {@link #finishGame(String, String)}, but with the IDs from {@link #getTeamRegistry()}.
+     */
+    public void finishGame(int homeTeamId, int awayTeamId) {
+        long started = startClock();
+        validateTeamIds(homeTeamId, awayTeamId);
+
+        RankingIndex.Entry entry = games.get(TeamRegistry.gameKey(homeTeamId, awayTeamId));
+
+        if (entry == null) {
+            throw notFound(teams.nameOf(homeTeamId), teams.nameOf(awayTeamId));
+        }
+
+        finishGame(entry);
+        stopClock(ScoreBoardMetrics.Operation.FINISH_GAME, started, entry.getGame().getHomeTeam(), entry.getGame().getAwayTeam());
+    }
+
+    @Override
+    public void startGames(Collection<Fixture> fixtures) {
+        long started = startClock();
+        Set<Fixture> seen = new HashSet<>();
+        Set<String> seenTeams = oneGamePerTeam ? new HashSet<>() : null;
+        for (Fixture fixture : fixtures) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+            validateJournalable(fixture.homeTeam(), fixture.awayTeam());
+            if (games.containsKey(findGameKey(fixture.homeTeam(), fixture.awayTeam())) || !seen.add(fixture)) {
+                throw alreadyExists(fixture.homeTeam(), fixture.awayTeam());
+            }
+            if (seenTeams != null) {
+                checkNotPlaying(fixture.homeTeam());
+                checkNotPlaying(fixture.awayTeam());
+                if (!seenTeams.add(fixture.homeTeam())) {
+                    throw alreadyPlaying(fixture.homeTeam());
+                }
+                if (!seenTeams.add(fixture.awayTeam())) {
+                    throw alreadyPlaying(fixture.awayTeam());
+                }
+            }
+        }
+        if (fixtures.isEmpty()) {
+            return;
+        }
 
-        if (!games.containsKey(gameKey)) {
-            throw new GameNotFoundException(homeTeam, awayTeam);
+        long[] gameKeys = new long[fixtures.size()];
+        Game[] newGames = new Game[fixtures.size()];
+        int i = 0;
+        for (Fixture fixture : fixtures) {
+            gameKeys[i] = TeamRegistry.gameKey(teams.register(fixture.homeTeam()), teams.register(fixture.awayTeam()));
+            newGames[i++] = new Game(fixture.homeTeam(), fixture.awayTeam());
+        }
+        if (journal != null) {
+            journal.beginBatch(teams);
+            for (i = 0; i < gameKeys.length; i++) {
+                journal.appendStart(teams, gameKeys[i], newGames[i].getCreatedAt());
+            }
+            journal.endBatch();
         }
 
-        games.remove(gameKey);
+        version++;
+        for (i = 0; i < gameKeys.length; i++) {
+            addGame(gameKeys[i], newGames[i]);
+        }
+        changeDone();
+        stopClock(ScoreBoardMetrics.Operation.START_GAMES, started, null, null);
     }
 
+    /**
+     * All scores are written first and every touched game is re-ranked once afterwards, so a game
+     * that scores several times in the same batch only moves once. The version goes up by one
+     * for the whole batch. Updates that leave a game's score as it is are dropped first, and a
+     * batch with nothing left changes nothing at all, not even the version.
+     */
+    @Override
+    public void applyBatch(Collection<ScoreUpdate> updates) {
+        long started = startClock();
+        RankingIndex.Entry[] entries = new RankingIndex.Entry[updates.size()];
+        long[] scores = new long[updates.size()];
+        // The score each game has got to so far in this batch, for telling no-ops apart
+        Map<RankingIndex.Entry, Long> latest = new IdentityHashMap<>();
+        int count = 0;
+        for (ScoreUpdate update : updates) {
+            validateTeamNames(update.homeTeam(), update.awayTeam());
+            validateScores(update.homeScore(), update.awayScore());
+            RankingIndex.Entry entry = games.get(findGameKey(update.homeTeam(), update.awayTeam()));
+            if (entry == null) {
+                throw notFound(update.homeTeam(), update.awayTeam());
+            }
+            long score = Game.packScore(update.homeScore(), update.awayScore());
+            Long earlier = latest.put(entry, score);
+            if ((earlier == null ? entry.getGame().getPackedScore() : earlier) != score) {
+                entries[count] = entry;
+                scores[count++] = score;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        if (journal != null) {
+            journal.beginBatch(teams);
+            for (int i = 0; i < count; i++) {
+                journal.appendUpdate(entries[i].getGameKey(), Game.homeScoreOf(scores[i]), Game.awayScoreOf(scores[i]));
+            }
+            journal.endBatch();
+        }
+
+        version++;
+        Map<RankingIndex.Entry, Integer> previousPositions = events.hasSubscribers() ? new IdentityHashMap<>() : null;
+        for (int i = 0; i < count; i++) {
+            RankingIndex.Entry entry = entries[i];
+            if (previousPositions == null) {
+                entry.getGame().updateScore(Game.homeScoreOf(scores[i]), Game.awayScoreOf(scores[i]));
+            } else {
+                previousPositions.computeIfAbsent(entry, ranking::positionOf);
+                GameView previous = GameView.of(entry.getGame());
+                entry.getGame().updateScore(Game.homeScoreOf(scores[i]), Game.awayScoreOf(scores[i]));
+                events.publish(new ScoreBoardEvent.ScoreUpdated(version, previous, GameView.of(entry.getGame())));
+            }
+            changes.record(version, entry.getGameKey());
+            if (replication != null) {
+                replication.appendUpdate(version, entry.getGameKey(), scores[i]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            ranking.reorder(entries[i]);
+        }
+        if (previousPositions != null) {
+            previousPositions.forEach(this::publishRankChange);
+        }
+        changeDone();
+        stopClock(ScoreBoardMetrics.Operation.APPLY_BATCH, started, null, null);
+    }
+
+    @Override
+    public void finishGames(Collection<Fixture> fixtures) {
+        long started = startClock();
+        Set<Fixture> seen = new HashSet<>();
+        for (Fixture fixture : fixtures) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+            if (!games.containsKey(findGameKey(fixture.homeTeam(), fixture.awayTeam())) || !seen.add(fixture)) {
+                throw notFound(fixture.homeTeam(), fixture.awayTeam());
+            }
+        }
+        if (fixtures.isEmpty()) {
+            return;
+        }
+
+        List<RankingIndex.Entry> entries = new ArrayList<>(fixtures.size());
+        for (Fixture fixture : fixtures) {
+            entries.add(games.get(findGameKey(fixture.homeTeam(), fixture.awayTeam())));
+        }
+        if (journal != null) {
+            journal.beginBatch(teams);
+            for (RankingIndex.Entry entry : entries) {
+                journal.appendFinish(entry.getGameKey());
+            }
+            journal.endBatch();
+        }
+
+        version++;
+        entries.forEach(this::removeGame);
+        changeDone();
+        stopClock(ScoreBoardMetrics.Operation.FINISH_GAMES, started, null, null);
+    }
+
+    /**
+     * The ranking index is kept sorted as games change, so this is a single walk
+     * rather than a sort.
+     */
     @Override
     public List<Game> getSummary() {
-        return games.values()
-                .stream()
-                .sorted(this::compareGamesForSummary)
-                .collect(Collectors.toList());
+        long started = startClock();
+        List<Game> summary = ranking.toList();
+        stopSummaryClock(started, summary.size());
+        return summary;
+    }
+
+    @Override
+    public List<Game> getTopGames(int n) {
+        return getSummary(0, n);
+    }
+
+    @Override
+    public List<Game> getSummary(int offset, int limit) {
+        long started = startClock();
+        validatePage(offset, limit);
+        List<Game> page = ranking.toList(offset, limit);
+        stopSummaryClock(started, page.size());
+        return page;
+    }
+
+    /**
+     * Finds the game the team is playing right now, home or away, without going through the
+     * summary. If the team is in more than one game (only possible without
+     * {@link #setOneGamePerTeam(boolean)}), you get the one that started last.
+     */
+    public Optional<Game> findGameByTeam(String team) {
+        if (team == null) {
+            throw new IllegalArgumentException("Team name cannot be null");
+        }
+        RankingIndex.Entry entry = gamesByTeam.latestGameOf(teams.idOf(team));
+        return entry == null ? Optional.empty() : Optional.of(entry.getGame());
+    }
+
+    /**
+     * Gets the last published summary: an immutable copy stamped with the version it was taken
+     * at. This is a single volatile read and is safe from any thread, while the board keeps
+     * changing on its own thread.
+     * <p>
+     * Nothing is published until the board's thread calls {@link #publish()}, so a write costs
+     * no more than keeping the index in order. On that thread, read through {@link #publish()}
+     * to get the current summary; {@link #setPublishOnChange(boolean)} publishes after every
+     * change instead, for small boards with readers on other threads.
+     */
+    public SummarySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Copies the summary as it is now and makes it the one {@link #getSnapshot()} returns.
+     * Does nothing if it's already current. Only call it on the thread that does the writes
+     * (or under the same lock).
+     *
+     * @return the snapshot now published
+     */
+    public SummarySnapshot publish() {
+        SummarySnapshot current = snapshot;
+        if (current.getVersion() == version) {
+            return current;
+        }
+        SummarySnapshot rebuilt = new SummarySnapshot(version, ranking.toViews());
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Gets the published summary as ready-to-send JSON and text bytes. It's rendered from
+     * {@link #getSnapshot()} at most once per version, the first time it's asked for, and every
+     * caller in between gets the same bytes. Safe from any thread: two threads asking at once
+     * may both render, but they render the same bytes. Call {@link #publish()} first if the
+     * latest changes should be in it.
+     */
+    public RenderedSummary getRenderedSummary() {
+        SummarySnapshot published = snapshot;
+        RenderedSummary current = rendered;
+        if (current != null && current.getVersion() == published.getVersion()) {
+            return current;
+        }
+        RenderedSummary rebuilt = RenderedSummary.of(published);
+        rendered = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Gets only what changed since the given version, typically the version of the last
+     * snapshot or delta you received. Costs about as much as the number of changes rather than
+     * the size of the board. If the board can't remember back that far (the last few thousand
+     * changes are kept), or doesn't know the version at all, you get a full delta instead.
+     */
+    public SummaryDelta getSummarySince(long sinceVersion) {
+        if (sinceVersion > version || !changes.covers(sinceVersion)) {
+            List<SummaryDelta.Change> all = new ArrayList<>(ranking.size());
+            GameView[] views = ranking.toViews();
+            for (int position = 0; position < views.length; position++) {
+                all.add(new SummaryDelta.Change(views[position], position));
+            }
+            return new SummaryDelta(sinceVersion, version, true, all, new ArrayList<>());
+        }
+
+        List<SummaryDelta.Change> changed = new ArrayList<>();
+        List<Fixture> removed = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        changes.forEachSince(sinceVersion, gameKey -> {
+            if (!seen.add(gameKey)) {
+                return;
+            }
+            RankingIndex.Entry entry = games.get(gameKey);
+            if (entry == null) {
+                removed.add(fixtureOf(gameKey));
+            } else {
+                changed.add(new SummaryDelta.Change(GameView.of(entry.getGame()), ranking.positionOf(entry)));
+            }
+        });
+        changed.sort(Comparator.comparingInt(SummaryDelta.Change::position));
+        return new SummaryDelta(sinceVersion, version, false, changed, removed);
+    }
+
+    /**
+     * Copies the board as it is right now, for writing out with {@link Checkpoint#write(Path)}.
+     * The copy is a handful of flat arrays and is quick to take; the slow part, writing it to
+     * disk, can then happen on any thread while this board carries on. Taking one every few
+     * thousand changes keeps restarts short.
+     */
+    public Checkpoint checkpoint() {
+        return Checkpoint.capture(version, teams, ranking, journal);
+    }
+
+    /**
+     * Goes up by one with every change to the board.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Stream of changes to the board, so listeners don't have to poll and diff the summary.
+     * Each subscriber gets a buffer of 256 events and loses the oldest ones if it falls behind.
+     */
+    public Flow.Publisher<ScoreBoardEvent> events() {
+        return events(256, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Same as {@link #events()}, with a buffer size and overflow policy of your choosing for
+     * everyone who subscribes to the returned publisher. Publishing never blocks the board:
+     * events are buffered per subscriber and delivered on the board's event executor.
+     */
+    public Flow.Publisher<ScoreBoardEvent> events(int bufferSize, OverflowPolicy policy) {
+        return events.publisher(bufferSize, policy);
+    }
+
+    /**
+     * Starts timing and counting this board's operations in the given metrics, or stops when
+     * given null. Several boards can share one metrics object as long as they run on the same
+     * thread. Without metrics every call costs one extra null check.
+     */
+    public void setMetrics(ScoreBoardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ScoreBoardMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Keeps the final result of every game finished from now on in the given archive, or stops
+     * when given null. Several boards can share one archive.
+     * <p>
+     * Only live finishes are archived. A journal is replayed while the board is constructed,
+     * before there is an archive to set, and the journal doesn't record when a game finished
+     * anyway. The archive only lives in memory, so after a restart it starts out empty.
+     */
+    public void setArchive(GameArchive archive) {
+        this.archive = archive;
+    }
+
+    public GameArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Logs every change from now on for {@link ReplicaBoard}s to follow, or stops when given
+     * null. The log starts out with a checkpoint of the board as it is, and gets a new one from
+     * the board every so often. A log can only ever be attached to one board.
+     */
+    public void setReplicationLog(ReplicationLog replication) {
+        if (replication != null) {
+            replication.attach(Checkpoint.capture(version, teams, ranking, null));
+        }
+        this.replication = replication;
+    }
+
+    public ReplicationLog getReplicationLog() {
+        return replication;
+    }
+
+    /**
+     * When on, starting a game for a team that's already playing throws
+     * {@link TeamAlreadyPlayingException}. That also rules out B vs A while A vs B is running.
+     * Off by default. Games already on the board are left alone when it's switched on, and games
+     * replayed from a journal or checkpoint aren't checked, since they were accepted once already.
+     */
+    public void setOneGamePerTeam(boolean oneGamePerTeam) {
+        this.oneGamePerTeam = oneGamePerTeam;
+    }
+
+    public boolean isOneGamePerTeam() {
+        return oneGamePerTeam;
+    }
+
+    /**
+     * Off by default. When on, a new snapshot is published after every change or batch, so
+     * {@link #getSnapshot()} is always current from any thread. Publishing walks the whole
+     * summary, though, which turns every write into a copy of the board: fine for a few dozen
+     * games, far too slow for thousands. Otherwise leave it off and call {@link #publish()} on
+     * the board's thread as often as readers need, e.g. every 100 ms.
+     */
+    public void setPublishOnChange(boolean publishOnChange) {
+        this.publishOnChange = publishOnChange;
+        if (publishOnChange) {
+            publish();
+        }
+    }
+
+    public boolean isPublishOnChange() {
+        return publishOnChange;
+    }
+
+    /**
+     * Team IDs for the ID-based overloads. A team gets its ID the first time a game with it starts.
+     */
+    public TeamRegistry getTeamRegistry() {
+        return teams;
+    }
+
+    /**
+     * The change is journaled before it's applied, so if writing the journal fails the
+     * board stays as it was. An update that leaves the score as it is changes nothing: no
+     * journal record, no new version, no re-ranking and no events.
+     */
+    private void updateGame(RankingIndex.Entry entry, int homeScore, int awayScore) {
+        validateScores(homeScore, awayScore);
+        if (entry.getGame().getPackedScore() == Game.packScore(homeScore, awayScore)) {
+            return;
+        }
+        if (journal != null) {
+            journal.appendUpdate(entry.getGameKey(), homeScore, awayScore);
+        }
+        version++;
+        applyScore(entry, homeScore, awayScore);
+        changeDone();
+    }
+
+    private boolean updateGame(RankingIndex.Entry entry, int homeScore, int awayScore, long feedSequence) {
+        validateScores(homeScore, awayScore);
+        if (feedSequence <= entry.getFeedSequence()) {
+            if (metrics != null) {
+                metrics.staleUpdate();
+            }
+            return false;
+        }
+        updateGame(entry, homeScore, awayScore);
+        entry.setFeedSequence(feedSequence);
+        return true;
+    }
+
+    private void finishGame(RankingIndex.Entry entry) {
+        if (journal != null) {
+            journal.appendFinish(entry.getGameKey());
+        }
+        version++;
+        removeGame(entry);
+        changeDone();
     }
 
-    private int compareGamesForSummary(Game game1, Game game2) {
-        int totalScoreComparison = Integer.compare(game2.getTotalScore(), game1.getTotalScore());
-        if (totalScoreComparison != 0) {
-            return totalScoreComparison;
+    /**
+     * The add, score and remove steps below expect the caller to have bumped the version
+     * already, so a batch can share one version.
+     */
+    private void addGame(long gameKey, Game game) {
+        RankingIndex.Entry entry = sequences == null ? ranking.add(game, gameKey) : ranking.add(game, gameKey, sequences.getAsLong());
+        games.put(gameKey, entry);
+        gamesByTeam.add(entry);
+        changes.record(version, gameKey);
+        if (replication != null) {
+            replication.appendStart(teams, version, gameKey, game.getCreatedAt());
+        }
+        if (events.hasSubscribers()) {
+            events.publish(new ScoreBoardEvent.GameStarted(version, GameView.of(game)));
+        }
+    }
+
+    private void applyScore(RankingIndex.Entry entry, int homeScore, int awayScore) {
+        Game game = entry.getGame();
+        if (replication != null) {
+            replication.appendUpdate(version, entry.getGameKey(), Game.packScore(homeScore, awayScore));
+        }
+        if (!events.hasSubscribers()) {
+            game.updateScore(homeScore, awayScore);
+            ranking.reorder(entry);
+            changes.record(version, entry.getGameKey());
+            return;
+        }
+
+        GameView previous = GameView.of(game);
+        int previousPosition = ranking.positionOf(entry);
+        game.updateScore(homeScore, awayScore);
+        ranking.reorder(entry);
+        changes.record(version, entry.getGameKey());
+        events.publish(new ScoreBoardEvent.ScoreUpdated(version, previous, GameView.of(game)));
+        publishRankChange(entry, previousPosition);
+    }
+
+    private void publishRankChange(RankingIndex.Entry entry, int previousPosition) {
+        int position = ranking.positionOf(entry);
+        if (position != previousPosition) {
+            events.publish(new ScoreBoardEvent.RankChanged(version, GameView.of(entry.getGame()), previousPosition, position));
+        }
+    }
+
+    private void removeGame(RankingIndex.Entry entry) {
+        games.remove(entry.getGameKey());
+        gamesByTeam.remove(entry);
+        ranking.remove(entry);
+        changes.record(version, entry.getGameKey());
+        if (replication != null) {
+            replication.appendFinish(version, entry.getGameKey());
+        }
+        if (archive != null) {
+            archive.add(entry.getGame());
+        }
+        if (events.hasSubscribers()) {
+            events.publish(new ScoreBoardEvent.GameFinished(version, GameView.of(entry.getGame())));
         }
-        // When total score is equal, most recently added comes first
-        return game2.getCreatedAt().compareTo(game1.getCreatedAt());
+    }
+
+    /**
+     * Loads the checkpoint into an empty board. Games keep their creation time and their
+     * order among games with the same score. The checkpoint holds the games in summary order,
+     * so the ranking index is built in one pass.
+     */
+    private void restore(Checkpoint checkpoint) {
+        for (String teamName : checkpoint.getTeamNames()) {
+            teams.register(teamName);
+        }
+        Game[] restoredGames = new Game[checkpoint.size()];
+        for (int i = 0; i < restoredGames.length; i++) {
+            long gameKey = checkpoint.getGameKeys()[i];
+            Instant createdAt = Instant.ofEpochSecond(checkpoint.getCreatedSeconds()[i], checkpoint.getCreatedNanos()[i]);
+            restoredGames[i] = new Game(teams.nameOf(TeamRegistry.homeTeamId(gameKey)), teams.nameOf(TeamRegistry.awayTeamId(gameKey)),
+                    createdAt, checkpoint.getPackedScores()[i]);
+        }
+        for (RankingIndex.Entry entry : ranking.restore(restoredGames, checkpoint.getGameKeys(), checkpoint.getSequences())) {
+            if (games.put(entry.getGameKey(), entry) != null) {
+                throw new IllegalStateException("Checkpoint has the same game twice: " + fixtureOf(entry.getGameKey()));
+            }
+            gamesByTeam.add(entry);
+        }
+        version = checkpoint.getVersion();
+        changes.startAt(version);
+    }
+
+    /**
+     * For a {@link ReplicaBoard} to apply its leader's changes with.
+     */
+    Replica replica() {
+        return new Replica();
+    }
+
+    /**
+     * Runs once a change or batch is complete, so neither readers nor replicas ever see half
+     * of one.
+     */
+    private void changeDone() {
+        checkpointForReplicas();
+        if (publishOnChange) {
+            publish();
+        }
+    }
+
+    private void checkpointForReplicas() {
+        if (replication != null && replication.wantsCheckpoint()) {
+            replication.checkpoint(Checkpoint.capture(version, teams, ranking, null));
+        }
+    }
+
+    private long startClock() {
+        return metrics == null ? 0 : System.nanoTime();
+    }
+
+    private void stopClock(ScoreBoardMetrics.Operation operation, long started, String homeTeam, String awayTeam) {
+        if (metrics != null) {
+            metrics.record(operation, started, ranking.size(), homeTeam, awayTeam);
+        }
+    }
+
+    private void stopSummaryClock(long started, int summarySize) {
+        if (metrics != null) {
+            metrics.recordSummary(started, ranking.size(), summarySize);
+        }
+    }
+
+    private GameNotFoundException notFound(String homeTeam, String awayTeam) {
+        if (metrics != null) {
+            metrics.gameNotFound();
+        }
+        return new GameNotFoundException(homeTeam, awayTeam);
+    }
+
+    private GameAlreadyExistsException alreadyExists(String homeTeam, String awayTeam) {
+        if (metrics != null) {
+            metrics.gameAlreadyExists();
+        }
+        return new GameAlreadyExistsException(homeTeam, awayTeam);
+    }
+
+    int size() {
+        return ranking.size();
+    }
+
+    RankingIndex.Entry firstEntry() {
+        return ranking.getFirst();
+    }
+
+    private void checkNotPlaying(String team) {
+        if (gamesByTeam.isPlaying(teams.idOf(team))) {
+            throw alreadyPlaying(team);
+        }
+    }
+
+    private TeamAlreadyPlayingException alreadyPlaying(String team) {
+        if (metrics != null) {
+            metrics.gameAlreadyExists();
+        }
+        return new TeamAlreadyPlayingException(team);
+    }
+
+    /**
+     * A team we've never registered can't be in any game, and that key can't match anything
+     * (IDs are never negative), so the lookup just misses.
+     */
+    private long findGameKey(String homeTeam, String awayTeam) {
+        return TeamRegistry.gameKey(teams.idOf(homeTeam), teams.idOf(awayTeam));
+    }
+
+    private Fixture fixtureOf(long gameKey) {
+        return new Fixture(teams.nameOf(TeamRegistry.homeTeamId(gameKey)), teams.nameOf(TeamRegistry.awayTeamId(gameKey)));
     }
 
     private void validateTeamNames(String homeTeam, String awayTeam) {
@@ -80,7 +862,163 @@ public class LiveScoreBoard implements ScoreBoard {
         }
     }
 
-    private String createGameKey(String homeTeam, String awayTeam) {
-        return homeTeam + " vs " + awayTeam;
+    private void validateScores(int homeScore, int awayScore) {
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+    }
+
+    private void validateFeedSequence(long feedSequence) {
+        if (feedSequence < 0) {
+            throw new IllegalArgumentException("Feed sequence cannot be negative");
+        }
+    }
+
+    private void validateTeamIds(int homeTeamId, int awayTeamId) {
+        if (!teams.contains(homeTeamId)) {
+            throw new IllegalArgumentException("Unknown team id: " + homeTeamId);
+        }
+        if (!teams.contains(awayTeamId)) {
+            throw new IllegalArgumentException("Unknown team id: " + awayTeamId);
+        }
+    }
+
+    private void validateJournalable(String homeTeam, String awayTeam) {
+        if (journal != null) {
+            Journal.checkTeamName(homeTeam);
+            Journal.checkTeamName(awayTeam);
+        }
+    }
+
+    private void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
+    /**
+     * Applies changes from a leader's {@link ReplicationLog} to this board, which has to be a
+     * copy of the leader as of some version. Every change comes with the version it made on the
+     * leader, so the copy ends up at the same versions, batches included.
+     */
+    final class Replica {
+
+        void team(int teamId, String name) {
+            if (teamId < teams.size()) {
+                if (!teams.nameOf(teamId).equals(name)) {
+                    throw new IllegalStateException("Replicated team " + teamId + " is " + name + " here, but " + teams.nameOf(teamId) + " on the leader");
+                }
+            } else if (teams.register(name) != teamId) {
+                throw new IllegalStateException("Replicated team " + teamId + " (" + name + ") is out of order");
+            }
+        }
+
+        void start(long version, long gameKey, Instant createdAt) {
+            moveTo(version);
+            if (games.containsKey(gameKey)) {
+                throw new IllegalStateException("Replication log starts a game that is already running: " + fixtureOf(gameKey));
+            }
+            Fixture fixture = fixtureOf(gameKey);
+            addGame(gameKey, new Game(fixture.homeTeam(), fixture.awayTeam(), createdAt, Game.packScore(0, 0)));
+        }
+
+        void update(long version, long gameKey, int homeScore, int awayScore) {
+            moveTo(version);
+            applyScore(existing(gameKey), homeScore, awayScore);
+        }
+
+        void finish(long version, long gameKey) {
+            moveTo(version);
+            removeGame(existing(gameKey));
+        }
+
+        /**
+         * The leader is at least at {@code version} and has nothing before it that this board
+         * is missing.
+         */
+        void caughtUp(long version) {
+            moveTo(version);
+            changeDone();
+        }
+
+        private void moveTo(long version) {
+            if (version < LiveScoreBoard.this.version) {
+                throw new IllegalStateException("Replication log went back from version " + LiveScoreBoard.this.version + " to " + version);
+            }
+            LiveScoreBoard.this.version = version;
+        }
+
+        private RankingIndex.Entry existing(long gameKey) {
+            RankingIndex.Entry entry = games.get(gameKey);
+            if (entry == null) {
+                throw new IllegalStateException("Replication log refers to a game that isn't running: " + fixtureOf(gameKey));
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Puts the journaled changes back on the board. Changes inside a batch share one version,
+     * just like they did the first time round.
+     */
+    private final class Replayer implements Journal.Visitor {
+        private boolean inBatch;
+
+        @Override
+        public void team(int teamId, String name) {
+            if (teams.register(name) != teamId) {
+                throw new IllegalStateException("Journal team " + teamId + " (" + name + ") is out of order");
+            }
+        }
+
+        @Override
+        public void start(long gameKey, Instant createdAt) {
+            if (games.containsKey(gameKey)) {
+                throw new IllegalStateException("Journal starts a game that is already running: " + fixtureOf(gameKey));
+            }
+            bumpVersion();
+            Fixture fixture = fixtureOf(gameKey);
+            addGame(gameKey, new Game(fixture.homeTeam(), fixture.awayTeam(), createdAt, Game.packScore(0, 0)));
+        }
+
+        @Override
+        public void update(long gameKey, int homeScore, int awayScore) {
+            bumpVersion();
+            applyScore(existing(gameKey), homeScore, awayScore);
+        }
+
+        @Override
+        public void finish(long gameKey) {
+            bumpVersion();
+            removeGame(existing(gameKey));
+        }
+
+        @Override
+        public void beginBatch() {
+            version++;
+            inBatch = true;
+        }
+
+        @Override
+        public void endBatch() {
+            inBatch = false;
+        }
+
+        private void bumpVersion() {
+            if (!inBatch) {
+                version++;
+            }
+        }
+
+        private RankingIndex.Entry existing(long gameKey) {
+            RankingIndex.Entry entry = games.get(gameKey);
+            if (entry == null) {
+                throw new IllegalStateException("Journal refers to a game that isn't running: " + fixtureOf(gameKey));
+            }
+            return entry;
+        }
     }
 }
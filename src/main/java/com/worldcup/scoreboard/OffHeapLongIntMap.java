@@ -0,0 +1,153 @@
+package com.worldcup.scoreboard;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Open-addressing hash map from {@code long} keys to non-negative {@code int} values, kept in
+ * direct buffers so a map with millions of entries is two flat blocks of native memory and
+ * nothing for the garbage collector to walk. Same probing and deletion as {@link LongObjectMap}.
+ * Not thread-safe.
+ */
+final class OffHeapLongIntMap {
+
+    static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private ByteBuffer keys;
+    // Values are stored plus one, so the zeroes of freshly allocated memory mean "empty"
+    private ByteBuffer values;
+    private int capacity;
+    private int size;
+    private int mask;
+
+    OffHeapLongIntMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int get(long key) {
+        int slot = indexOf(key);
+        return slot < 0 ? MISSING : storedValue(slot) - 1;
+    }
+
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+        int slot = slotOf(key);
+        while (storedValue(slot) != 0) {
+            if (key(slot) == key) {
+                setSlot(slot, key, value + 1);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        setSlot(slot, key, value + 1);
+        if (++size * 2 > capacity) {
+            resize(capacity << 1);
+        }
+    }
+
+    int remove(long key) {
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return MISSING;
+        }
+        int previous = storedValue(slot) - 1;
+        shiftBack(slot);
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Native memory taken by the table, in bytes.
+     */
+    long footprint() {
+        return (long) capacity * (Long.BYTES + Integer.BYTES);
+    }
+
+    private int indexOf(long key) {
+        int slot = slotOf(key);
+        while (storedValue(slot) != 0) {
+            if (key(slot) == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (storedValue(slot) == 0) {
+                break;
+            }
+            int home = slotOf(key(slot));
+            boolean canMove = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if (canMove) {
+                setSlot(gap, key(slot), storedValue(slot));
+                gap = slot;
+            }
+        }
+        values.putInt(gap * Integer.BYTES, 0);
+    }
+
+    private int slotOf(long key) {
+        // Murmur3 finalizer, so packed team IDs spread across the whole table
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private long key(int slot) {
+        return keys.getLong(slot * Long.BYTES);
+    }
+
+    private int storedValue(int slot) {
+        return values.getInt(slot * Integer.BYTES);
+    }
+
+    private void setSlot(int slot, long key, int storedValue) {
+        keys.putLong(slot * Long.BYTES, key);
+        values.putInt(slot * Integer.BYTES, storedValue);
+    }
+
+    private void allocate(int newCapacity) {
+        if (newCapacity > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalStateException("Map is full");
+        }
+        keys = ByteBuffer.allocateDirect(newCapacity * Long.BYTES).order(ByteOrder.nativeOrder());
+        values = ByteBuffer.allocateDirect(newCapacity * Integer.BYTES).order(ByteOrder.nativeOrder());
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+    }
+
+    private void resize(int newCapacity) {
+        ByteBuffer oldKeys = keys;
+        ByteBuffer oldValues = values;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            int storedValue = oldValues.getInt(i * Integer.BYTES);
+            if (storedValue != 0) {
+                long key = oldKeys.getLong(i * Long.BYTES);
+                int slot = slotOf(key);
+                while (storedValue(slot) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                setSlot(slot, key, storedValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.worldcup.scoreboard;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scoreboard for boards with millions of games, where a few objects per game add up to a heap
+ * the garbage collector has to keep walking.
+ * <p>
+ * Games live in slots of a handful of columns in native memory (direct buffers): packed team
+ * IDs, packed score, insertion sequence and creation time, plus the links of a treap that keeps
+ * the slots in summary order. Finished games give their slot back for the next game to reuse.
+ * Apart from the team names, which each team has once however many games it plays, the heap
+ * only holds the buffers themselves. {@link Game} objects are only made for the games a summary
+ * call returns, and they're detached copies: later updates don't show up in them.
+ * <p>
+ * Like {@link LiveScoreBoard}, it's meant to be used from one thread.
+ */
+public class OffHeapScoreBoard implements ScoreBoard {
+
+    private static final int NIL = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private final TeamRegistry teams = new TeamRegistry();
+    private final OffHeapLongIntMap slotsByGame = new OffHeapLongIntMap();
+
+    private final LongColumn gameKeys = new LongColumn();
+    private final LongColumn scores = new LongColumn();
+    private final LongColumn sequences = new LongColumn();
+    private final LongColumn createdAt = new LongColumn();
+    private final IntColumn left = new IntColumn();
+    private final IntColumn right = new IntColumn();
+    private final IntColumn counts = new IntColumn();
+    private final IntColumn priorities = new IntColumn();
+
+    private int capacity;
+    private int usedSlots;
+    // Free slots are chained through the left column
+    private int freeSlot = NIL;
+    private int root = NIL;
+    private int size;
+    private long nextSequence;
+    private int priorityState = 0x9E3779B9;
+
+    public OffHeapScoreBoard() {
+        grow(MIN_CAPACITY);
+    }
+
+    @Override
+    public void startGame(String homeTeam, String awayTeam) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        if (slotsByGame.get(findGameKey(homeTeam, awayTeam)) != OffHeapLongIntMap.MISSING) {
+            throw new GameAlreadyExistsException(homeTeam, awayTeam);
+        }
+        addGame(TeamRegistry.gameKey(teams.register(homeTeam), teams.register(awayTeam)));
+    }
+
+    @Override
+    public void updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        validateTeamNames(homeTeam, awayTeam);
+        validateScores(homeScore, awayScore);
+
+        int slot = slotsByGame.get(findGameKey(homeTeam, awayTeam));
+        if (slot == OffHeapLongIntMap.MISSING) {
+            throw new GameNotFoundException(homeTeam, awayTeam);
+        }
+        setScore(slot, homeScore, awayScore);
+    }
+
+    /**
+     * Same as {@link #updateScore(String, String, int, int)}, but with the IDs from
+     * {@link #getTeamRegistry()}. Allocates nothing.
+     */
+    public void updateScore(int homeTeamId, int awayTeamId, int homeScore, int awayScore) {
+        validateScores(homeScore, awayScore);
+
+        int slot = slotsByGame.get(TeamRegistry.gameKey(homeTeamId, awayTeamId));
+        if (slot == OffHeapLongIntMap.MISSING) {
+            throw new GameNotFoundException(teams.nameOf(homeTeamId), teams.nameOf(awayTeamId));
+        }
+        setScore(slot, homeScore, awayScore);
+    }
+
+    @Override
+    public void finishGame(String homeTeam, String awayTeam) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        int slot = slotsByGame.get(findGameKey(homeTeam, awayTeam));
+        if (slot == OffHeapLongIntMap.MISSING) {
+            throw new GameNotFoundException(homeTeam, awayTeam);
+        }
+        removeGame(slot);
+    }
+
+    @Override
+    public void startGames(Collection<Fixture> fixtures) {
+        Set<Fixture> seen = new HashSet<>();
+        for (Fixture fixture : fixtures) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+            if (slotsByGame.get(findGameKey(fixture.homeTeam(), fixture.awayTeam())) != OffHeapLongIntMap.MISSING
+                    || !seen.add(fixture)) {
+                throw new GameAlreadyExistsException(fixture.homeTeam(), fixture.awayTeam());
+            }
+        }
+        for (Fixture fixture : fixtures) {
+            addGame(TeamRegistry.gameKey(teams.register(fixture.homeTeam()), teams.register(fixture.awayTeam())));
+        }
+    }
+
+    @Override
+    public void applyBatch(Collection<ScoreUpdate> updates) {
+        int[] slots = new int[updates.size()];
+        int i = 0;
+        for (ScoreUpdate update : updates) {
+            validateTeamNames(update.homeTeam(), update.awayTeam());
+            validateScores(update.homeScore(), update.awayScore());
+            slots[i] = slotsByGame.get(findGameKey(update.homeTeam(), update.awayTeam()));
+            if (slots[i++] == OffHeapLongIntMap.MISSING) {
+                throw new GameNotFoundException(update.homeTeam(), update.awayTeam());
+            }
+        }
+        i = 0;
+        for (ScoreUpdate update : updates) {
+            setScore(slots[i++], update.homeScore(), update.awayScore());
+        }
+    }
+
+    @Override
+    public void finishGames(Collection<Fixture> fixtures) {
+        Set<Fixture> seen = new HashSet<>();
+        for (Fixture fixture : fixtures) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+            if (slotsByGame.get(findGameKey(fixture.homeTeam(), fixture.awayTeam())) == OffHeapLongIntMap.MISSING
+                    || !seen.add(fixture)) {
+                throw new GameNotFoundException(fixture.homeTeam(), fixture.awayTeam());
+            }
+        }
+        for (Fixture fixture : fixtures) {
+            removeGame(slotsByGame.get(findGameKey(fixture.homeTeam(), fixture.awayTeam())));
+        }
+    }
+
+    /**
+     * Builds a {@link Game} for every game on the board, so on a board this size prefer
+     * {@link #getSummary(int, int)}.
+     */
+    @Override
+    public List<Game> getSummary() {
+        return getSummary(0, size);
+    }
+
+    @Override
+    public List<Game> getTopGames(int n) {
+        return getSummary(0, n);
+    }
+
+    /**
+     * Finds the first game of the page with the subtree counts and walks on from there,
+     * so it costs O(log n + limit) and only builds the games on the page.
+     */
+    @Override
+    public List<Game> getSummary(int offset, int limit) {
+        validatePage(offset, limit);
+
+        int pageSize = Math.max(0, Math.min(limit, size - offset));
+        List<Game> games = new ArrayList<>(pageSize);
+        if (pageSize == 0) {
+            return games;
+        }
+        int[] path = new int[64];
+        int depth = 0;
+        int node = root;
+        int skip = offset;
+        while (node != NIL) {
+            int leftCount = count(left.get(node));
+            if (skip <= leftCount) {
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth++] = node;
+                if (skip == leftCount) {
+                    break;
+                }
+                node = left.get(node);
+            } else {
+                skip -= leftCount + 1;
+                node = right.get(node);
+            }
+        }
+        while (games.size() < pageSize) {
+            node = path[--depth];
+            games.add(toGame(node));
+            for (node = right.get(node); node != NIL; node = left.get(node)) {
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth++] = node;
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Team IDs for the ID-based overload. A team gets its ID the first time a game with it starts.
+     */
+    public TeamRegistry getTeamRegistry() {
+        return teams;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Native memory held by the board's columns and lookup table, in bytes.
+     */
+    public long getOffHeapBytes() {
+        return (long) capacity * (4 * Long.BYTES + 4 * Integer.BYTES) + slotsByGame.footprint();
+    }
+
+    private void addGame(long gameKey) {
+        int slot = allocateSlot();
+        gameKeys.set(slot, gameKey);
+        scores.set(slot, Game.packScore(0, 0));
+        sequences.set(slot, nextSequence++);
+        Instant now = Instant.now();
+        createdAt.set(slot, now.getEpochSecond() * 1_000_000_000L + now.getNano());
+        priorities.set(slot, nextPriority());
+        root = insert(root, slot);
+        slotsByGame.put(gameKey, slot);
+        size++;
+    }
+
+    private void setScore(int slot, int homeScore, int awayScore) {
+        long packedScore = Game.packScore(homeScore, awayScore);
+        if (totalOf(packedScore) == totalOf(scores.get(slot))) {
+            scores.set(slot, packedScore);
+            return;
+        }
+        // Out of the tree under the old total, back in under the new one
+        root = delete(root, slot);
+        scores.set(slot, packedScore);
+        root = insert(root, slot);
+    }
+
+    private void removeGame(int slot) {
+        root = delete(root, slot);
+        slotsByGame.remove(gameKeys.get(slot));
+        left.set(slot, freeSlot);
+        freeSlot = slot;
+        size--;
+    }
+
+    private int allocateSlot() {
+        if (freeSlot != NIL) {
+            int slot = freeSlot;
+            freeSlot = left.get(slot);
+            return slot;
+        }
+        if (usedSlots == capacity) {
+            grow(capacity << 1);
+        }
+        return usedSlots++;
+    }
+
+    private Game toGame(int slot) {
+        long gameKey = gameKeys.get(slot);
+        long created = createdAt.get(slot);
+        return new Game(teams.nameOf(TeamRegistry.homeTeamId(gameKey)), teams.nameOf(TeamRegistry.awayTeamId(gameKey)),
+                Instant.ofEpochSecond(0, created), scores.get(slot));
+    }
+
+    private int insert(int node, int slot) {
+        if (node == NIL) {
+            left.set(slot, NIL);
+            right.set(slot, NIL);
+            counts.set(slot, 1);
+            return slot;
+        }
+        counts.set(node, counts.get(node) + 1);
+        if (compare(slot, node) < 0) {
+            left.set(node, insert(left.get(node), slot));
+            if (priorities.get(left.get(node)) > priorities.get(node)) {
+                node = rotateRight(node);
+            }
+        } else {
+            right.set(node, insert(right.get(node), slot));
+            if (priorities.get(right.get(node)) > priorities.get(node)) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private int delete(int node, int slot) {
+        if (node == slot) {
+            return merge(left.get(node), right.get(node));
+        }
+        counts.set(node, counts.get(node) - 1);
+        if (compare(slot, node) < 0) {
+            left.set(node, delete(left.get(node), slot));
+        } else {
+            right.set(node, delete(right.get(node), slot));
+        }
+        return node;
+    }
+
+    private int merge(int leftNode, int rightNode) {
+        if (leftNode == NIL) {
+            return rightNode;
+        }
+        if (rightNode == NIL) {
+            return leftNode;
+        }
+        if (priorities.get(leftNode) > priorities.get(rightNode)) {
+            counts.set(leftNode, counts.get(leftNode) + counts.get(rightNode));
+            right.set(leftNode, merge(right.get(leftNode), rightNode));
+            return leftNode;
+        }
+        counts.set(rightNode, counts.get(rightNode) + counts.get(leftNode));
+        left.set(rightNode, merge(leftNode, left.get(rightNode)));
+        return rightNode;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left.get(node);
+        left.set(node, right.get(pivot));
+        right.set(pivot, node);
+        counts.set(pivot, counts.get(node));
+        counts.set(node, count(left.get(node)) + count(right.get(node)) + 1);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right.get(node);
+        right.set(node, left.get(pivot));
+        left.set(pivot, node);
+        counts.set(pivot, counts.get(node));
+        counts.set(node, count(left.get(node)) + count(right.get(node)) + 1);
+        return pivot;
+    }
+
+    private int compare(int slot1, int slot2) {
+        int totalScoreComparison = Integer.compare(totalOf(scores.get(slot2)), totalOf(scores.get(slot1)));
+        if (totalScoreComparison != 0) {
+            return totalScoreComparison;
+        }
+        // When total score is equal, most recently added comes first
+        return Long.compare(sequences.get(slot2), sequences.get(slot1));
+    }
+
+    private int count(int node) {
+        return node == NIL ? 0 : counts.get(node);
+    }
+
+    private static int totalOf(long packedScore) {
+        return Game.homeScoreOf(packedScore) + Game.awayScoreOf(packedScore);
+    }
+
+    private int nextPriority() {
+        // xorshift, same as the on-heap ranking index
+        int x = priorityState;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        priorityState = x;
+        return x;
+    }
+
+    private void grow(int newCapacity) {
+        if (newCapacity > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalStateException("Board is full");
+        }
+        gameKeys.grow(newCapacity);
+        scores.grow(newCapacity);
+        sequences.grow(newCapacity);
+        createdAt.grow(newCapacity);
+        left.grow(newCapacity);
+        right.grow(newCapacity);
+        counts.grow(newCapacity);
+        priorities.grow(newCapacity);
+        capacity = newCapacity;
+    }
+
+    /**
+     * A team we've never registered can't be in any game, so the lookup just misses.
+     */
+    private long findGameKey(String homeTeam, String awayTeam) {
+        return TeamRegistry.gameKey(teams.idOf(homeTeam), teams.idOf(awayTeam));
+    }
+
+    private void validateTeamNames(String homeTeam, String awayTeam) {
+        if (homeTeam == null || awayTeam == null) {
+            throw new IllegalArgumentException("Team names cannot be null");
+        }
+        if (homeTeam.trim().isEmpty() || awayTeam.trim().isEmpty()) {
+            throw new IllegalArgumentException("Team names cannot be empty");
+        }
+    }
+
+    private void validateScores(int homeScore, int awayScore) {
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+    }
+
+    private void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
+    /**
+     * One column of longs in native memory. Growing copies it into a bigger buffer.
+     */
+    private static final class LongColumn {
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(0);
+
+        private long get(int slot) {
+            return buffer.getLong(slot * Long.BYTES);
+        }
+
+        private void set(int slot, long value) {
+            buffer.putLong(slot * Long.BYTES, value);
+        }
+
+        private void grow(int capacity) {
+            buffer = copyInto(buffer, capacity * Long.BYTES);
+        }
+    }
+
+    /**
+     * One column of ints in native memory.
+     */
+    private static final class IntColumn {
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(0);
+
+        private int get(int slot) {
+            return buffer.getInt(slot * Integer.BYTES);
+        }
+
+        private void set(int slot, int value) {
+            buffer.putInt(slot * Integer.BYTES, value);
+        }
+
+        private void grow(int capacity) {
+            buffer = copyInto(buffer, capacity * Integer.BYTES);
+        }
+    }
+
+    private static ByteBuffer copyInto(ByteBuffer old, int newBytes) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(newBytes).order(ByteOrder.nativeOrder());
+        grown.put(old.duplicate().clear());
+        grown.clear();
+        return grown;
+    }
+}
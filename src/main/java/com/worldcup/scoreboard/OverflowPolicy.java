@@ -0,0 +1,20 @@
+package com.worldcup.scoreboard;
+
+/**
+ * What an event subscription does when its subscriber falls behind and the buffer is full.
+ * The board never waits for a subscriber either way.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Throw away the oldest buffered event to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Fold a new score update (or rank change) into the one already waiting for the same game,
+     * so a slow subscriber gets the latest score rather than every step on the way. Starts and
+     * finishes are never folded; if the buffer still fills up, the oldest event is dropped.
+     */
+    COALESCE_PER_GAME
+}
@@ -0,0 +1,34 @@
+package com.worldcup.scoreboard;
+
+import java.util.Comparator;
+
+/**
+ * A copied game together with the values the summary is sorted by, worked out once so sorting
+ * and merging don't keep re-reading the game. Used by the boards that build their summary from
+ * copies rather than from a live index.
+ */
+final class RankedGame {
+
+    static final Comparator<RankedGame> SUMMARY_ORDER = (ranked1, ranked2) -> {
+        int totalScoreComparison = Integer.compare(ranked2.totalScore, ranked1.totalScore);
+        if (totalScoreComparison != 0) {
+            return totalScoreComparison;
+        }
+        // When total score is equal, most recently added comes first
+        return Long.compare(ranked2.sequence, ranked1.sequence);
+    };
+
+    private final Game game;
+    private final long sequence;
+    private final int totalScore;
+
+    RankedGame(Game game, long sequence) {
+        this.game = game;
+        this.sequence = sequence;
+        this.totalScore = game.getTotalScore();
+    }
+
+    Game getGame() {
+        return game;
+    }
+}
@@ -0,0 +1,412 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the games ordered the way the summary wants them: total score first (highest on top),
+ * then the most recently added. The board updates it on every start, score change and finish,
+ * so reading the summary is just a walk from the top.
+ * <p>
+ * It's a treap whose nodes are the entries themselves, with the entries also chained in summary
+ * order. Moving a game after a goal is an O(log n) unlink and relink that allocates nothing, and
+ * walking the summary just follows the chain. Each node also counts its subtree, so a game's
+ * position in the summary can be found without walking the chain.
+ */
+class RankingIndex {
+
+    private Entry root;
+    private Entry first;
+    private int size;
+    private long nextSequence;
+    private int priorityState = 0x9E3779B9;
+
+    Entry add(Game game, long gameKey) {
+        return add(game, gameKey, nextSequence);
+    }
+
+    /**
+     * Same as {@link #add(Game, long)}, with the sequence handed in by the caller. For several
+     * indexes that share one sequence, so "most recent" means the same thing across all of them.
+     */
+    Entry add(Game game, long gameKey, long sequence) {
+        Entry entry = new Entry(game, gameKey, sequence, nextPriority());
+        nextSequence = Math.max(nextSequence, sequence + 1);
+        insert(entry);
+        return entry;
+    }
+
+    /**
+     * Fills an empty index with games that were on the board before, given in summary order
+     * with the sequence each one had. Sorted input means the treap can be built in one pass
+     * with a stack for its right edge, instead of a rebalancing insert per game. Games added
+     * afterwards still come out as more recent.
+     */
+    Entry[] restore(Game[] games, long[] gameKeys, long[] sequences) {
+        if (size != 0) {
+            throw new IllegalStateException("Only an empty index can be restored");
+        }
+        Entry[] entries = new Entry[games.length];
+        Entry[] rightEdge = new Entry[games.length];
+        int depth = 0;
+        Entry previous = null;
+        for (int i = 0; i < games.length; i++) {
+            if (sequences[i] < 0) {
+                throw new IllegalArgumentException("Sequence cannot be negative");
+            }
+            Entry entry = new Entry(games[i], gameKeys[i], sequences[i], nextPriority());
+            if (previous != null && compare(previous, entry) >= 0) {
+                throw new IllegalArgumentException("Games are not in summary order");
+            }
+            Entry lastPopped = null;
+            while (depth > 0 && rightEdge[depth - 1].priority < entry.priority) {
+                lastPopped = rightEdge[--depth];
+            }
+            entry.left = lastPopped;
+            if (depth > 0) {
+                rightEdge[depth - 1].right = entry;
+            }
+            rightEdge[depth++] = entry;
+
+            entry.previous = previous;
+            if (previous == null) {
+                first = entry;
+            } else {
+                previous.next = entry;
+            }
+            previous = entry;
+            nextSequence = Math.max(nextSequence, sequences[i] + 1);
+            entries[i] = entry;
+        }
+        root = depth == 0 ? null : rightEdge[0];
+        countSubtree(root);
+        size = games.length;
+        return entries;
+    }
+
+    /**
+     * Moves the entry to its new place after the game's score changed.
+     * Nothing moves if the total score is the same as before.
+     */
+    void reorder(Entry entry) {
+        int totalScore = entry.game.getTotalScore();
+        if (totalScore == entry.totalScore) {
+            return;
+        }
+        delete(entry);
+        entry.totalScore = totalScore;
+        insert(entry);
+    }
+
+    void remove(Entry entry) {
+        delete(entry);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Top of the summary, or null when empty. Follow {@link Entry#getNext()} for the rest.
+     */
+    Entry getFirst() {
+        return first;
+    }
+
+    /**
+     * Where the entry sits in the summary, counting from 0. Subtree sizes are kept up to date
+     * in the nodes, so this is one O(log n) walk down the tree.
+     */
+    int positionOf(Entry entry) {
+        int position = 0;
+        for (Entry node = root; node != null; ) {
+            int comparison = compare(entry, node);
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                position += count(node.left);
+                if (comparison == 0) {
+                    return position;
+                }
+                position++;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Entry is not in the index");
+    }
+
+    List<Game> toList() {
+        List<Game> games = new ArrayList<>(size);
+        for (Entry entry = first; entry != null; entry = entry.next) {
+            games.add(entry.game);
+        }
+        return games;
+    }
+
+    /**
+     * Calls back with every entry in summary order.
+     */
+    void forEach(Consumer<Entry> action) {
+        forEach(size, action);
+    }
+
+    /**
+     * Calls back with the top {@code limit} entries in summary order.
+     */
+    void forEach(int limit, Consumer<Entry> action) {
+        Entry entry = first;
+        for (int i = 0; i < limit && entry != null; i++, entry = entry.next) {
+            action.accept(entry);
+        }
+    }
+
+    /**
+     * Each entry keeps the view it last handed out and only makes a new one once its score has
+     * changed, so publishing a summary after one goal allocates one view rather than one per game.
+     */
+    GameView[] toViews() {
+        GameView[] views = new GameView[size];
+        int i = 0;
+        for (Entry entry = first; entry != null; entry = entry.next) {
+            views[i++] = entry.view();
+        }
+        return views;
+    }
+
+    /**
+     * Walks only as far down the index as the page needs, so the cost depends on
+     * {@code offset + limit} rather than on the size of the board.
+     */
+    List<Game> toList(int offset, int limit) {
+        int pageSize = Math.max(0, Math.min(limit, size - offset));
+        List<Game> games = new ArrayList<>(pageSize);
+        Entry entry = first;
+        for (int skipped = 0; skipped < offset && entry != null; skipped++) {
+            entry = entry.next;
+        }
+        while (games.size() < pageSize) {
+            games.add(entry.game);
+            entry = entry.next;
+        }
+        return games;
+    }
+
+    /**
+     * Negative when {@code entry1} comes first in the summary. Sequences are unique,
+     * so this only returns 0 for the same entry.
+     */
+    static int compare(Entry entry1, Entry entry2) {
+        int totalScoreComparison = Integer.compare(entry2.totalScore, entry1.totalScore);
+        if (totalScoreComparison != 0) {
+            return totalScoreComparison;
+        }
+        // When total score is equal, most recently added comes first
+        return Long.compare(entry2.sequence, entry1.sequence);
+    }
+
+    private void insert(Entry entry) {
+        // Neighbours in summary order are the last nodes we turned away from on the way down
+        Entry previous = null;
+        Entry next = null;
+        for (Entry node = root; node != null; ) {
+            if (compare(entry, node) < 0) {
+                next = node;
+                node = node.left;
+            } else {
+                previous = node;
+                node = node.right;
+            }
+        }
+        entry.previous = previous;
+        entry.next = next;
+        if (previous == null) {
+            first = entry;
+        } else {
+            previous.next = entry;
+        }
+        if (next != null) {
+            next.previous = entry;
+        }
+
+        root = insert(root, entry);
+        size++;
+    }
+
+    private Entry insert(Entry node, Entry entry) {
+        if (node == null) {
+            entry.count = 1;
+            return entry;
+        }
+        node.count++;
+        if (compare(entry, node) < 0) {
+            node.left = insert(node.left, entry);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, entry);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private void delete(Entry entry) {
+        root = delete(root, entry);
+
+        if (entry.previous == null) {
+            first = entry.next;
+        } else {
+            entry.previous.next = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        size--;
+    }
+
+    private Entry delete(Entry node, Entry entry) {
+        if (node == entry) {
+            Entry merged = merge(node.left, node.right);
+            entry.left = null;
+            entry.right = null;
+            return merged;
+        }
+        node.count--;
+        if (compare(entry, node) < 0) {
+            node.left = delete(node.left, entry);
+        } else {
+            node.right = delete(node.right, entry);
+        }
+        return node;
+    }
+
+    private static Entry merge(Entry left, Entry right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.count += right.count;
+            left.right = merge(left.right, right);
+            return left;
+        }
+        right.count += left.count;
+        right.left = merge(left, right.left);
+        return right;
+    }
+
+    private static Entry rotateRight(Entry node) {
+        Entry pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        pivot.count = node.count;
+        node.count = count(node.left) + count(node.right) + 1;
+        return pivot;
+    }
+
+    private static Entry rotateLeft(Entry node) {
+        Entry pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        pivot.count = node.count;
+        node.count = count(node.left) + count(node.right) + 1;
+        return pivot;
+    }
+
+    private static int countSubtree(Entry node) {
+        if (node == null) {
+            return 0;
+        }
+        node.count = countSubtree(node.left) + countSubtree(node.right) + 1;
+        return node.count;
+    }
+
+    private static int count(Entry node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private int nextPriority() {
+        // xorshift, good enough to keep the treap balanced and cheaper than java.util.Random
+        int x = priorityState;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        priorityState = x;
+        return x;
+    }
+
+    /**
+     * A game together with the values it's sorted by. The total is kept here rather than read
+     * from the game, so the tree stays consistent even if someone changes the game behind our back.
+     */
+    static final class Entry {
+        private final Game game;
+        private final long gameKey;
+        private final long sequence;
+        private final int priority;
+        private int totalScore;
+        private int count;
+        private long feedSequence = -1;
+        private GameView view;
+        private long viewScore;
+        private Entry left;
+        private Entry right;
+        private Entry previous;
+        private Entry next;
+
+        private Entry(Game game, long gameKey, long sequence, int priority) {
+            this.game = game;
+            this.gameKey = gameKey;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.totalScore = game.getTotalScore();
+        }
+
+        Game getGame() {
+            return game;
+        }
+
+        /**
+         * The board's key for this game, both team IDs packed together.
+         */
+        long getGameKey() {
+            return gameKey;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * The last feed sequence number applied to this game, or -1 if there hasn't been one.
+         * Not used for sorting; it just lives with the rest of the game's state.
+         */
+        long getFeedSequence() {
+            return feedSequence;
+        }
+
+        void setFeedSequence(long feedSequence) {
+            this.feedSequence = feedSequence;
+        }
+
+        Entry getNext() {
+            return next;
+        }
+
+        private GameView view() {
+            long packedScore = game.getPackedScore();
+            if (view == null || viewScore != packedScore) {
+                view = GameView.of(game);
+                viewScore = packedScore;
+            }
+            return view;
+        }
+    }
+}
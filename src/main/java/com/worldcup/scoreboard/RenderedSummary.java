@@ -0,0 +1,157 @@
+package com.worldcup.scoreboard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The summary at one board version, already rendered to UTF-8 bytes in two formats, ready to
+ * write to a socket or an HTTP response as they are.
+ * <p>
+ * Plain text is one game per line, exactly as {@link Game#toString()} prints it. JSON looks like
+ * <pre>{@code
+ * {"version":12,"games":[{"homeTeam":"Uruguay","awayTeam":"Italy","homeScore":6,"awayScore":6},...]}
+ * }</pre>
+ * The bytes live in direct memory and are shared by every reader: each getter hands out a
+ * read-only view with its own position, so any number of threads can write the same summary
+ * out at the same time.
+ */
+public final class RenderedSummary {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final long version;
+    private final ByteBuffer json;
+    private final ByteBuffer text;
+
+    private RenderedSummary(long version, ByteBuffer json, ByteBuffer text) {
+        this.version = version;
+        this.json = json;
+        this.text = text;
+    }
+
+    static RenderedSummary of(SummarySnapshot snapshot) {
+        List<GameView> games = snapshot.getGames();
+        Output json = new Output(64 + games.size() * 96);
+        Output text = new Output(games.size() * 40);
+        json.ascii("{\"version\":").number(snapshot.getVersion()).ascii(",\"games\":[");
+        for (int i = 0; i < games.size(); i++) {
+            GameView game = games.get(i);
+            byte[] homeTeam = game.homeTeam().getBytes(StandardCharsets.UTF_8);
+            byte[] awayTeam = game.awayTeam().getBytes(StandardCharsets.UTF_8);
+
+            json.ascii(i == 0 ? "{\"homeTeam\":" : ",{\"homeTeam\":").quoted(homeTeam)
+                    .ascii(",\"awayTeam\":").quoted(awayTeam)
+                    .ascii(",\"homeScore\":").number(game.homeScore())
+                    .ascii(",\"awayScore\":").number(game.awayScore())
+                    .ascii("}");
+            text.bytes(homeTeam).ascii(" ").number(game.homeScore()).ascii(" - ")
+                    .bytes(awayTeam).ascii(" ").number(game.awayScore()).ascii("\n");
+        }
+        json.ascii("]}");
+        return new RenderedSummary(snapshot.getVersion(), json.toBuffer(), text.toBuffer());
+    }
+
+    /**
+     * The board version this was rendered at, same as {@link SummarySnapshot#getVersion()}.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public ByteBuffer getJson() {
+        return json.duplicate();
+    }
+
+    public ByteBuffer getText() {
+        return text.duplicate();
+    }
+
+    /**
+     * Growing byte array with just the appends the two formats need.
+     */
+    private static final class Output {
+        private byte[] bytes;
+        private int size;
+
+        private Output(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        private Output ascii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                bytes[size++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        private Output bytes(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+            return this;
+        }
+
+        /**
+         * Scores and versions are never negative.
+         */
+        private Output number(long value) {
+            ensure(20);
+            int end = size + digits(value);
+            for (int i = end - 1; i >= size; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size = end;
+            return this;
+        }
+
+        /**
+         * Multi-byte UTF-8 sequences never contain bytes below 0x80, so only ASCII needs escaping.
+         */
+        private Output quoted(byte[] utf8) {
+            ensure(utf8.length * 6 + 2);
+            bytes[size++] = '"';
+            for (byte b : utf8) {
+                if (b == '"' || b == '\\') {
+                    bytes[size++] = '\\';
+                    bytes[size++] = b;
+                } else if (b >= 0 && b < 0x20) {
+                    bytes[size++] = '\\';
+                    bytes[size++] = 'u';
+                    bytes[size++] = '0';
+                    bytes[size++] = '0';
+                    bytes[size++] = HEX[b >> 4];
+                    bytes[size++] = HEX[b & 0xf];
+                } else {
+                    bytes[size++] = b;
+                }
+            }
+            bytes[size++] = '"';
+            return this;
+        }
+
+        private ByteBuffer toBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+            buffer.put(bytes, 0, size).flip();
+            return buffer.asReadOnlyBuffer();
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        private static int digits(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.worldcup.scoreboard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A read-only copy of a leader {@link LiveScoreBoard}, kept up to date from the leader's
+ * {@link ReplicationLog}, so summary reads can be spread over as many processes as needed
+ * without each of them reading the upstream feed.
+ * <p>
+ * A replica starts out empty at version 0. Each {@link #poll(Duration)} asks the leader for what
+ * came after the replica's version and applies it: a run of changes, or the leader's latest
+ * checkpoint followed by the changes after it when the replica is new or too far behind. Either
+ * way the replica ends up at exactly the leader's versions, so a summary with the same version
+ * holds the same games on both.
+ * <p>
+ * Call {@link #poll(Duration)} from the thread that reads the board, or {@link #start()} a
+ * thread of its own. With its own thread, read through {@link #getSnapshot()}, which is safe
+ * from any thread; {@link #getBoard()} then belongs to the replica's thread.
+ */
+public final class ReplicaBoard implements AutoCloseable {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final ReplicationChannel channel;
+    private final Receiver receiver = new Receiver();
+    private LiveScoreBoard board = new LiveScoreBoard();
+    private LiveScoreBoard.Replica replica = board.replica();
+    private ScoreBoardMetrics metrics;
+    private volatile SummarySnapshot snapshot = board.getSnapshot();
+    private volatile long lagVersions;
+    private volatile long lagMillis;
+    private volatile Exception failure;
+    private volatile boolean closed;
+    private Thread poller;
+
+    public ReplicaBoard(ReplicationChannel channel) {
+        this.channel = Objects.requireNonNull(channel, "Replication channel cannot be null");
+    }
+
+    /**
+     * Waits up to {@code timeout} for the leader to change, then applies everything it sent.
+     * Returns straight away if the leader is already ahead.
+     *
+     * @return whether the replica moved to a newer version
+     * @throws IOException if the leader can't be reached, in which case the replica stays as it was
+     * @throws IllegalStateException if what the leader sent doesn't follow on from the replica,
+     *         e.g. because it came from another leader
+     */
+    public boolean poll(Duration timeout) throws IOException {
+        long before = board.getVersion();
+        try {
+            channel.pull(before, timeout.toNanos(), receiver);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        snapshot = board.publish();
+        return board.getVersion() != before;
+    }
+
+    /**
+     * Polls on a daemon thread from now on, until {@link #close()}. If the leader can't be
+     * reached, or a poll fails in any other way, the thread stops and {@link #getFailure()}
+     * says why.
+     */
+    public synchronized void start() {
+        if (poller != null) {
+            throw new IllegalStateException("Replica is already running");
+        }
+        poller = new Thread(() -> {
+            try {
+                while (!closed) {
+                    poll(POLL_TIMEOUT);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    failure = e;
+                }
+            }
+        }, "replica-board-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    /**
+     * The summary as of the last poll. Safe to call from any thread.
+     */
+    public SummarySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public List<GameView> getSummary() {
+        return snapshot.getGames();
+    }
+
+    /**
+     * The version the replica has reached. Safe to call from any thread.
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * The board the changes are applied to, for everything beyond the summary. Only use it on
+     * the thread that polls, and don't change it. Starting over from a checkpoint swaps in a new
+     * board, so ask for it again after polling rather than holding on to it.
+     */
+    public LiveScoreBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * How many versions behind the leader the replica was after the last poll. Usually 0; more
+     * while a replica far behind catches up over several polls.
+     */
+    public long getLagVersions() {
+        return lagVersions;
+    }
+
+    /**
+     * How long the oldest change the replica hadn't got yet had been on the leader, as of the
+     * last poll; 0 when it had everything. Across machines this is only as good as their clocks.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Times the replica's board like any other, and reports the lag in
+     * {@link ScoreBoardMetrics#getReplicationLagVersions()} and
+     * {@link ScoreBoardMetrics#getReplicationLagMillis()}. Set it before starting.
+     */
+    public void setMetrics(ScoreBoardMetrics metrics) {
+        this.metrics = metrics;
+        board.setMetrics(metrics);
+    }
+
+    /**
+     * Why the polling thread stopped, or null if it didn't: an {@link IOException} if the
+     * leader couldn't be reached, a runtime exception if what it sent couldn't be applied.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops the polling thread, if there is one, and closes the channel.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close replication channel", e);
+        } finally {
+            Thread thread;
+            synchronized (this) {
+                thread = poller;
+            }
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private final class Receiver implements ReplicationLog.Receiver {
+
+        @Override
+        public void checkpoint(Checkpoint checkpoint) {
+            board = new LiveScoreBoard(checkpoint, null);
+            board.setMetrics(metrics);
+            replica = board.replica();
+        }
+
+        @Override
+        public void team(int teamId, String name) {
+            replica.team(teamId, name);
+        }
+
+        @Override
+        public void start(long version, long gameKey, Instant createdAt) {
+            replica.start(version, gameKey, createdAt);
+        }
+
+        @Override
+        public void update(long version, long gameKey, int homeScore, int awayScore) {
+            replica.update(version, gameKey, homeScore, awayScore);
+        }
+
+        @Override
+        public void finish(long version, long gameKey) {
+            replica.finish(version, gameKey);
+        }
+
+        @Override
+        public void end(long version, long leaderVersion, long oldestPendingMillis) {
+            replica.caughtUp(version);
+            lagVersions = Math.max(0, leaderVersion - version);
+            lagMillis = oldestPendingMillis < 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldestPendingMillis);
+            if (metrics != null) {
+                metrics.replicationLag(lagVersions, lagMillis);
+            }
+        }
+    }
+}
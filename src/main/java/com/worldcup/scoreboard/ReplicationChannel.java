@@ -0,0 +1,108 @@
+package com.worldcup.scoreboard;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How a {@link ReplicaBoard} reaches its leader's {@link ReplicationLog}: directly, when both
+ * live in the same process, or over a socket to a {@link ReplicationServer}. Either way the
+ * replica asks for whatever came after its version and gets the same encoded frames back.
+ */
+public abstract class ReplicationChannel implements Closeable {
+
+    ReplicationChannel() {
+    }
+
+    /**
+     * Reads straight from a log in the same process.
+     */
+    public static ReplicationChannel local(ReplicationLog log) {
+        return new Local(Objects.requireNonNull(log, "Replication log cannot be null"));
+    }
+
+    /**
+     * Connects to a {@link ReplicationServer}.
+     */
+    public static ReplicationChannel connect(InetSocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Address cannot be null");
+        return new Remote(address);
+    }
+
+    /**
+     * Waits up to {@code timeoutNanos} for changes after {@code afterVersion} and hands them to
+     * the receiver, ending with where the leader is.
+     */
+    abstract void pull(long afterVersion, long timeoutNanos, ReplicationLog.Receiver receiver)
+            throws IOException, InterruptedException;
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    private static final class Local extends ReplicationChannel {
+        private final ReplicationLog log;
+
+        private Local(ReplicationLog log) {
+            this.log = log;
+        }
+
+        @Override
+        void pull(long afterVersion, long timeoutNanos, ReplicationLog.Receiver receiver)
+                throws IOException, InterruptedException {
+            byte[] frames = log.read(afterVersion, timeoutNanos).bytes();
+            ReplicationLog.decode(new DataInputStream(new ByteArrayInputStream(frames)), receiver);
+        }
+    }
+
+    /**
+     * One request and one response at a time: the version to read after and how long the server
+     * may wait, answered with the length of the frames and the frames. The whole response is
+     * read before any of it is applied, so a connection that breaks halfway leaves the replica
+     * as it was.
+     */
+    private static final class Remote extends ReplicationChannel {
+        // How much longer than the requested wait a response may take before the leader counts as gone
+        private static final int GRACE_MILLIS = 10_000;
+
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+
+        private Remote(InetSocketAddress address) throws IOException {
+            this.socket = new Socket(address.getAddress(), address.getPort());
+            try {
+                socket.setTcpNoDelay(true);
+                this.out = new DataOutputStream(socket.getOutputStream());
+                this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        @Override
+        void pull(long afterVersion, long timeoutNanos, ReplicationLog.Receiver receiver) throws IOException {
+            long timeoutMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeoutMillis + GRACE_MILLIS));
+            out.writeLong(afterVersion);
+            out.writeLong(timeoutMillis);
+            out.flush();
+            byte[] frames = new byte[in.readInt()];
+            in.readFully(frames);
+            ReplicationLog.decode(new DataInputStream(new ByteArrayInputStream(frames)), receiver);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
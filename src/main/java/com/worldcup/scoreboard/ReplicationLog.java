@@ -0,0 +1,356 @@
+package com.worldcup.scoreboard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The leader's side of replication: an ordered, in-memory log of every start, update and finish
+ * on a {@link LiveScoreBoard}, for {@link ReplicaBoard}s to follow. Attach it with
+ * {@link LiveScoreBoard#setReplicationLog(ReplicationLog)}.
+ * <p>
+ * Every change is logged with the board version it made, so the version doubles as the log
+ * offset: a replica at version 41 asks for whatever came after 41, and the changes of a batch
+ * share a version just like on the leader. The log doesn't grow forever. Every
+ * {@code checkpointEvery} changes the leader hands it a fresh {@link Checkpoint}, and changes
+ * from before the previous checkpoint are dropped. A replica that is brand new, or has fallen
+ * further behind than that, gets the latest checkpoint followed by the changes after it.
+ * <p>
+ * The leader appends on its own thread; replicas read from any thread. A read encodes what it
+ * needs into a byte array under the lock and does everything else outside it, so a slow replica
+ * never holds up the leader for longer than that copy. The same bytes go over the socket of a
+ * {@link ReplicationServer}, so both channels share one format.
+ */
+public final class ReplicationLog {
+
+    static final int DEFAULT_CHECKPOINT_EVERY = 16 * 1024;
+    static final int DEFAULT_MAX_CHANGES_PER_READ = 4096;
+
+    private static final byte CHECKPOINT = 1;
+    private static final byte TEAM = 2;
+    private static final byte START = 3;
+    private static final byte UPDATE = 4;
+    private static final byte FINISH = 5;
+    private static final byte END = 6;
+
+    private final int checkpointEvery;
+    private final int maxChangesPerRead;
+    // One column per field, records from head (inclusive) to tail (exclusive), oldest first
+    private byte[] types = new byte[1024];
+    private long[] versions = new long[1024];
+    private long[] keys = new long[1024];
+    private long[] values = new long[1024];
+    private long[] loggedMillis = new long[1024];
+    private String[] names = new String[1024];
+    private int head;
+    private int tail;
+    private int teamsLogged;
+    private int changesSinceCheckpoint;
+    private long version;
+    private long retainedAfter;
+    private Checkpoint checkpoint;
+    private byte[] encodedCheckpoint;
+
+    /**
+     * Takes a checkpoint every 16K changes.
+     */
+    public ReplicationLog() {
+        this(DEFAULT_CHECKPOINT_EVERY);
+    }
+
+    /**
+     * @param checkpointEvery how many changes go by between checkpoints. The log holds up to
+     *                        about twice that many, and a replica further behind starts over
+     *                        from the checkpoint.
+     */
+    public ReplicationLog(int checkpointEvery) {
+        this(checkpointEvery, DEFAULT_MAX_CHANGES_PER_READ);
+    }
+
+    ReplicationLog(int checkpointEvery, int maxChangesPerRead) {
+        if (checkpointEvery <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        if (maxChangesPerRead <= 0) {
+            throw new IllegalArgumentException("Max changes per read must be positive");
+        }
+        this.checkpointEvery = checkpointEvery;
+        this.maxChangesPerRead = maxChangesPerRead;
+    }
+
+    /**
+     * The leader's version as of the last change logged.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Number of changes held right now.
+     */
+    public synchronized int size() {
+        return tail - head;
+    }
+
+    /**
+     * Called by the board when the log is attached, with the board as it is at that moment.
+     */
+    synchronized void attach(Checkpoint initial) {
+        if (checkpoint != null) {
+            throw new IllegalStateException("Replication log is already attached to a board");
+        }
+        checkpoint = initial;
+        teamsLogged = initial.getTeamNames().length;
+        version = initial.getVersion();
+        retainedAfter = version;
+    }
+
+    synchronized void appendStart(TeamRegistry teams, long version, long gameKey, Instant createdAt) {
+        while (teamsLogged < teams.size()) {
+            append(TEAM, version, teamsLogged, 0, teams.nameOf(teamsLogged));
+            teamsLogged++;
+        }
+        append(START, version, gameKey, createdAt.getEpochSecond() * 1_000_000_000L + createdAt.getNano(), null);
+    }
+
+    synchronized void appendUpdate(long version, long gameKey, long packedScore) {
+        append(UPDATE, version, gameKey, packedScore, null);
+    }
+
+    synchronized void appendFinish(long version, long gameKey) {
+        append(FINISH, version, gameKey, 0, null);
+    }
+
+    synchronized boolean wantsCheckpoint() {
+        return changesSinceCheckpoint >= checkpointEvery;
+    }
+
+    /**
+     * Makes {@code next} the checkpoint new replicas start from. Changes from before the previous
+     * checkpoint go, so a replica that was only a little behind when this one was taken can
+     * still carry on from the log.
+     */
+    synchronized void checkpoint(Checkpoint next) {
+        long dropUpTo = checkpoint.getVersion();
+        while (head < tail && versions[head] <= dropUpTo) {
+            names[head] = null;
+            head++;
+        }
+        retainedAfter = dropUpTo;
+        checkpoint = next;
+        encodedCheckpoint = null;
+        changesSinceCheckpoint = 0;
+        version = Math.max(version, next.getVersion());
+    }
+
+    /**
+     * Waits up to {@code timeoutNanos} for changes after {@code afterVersion} and encodes up to
+     * about {@code maxChangesPerRead} of them, never splitting a version. They're preceded by the
+     * checkpoint if the replica is too far behind, or ahead of the leader, which means it has
+     * been following some other board. Always ends with an end frame, so even a read that timed
+     * out tells the replica where the leader is.
+     */
+    synchronized Frames read(long afterVersion, long timeoutNanos) throws InterruptedException {
+        if (checkpoint == null) {
+            throw new IllegalStateException("Replication log isn't attached to a board");
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (long remaining = timeoutNanos; afterVersion == version && remaining > 0; remaining = deadline - System.nanoTime()) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            long from = afterVersion;
+            if (afterVersion < retainedAfter || afterVersion > version) {
+                byte[] encoded = encodedCheckpoint();
+                out.writeByte(CHECKPOINT);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+                from = checkpoint.getVersion();
+            }
+            int index = firstAfter(from);
+            long reached = from;
+            for (int changes = 0; index < tail && (changes < maxChangesPerRead || versions[index] == reached); index++) {
+                write(out, index);
+                reached = versions[index];
+                if (types[index] != TEAM) {
+                    changes++;
+                }
+            }
+            if (index == tail) {
+                reached = version;
+            }
+            out.writeByte(END);
+            out.writeLong(reached);
+            out.writeLong(version);
+            out.writeLong(index < tail ? loggedMillis[index] : -1);
+            return new Frames(bytes.toByteArray(), reached);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode replication log", e);
+        }
+    }
+
+    /**
+     * Reads what {@link #read(long, long)} encoded, up to and including the end frame.
+     */
+    static void decode(DataInputStream in, Receiver receiver) throws IOException {
+        while (true) {
+            byte type = in.readByte();
+            switch (type) {
+                case CHECKPOINT -> {
+                    byte[] encoded = new byte[in.readInt()];
+                    in.readFully(encoded);
+                    receiver.checkpoint(Checkpoint.decode(ByteBuffer.wrap(encoded), "Replicated checkpoint"));
+                }
+                case TEAM -> {
+                    in.readLong();
+                    receiver.team(in.readInt(), in.readUTF());
+                }
+                case START -> receiver.start(in.readLong(), in.readLong(), Instant.ofEpochSecond(0, in.readLong()));
+                case UPDATE -> {
+                    long version = in.readLong();
+                    long gameKey = in.readLong();
+                    long packedScore = in.readLong();
+                    receiver.update(version, gameKey, Game.homeScoreOf(packedScore), Game.awayScoreOf(packedScore));
+                }
+                case FINISH -> receiver.finish(in.readLong(), in.readLong());
+                case END -> {
+                    receiver.end(in.readLong(), in.readLong(), in.readLong());
+                    return;
+                }
+                default -> throw new IOException("Unknown replication frame type " + type);
+            }
+        }
+    }
+
+    private void write(DataOutputStream out, int index) throws IOException {
+        out.writeByte(types[index]);
+        out.writeLong(versions[index]);
+        switch (types[index]) {
+            case TEAM -> {
+                out.writeInt((int) keys[index]);
+                out.writeUTF(names[index]);
+            }
+            case START, UPDATE -> {
+                out.writeLong(keys[index]);
+                out.writeLong(values[index]);
+            }
+            case FINISH -> out.writeLong(keys[index]);
+            default -> throw new IllegalStateException("Unknown replication record type " + types[index]);
+        }
+    }
+
+    private void append(byte type, long version, long key, long value, String name) {
+        if (checkpoint == null) {
+            throw new IllegalStateException("Replication log isn't attached to a board");
+        }
+        if (tail == types.length) {
+            makeRoom();
+        }
+        types[tail] = type;
+        versions[tail] = version;
+        keys[tail] = key;
+        values[tail] = value;
+        loggedMillis[tail] = System.currentTimeMillis();
+        names[tail] = name;
+        tail++;
+        if (type != TEAM) {
+            changesSinceCheckpoint++;
+        }
+        this.version = version;
+        notifyAll();
+    }
+
+    /**
+     * Slides the records back to the start of the columns if that frees at least half of them,
+     * and doubles the columns otherwise.
+     */
+    private void makeRoom() {
+        int size = tail - head;
+        int capacity = size <= types.length / 2 ? types.length : types.length * 2;
+        types = move(types, new byte[capacity], size);
+        versions = move(versions, new long[capacity], size);
+        keys = move(keys, new long[capacity], size);
+        values = move(values, new long[capacity], size);
+        loggedMillis = move(loggedMillis, new long[capacity], size);
+        String[] movedNames = new String[capacity];
+        System.arraycopy(names, head, movedNames, 0, size);
+        names = movedNames;
+        head = 0;
+        tail = size;
+    }
+
+    private <T> T move(T from, T to, int size) {
+        System.arraycopy(from, head, to, 0, size);
+        return to;
+    }
+
+    /**
+     * Index of the first record after {@code version}; versions only go up, so it's a binary
+     * search.
+     */
+    private int firstAfter(long version) {
+        int low = head;
+        int high = tail;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (versions[middle] <= version) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private byte[] encodedCheckpoint() {
+        if (encodedCheckpoint == null) {
+            ByteBuffer encoded = checkpoint.encode();
+            encodedCheckpoint = Arrays.copyOfRange(encoded.array(), encoded.position(), encoded.limit());
+        }
+        return encodedCheckpoint;
+    }
+
+    /**
+     * One read's worth of the log, and the version a replica is at once it has applied it.
+     */
+    record Frames(byte[] bytes, long version) {
+    }
+
+    /**
+     * Gets the frames of one read back, in order.
+     */
+    interface Receiver {
+
+        /**
+         * Start over from this checkpoint; the changes that follow come after it.
+         */
+        void checkpoint(Checkpoint checkpoint);
+
+        void team(int teamId, String name);
+
+        void start(long version, long gameKey, Instant createdAt);
+
+        void update(long version, long gameKey, int homeScore, int awayScore);
+
+        void finish(long version, long gameKey);
+
+        /**
+         * The read is over.
+         *
+         * @param version            where the replica is once it has applied the read
+         * @param leaderVersion      where the leader is
+         * @param oldestPendingMillis when the leader logged the oldest change the replica still
+         *                           hasn't got, or -1 if it has them all
+         */
+        void end(long version, long leaderVersion, long oldestPendingMillis);
+    }
+}
@@ -0,0 +1,104 @@
+package com.worldcup.scoreboard;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a {@link ReplicationLog} to replicas in other processes, which connect with
+ * {@link ReplicationChannel#connect(InetSocketAddress)}. Each replica gets a thread that waits
+ * on the log for it, so this is meant for a handful of replicas (one per web node), not for
+ * end users.
+ * <p>
+ * The server only reads the log, which is safe from any thread; the leader board carries on
+ * on its own thread as usual.
+ */
+public final class ReplicationServer implements AutoCloseable {
+
+    // A replica asking to wait longer than this gets an answer anyway, so dead connections show up
+    private static final long MAX_WAIT_MILLIS = 10_000;
+
+    private final ReplicationLog log;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> replicas = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Starts listening right away. Pass port 0 to pick any free port.
+     */
+    public ReplicationServer(ReplicationLog log, InetSocketAddress address) throws IOException {
+        this.log = Objects.requireNonNull(log, "Replication log cannot be null");
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+        Thread acceptor = new Thread(this::accept, "replication-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * Number of replicas connected right now.
+     */
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    /**
+     * Stops listening and drops every replica.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket replica : replicas) {
+            replica.close();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket replica = serverSocket.accept();
+                replica.setTcpNoDelay(true);
+                replicas.add(replica);
+                Thread thread = new Thread(() -> serve(replica), "replication-server-" + replica.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                // Closed, or one failed accept; keep going unless closed
+            }
+        }
+    }
+
+    private void serve(Socket replica) {
+        try (replica) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(replica.getInputStream()));
+            DataOutputStream out = new DataOutputStream(replica.getOutputStream());
+            while (!closed) {
+                long afterVersion = in.readLong();
+                long waitMillis = Math.max(0, Math.min(in.readLong(), MAX_WAIT_MILLIS));
+                byte[] frames = log.read(afterVersion, TimeUnit.MILLISECONDS.toNanos(waitMillis)).bytes();
+                out.writeInt(frames.length);
+                out.write(frames);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The replica went away or the server is closing; either way there's no one to tell
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            replicas.remove(replica);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.worldcup.scoreboard;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,4 +32,36 @@ public interface ScoreBoard {
      * If scores are the same, most recent game comes first.
      */
     List<Game> getSummary();
+
+    /**
+     * Gets the top {@code n} games in the same order as {@link #getSummary()}.
+     * Handy when you only show the first few matches. Asking for more games than
+     * there are just returns all of them.
+     */
+    List<Game> getTopGames(int n);
+
+    /**
+     * Gets one page of the summary: up to {@code limit} games, skipping the first {@code offset}.
+     * Same order as {@link #getSummary()}.
+     */
+    List<Game> getSummary(int offset, int limit);
+
+    /**
+     * Starts several games at once. The whole batch is checked first: if any of the games
+     * is already running (or appears twice), nothing gets started.
+     */
+    void startGames(Collection<Fixture> fixtures);
+
+    /**
+     * Applies a batch of score updates in order, as if {@link #updateScore} was called for each.
+     * The whole batch is checked first, so one bad update (unknown game, negative score)
+     * means none of them are applied. The summary is re-ordered once for the whole batch.
+     */
+    void applyBatch(Collection<ScoreUpdate> updates);
+
+    /**
+     * Finishes several games at once. If any of them isn't on the board (or appears twice),
+     * nothing gets finished.
+     */
+    void finishGames(Collection<Fixture> fixtures);
 }
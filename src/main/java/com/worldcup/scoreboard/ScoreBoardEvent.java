@@ -0,0 +1,32 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Something that happened on the board. Every event carries the board version right after
+ * the change and the game as it looked then.
+ */
+public sealed interface ScoreBoardEvent {
+
+    long version();
+
+    GameView game();
+
+    record GameStarted(long version, GameView game) implements ScoreBoardEvent {
+    }
+
+    /**
+     * The score changed from {@code previous} to {@code game}.
+     */
+    record ScoreUpdated(long version, GameView previous, GameView game) implements ScoreBoardEvent {
+    }
+
+    record GameFinished(long version, GameView game) implements ScoreBoardEvent {
+    }
+
+    /**
+     * The game moved in the summary after its score changed. Positions are indexes into
+     * {@link ScoreBoard#getSummary()}. Only the game that moved gets an event; the games it
+     * passed shift by one accordingly.
+     */
+    record RankChanged(long version, GameView game, int previousPosition, int position) implements ScoreBoardEvent {
+    }
+}
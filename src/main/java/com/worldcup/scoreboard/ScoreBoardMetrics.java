@@ -0,0 +1,189 @@
+package com.worldcup.scoreboard;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histograms, counters and gauges for a board. Attach one with
+ * {@link LiveScoreBoard#setMetrics(ScoreBoardMetrics)}; a board without metrics skips all of
+ * this and pays only a null check per call.
+ * <p>
+ * Everything here can be read from any thread while the board is running, either directly or
+ * over JMX after registering this object as an MXBean:
+ * <pre>{@code
+ * ManagementFactory.getPlatformMBeanServer()
+ *         .registerMBean(metrics, new ObjectName("com.worldcup.scoreboard:type=ScoreBoard,name=main"));
+ * }</pre>
+ * Operations slower than the threshold are also counted and reported to Java Flight Recorder
+ * as {@code com.worldcup.scoreboard.SlowOperation} events.
+ */
+public final class ScoreBoardMetrics implements ScoreBoardMetricsMXBean {
+
+    /**
+     * What gets timed. All summary reads, including pages and top games, count as {@code SUMMARY}.
+     */
+    public enum Operation {
+        START_GAME,
+        UPDATE_SCORE,
+        FINISH_GAME,
+        START_GAMES,
+        APPLY_BATCH,
+        FINISH_GAMES,
+        SUMMARY
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final long slowThresholdNanos;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final AtomicLong gamesNotFound = new AtomicLong();
+    private final AtomicLong gamesAlreadyExisting = new AtomicLong();
+    private final AtomicLong staleUpdates = new AtomicLong();
+    private final AtomicLong slowOperations = new AtomicLong();
+    private volatile int activeGames;
+    private volatile int lastSummarySize;
+    private volatile long replicationLagVersions;
+    private volatile long replicationLagMillis;
+
+    /**
+     * Metrics that treat anything over a millisecond as slow.
+     */
+    public ScoreBoardMetrics() {
+        this(Duration.ofMillis(1));
+    }
+
+    public ScoreBoardMetrics(Duration slowOperationThreshold) {
+        Objects.requireNonNull(slowOperationThreshold, "Slow operation threshold cannot be null");
+        if (slowOperationThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow operation threshold cannot be negative");
+        }
+        this.slowThresholdNanos = slowOperationThreshold.toNanos();
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    public LatencySummary getLatency(Operation operation) {
+        return latencies[operation.ordinal()].summarize();
+    }
+
+    @Override
+    public Map<String, LatencySummary> getLatencies() {
+        Map<String, LatencySummary> all = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            all.put(operation.name(), getLatency(operation));
+        }
+        return all;
+    }
+
+    /**
+     * Games on the board as of the last timed operation.
+     */
+    @Override
+    public long getActiveGames() {
+        return activeGames;
+    }
+
+    @Override
+    public long getLastSummarySize() {
+        return lastSummarySize;
+    }
+
+    @Override
+    public long getGameNotFoundCount() {
+        return gamesNotFound.get();
+    }
+
+    @Override
+    public long getGameAlreadyExistsCount() {
+        return gamesAlreadyExisting.get();
+    }
+
+    /**
+     * For a {@link ReplicaBoard}: how many versions the replica was behind its leader the last
+     * time it heard from it. Always 0 on a leader.
+     */
+    @Override
+    public long getReplicationLagVersions() {
+        return replicationLagVersions;
+    }
+
+    /**
+     * For a {@link ReplicaBoard}: how long the oldest change it hadn't applied yet had been
+     * waiting on the leader, the last time it heard from it. Always 0 on a leader.
+     */
+    @Override
+    public long getReplicationLagMillis() {
+        return replicationLagMillis;
+    }
+
+    /**
+     * Sequenced updates that were dropped because the game had already seen that sequence
+     * number or a later one.
+     */
+    @Override
+    public long getStaleUpdateCount() {
+        return staleUpdates.get();
+    }
+
+    @Override
+    public long getSlowOperationCount() {
+        return slowOperations.get();
+    }
+
+    @Override
+    public long getSlowOperationThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Records an operation that started at {@code startedNanos} (from {@link System#nanoTime()})
+     * and just finished. The team names only end up in slow-operation events and can be null.
+     */
+    void record(Operation operation, long startedNanos, int activeGames, String homeTeam, String awayTeam) {
+        long elapsed = System.nanoTime() - startedNanos;
+        latencies[operation.ordinal()].record(elapsed);
+        this.activeGames = activeGames;
+        if (elapsed >= slowThresholdNanos) {
+            slow(operation, elapsed, activeGames, homeTeam, awayTeam);
+        }
+    }
+
+    void recordSummary(long startedNanos, int activeGames, int summarySize) {
+        lastSummarySize = summarySize;
+        record(Operation.SUMMARY, startedNanos, activeGames, null, null);
+    }
+
+    void gameNotFound() {
+        gamesNotFound.incrementAndGet();
+    }
+
+    void gameAlreadyExists() {
+        gamesAlreadyExisting.incrementAndGet();
+    }
+
+    void replicationLag(long versions, long millis) {
+        replicationLagVersions = versions;
+        replicationLagMillis = millis;
+    }
+
+    void staleUpdate() {
+        staleUpdates.incrementAndGet();
+    }
+
+    private void slow(Operation operation, long elapsed, int activeGames, String homeTeam, String awayTeam) {
+        slowOperations.incrementAndGet();
+        SlowOperationEvent event = new SlowOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation.name();
+            event.homeTeam = homeTeam;
+            event.awayTeam = awayTeam;
+            event.elapsed = elapsed;
+            event.activeGames = activeGames;
+            event.commit();
+        }
+    }
+}
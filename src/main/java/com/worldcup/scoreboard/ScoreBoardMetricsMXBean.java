@@ -0,0 +1,35 @@
+package com.worldcup.scoreboard;
+
+import java.util.Map;
+
+/**
+ * What {@link ScoreBoardMetrics} shows over JMX once it's registered with an MBean server.
+ */
+public interface ScoreBoardMetricsMXBean {
+
+    /**
+     * Latencies per operation, keyed by the {@link ScoreBoardMetrics.Operation} name.
+     */
+    Map<String, LatencySummary> getLatencies();
+
+    long getActiveGames();
+
+    /**
+     * Number of games in the last summary or page that was handed out.
+     */
+    long getLastSummarySize();
+
+    long getGameNotFoundCount();
+
+    long getGameAlreadyExistsCount();
+
+    long getStaleUpdateCount();
+
+    long getReplicationLagVersions();
+
+    long getReplicationLagMillis();
+
+    long getSlowOperationCount();
+
+    long getSlowOperationThresholdNanos();
+}
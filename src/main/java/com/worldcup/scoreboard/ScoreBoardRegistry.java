@@ -0,0 +1,201 @@
+package com.worldcup.scoreboard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hosts one {@link LiveScoreBoard} per competition (World Cup, qualifiers, youth leagues, ...)
+ * in one JVM.
+ * <p>
+ * The boards share what they can: one team registry, so "Brazil" is stored and hashed once
+ * however many competitions it plays in, and one sequence, so games on different boards can be
+ * ranked against each other. Each board keeps only a short change log, which is most of what an
+ * empty standalone board costs, so thousands of them stay cheap. The flip side is that
+ * {@link LiveScoreBoard#getSummarySince(long)} falls back to a full delta sooner.
+ * <p>
+ * Boards are created the first time they're asked for. {@link #evictIdle()} drops boards that
+ * have no games running and haven't changed for the idle timeout; boards with games running are
+ * always kept, since dropping them would lose the scores.
+ * <p>
+ * Like the boards themselves, the registry isn't thread-safe: use it and its boards from one
+ * thread, or under one lock.
+ */
+public final class ScoreBoardRegistry {
+
+    static final int CHANGE_LOG_CAPACITY = 64;
+
+    private final TeamRegistry teams = new TeamRegistry();
+    private final Map<String, Hosted> boards = new HashMap<>();
+    private final Executor eventExecutor;
+    private final long idleMillis;
+    private final Clock clock;
+    private long nextSequence;
+
+    /**
+     * Evicts boards that have been idle for an hour.
+     */
+    public ScoreBoardRegistry() {
+        this(Duration.ofHours(1));
+    }
+
+    public ScoreBoardRegistry(Duration idleTimeout) {
+        this(idleTimeout, Clock.systemUTC(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param eventExecutor delivers the events of every hosted board
+     */
+    public ScoreBoardRegistry(Duration idleTimeout, Clock clock, Executor eventExecutor) {
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        if (eventExecutor == null) {
+            throw new IllegalArgumentException("Event executor cannot be null");
+        }
+        this.idleMillis = idleTimeout.toMillis();
+        this.clock = clock;
+        this.eventExecutor = eventExecutor;
+    }
+
+    /**
+     * Gets the competition's board, creating an empty one if there isn't one yet.
+     */
+    public LiveScoreBoard getBoard(String competition) {
+        validateCompetition(competition);
+        Hosted hosted = boards.get(competition);
+        if (hosted == null) {
+            LiveScoreBoard board = new LiveScoreBoard(eventExecutor, teams, () -> nextSequence++, CHANGE_LOG_CAPACITY);
+            hosted = new Hosted(board, clock.millis());
+            boards.put(competition, hosted);
+        } else {
+            hosted.lastActiveMillis = clock.millis();
+        }
+        return hosted.board;
+    }
+
+    /**
+     * Gets the competition's board if there is one, without creating it.
+     */
+    public Optional<LiveScoreBoard> findBoard(String competition) {
+        validateCompetition(competition);
+        Hosted hosted = boards.get(competition);
+        return hosted == null ? Optional.empty() : Optional.of(hosted.board);
+    }
+
+    /**
+     * Drops the competition's board, games and all. Returns false if there wasn't one.
+     */
+    public boolean removeBoard(String competition) {
+        validateCompetition(competition);
+        return boards.remove(competition) != null;
+    }
+
+    /**
+     * Drops every board that has no games running and hasn't been asked for or changed within
+     * the idle timeout. Call it every now and then, e.g. from the same timer that publishes the
+     * summaries. Changes are spotted by the board version, so boards that callers hold on to
+     * and update directly count as active too, from the call that first sees the change.
+     *
+     * @return how many boards were dropped
+     */
+    public int evictIdle() {
+        long now = clock.millis();
+        int evicted = 0;
+        for (Iterator<Hosted> iterator = boards.values().iterator(); iterator.hasNext(); ) {
+            Hosted hosted = iterator.next();
+            if (hosted.board.getVersion() != hosted.lastVersion) {
+                hosted.lastVersion = hosted.board.getVersion();
+                hosted.lastActiveMillis = now;
+            } else if (now - hosted.lastActiveMillis >= idleMillis && hosted.board.size() == 0) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * The top {@code n} games across all boards, in the usual summary order: total score first,
+     * then the most recently started. Every board is already sorted, so this merges the boards
+     * from the top and stops after {@code n} games; nobody's summary gets copied.
+     */
+    public List<CompetitionGame> getTopGames(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative");
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((cursor1, cursor2) ->
+                RankingIndex.compare(cursor1.entry, cursor2.entry));
+        for (Map.Entry<String, Hosted> board : boards.entrySet()) {
+            RankingIndex.Entry first = board.getValue().board.firstEntry();
+            if (first != null) {
+                heads.add(new Cursor(board.getKey(), first));
+            }
+        }
+        List<CompetitionGame> top = new ArrayList<>(Math.min(n, 1024));
+        while (top.size() < n && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            top.add(new CompetitionGame(cursor.competition, cursor.entry.getGame()));
+            cursor.entry = cursor.entry.getNext();
+            if (cursor.entry != null) {
+                heads.add(cursor);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * The team registry every hosted board shares, for the ID-based board methods.
+     */
+    public TeamRegistry getTeamRegistry() {
+        return teams;
+    }
+
+    /**
+     * Number of boards hosted right now.
+     */
+    public int size() {
+        return boards.size();
+    }
+
+    private static void validateCompetition(String competition) {
+        if (competition == null) {
+            throw new IllegalArgumentException("Competition cannot be null");
+        }
+        if (competition.trim().isEmpty()) {
+            throw new IllegalArgumentException("Competition cannot be empty");
+        }
+    }
+
+    private static final class Hosted {
+        private final LiveScoreBoard board;
+        private long lastVersion;
+        private long lastActiveMillis;
+
+        private Hosted(LiveScoreBoard board, long createdMillis) {
+            this.board = board;
+            this.lastActiveMillis = createdMillis;
+        }
+    }
+
+    private static final class Cursor {
+        private final String competition;
+        private RankingIndex.Entry entry;
+
+        private Cursor(String competition, RankingIndex.Entry entry) {
+            this.competition = competition;
+            this.entry = entry;
+        }
+    }
+}
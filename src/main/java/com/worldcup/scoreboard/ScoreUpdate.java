@@ -0,0 +1,7 @@
+package com.worldcup.scoreboard;
+
+/**
+ * One score change in a batch passed to {@link ScoreBoard#applyBatch(java.util.Collection)}.
+ */
+public record ScoreUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+}
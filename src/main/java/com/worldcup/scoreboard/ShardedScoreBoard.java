@@ -0,0 +1,398 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Thread-safe scoreboard that splits its games over a number of shards, so feed threads working
+ * on different shards never wait for each other.
+ * <p>
+ * Each shard is a small ordered board of its own behind its own lock. Which shard a game lives
+ * on is up to the {@link Partitioner}: by default the team names are hashed, but routing e.g.
+ * every game of one competition to the same shard works just as well. Games on all shards draw
+ * from one shared sequence, so ties are broken the same way they would be on a single board.
+ * <p>
+ * The summary copies each shard's games in order and merges the shards with a k-way merge.
+ * It's consistent within each shard; a batch that spans several shards can show up half-applied
+ * if it lands while the summary is being put together.
+ */
+public class ShardedScoreBoard implements ScoreBoard {
+
+    /**
+     * Picks the shard for a game. Any int will do; it's taken modulo the number of shards.
+     * Has to give the same answer every time for the same two teams.
+     */
+    @FunctionalInterface
+    public interface Partitioner {
+        int shardOf(String homeTeam, String awayTeam);
+    }
+
+    private final Shard[] shards;
+    private final Partitioner partitioner;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * One shard per available processor, games spread by hashing the team names.
+     */
+    public ShardedScoreBoard() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedScoreBoard(int shardCount) {
+        this(shardCount, ShardedScoreBoard::hashTeams);
+    }
+
+    public ShardedScoreBoard(int shardCount, Partitioner partitioner) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (partitioner == null) {
+            throw new IllegalArgumentException("Partitioner cannot be null");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        this.partitioner = partitioner;
+    }
+
+    @Override
+    public void startGame(String homeTeam, String awayTeam) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        Shard shard = shardOf(homeTeam, awayTeam);
+        shard.lock.lock();
+        try {
+            if (shard.find(homeTeam, awayTeam) != null) {
+                throw new GameAlreadyExistsException(homeTeam, awayTeam);
+            }
+            shard.add(new Game(homeTeam, awayTeam), nextSequence.getAndIncrement());
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateScore(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        Shard shard = shardOf(homeTeam, awayTeam);
+        shard.lock.lock();
+        try {
+            RankingIndex.Entry entry = shard.find(homeTeam, awayTeam);
+            if (entry == null) {
+                throw new GameNotFoundException(homeTeam, awayTeam);
+            }
+            entry.getGame().updateScore(homeScore, awayScore);
+            shard.ranking.reorder(entry);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void finishGame(String homeTeam, String awayTeam) {
+        validateTeamNames(homeTeam, awayTeam);
+
+        Shard shard = shardOf(homeTeam, awayTeam);
+        shard.lock.lock();
+        try {
+            RankingIndex.Entry entry = shard.find(homeTeam, awayTeam);
+            if (entry == null) {
+                throw new GameNotFoundException(homeTeam, awayTeam);
+            }
+            shard.remove(entry);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * All-or-nothing. Every shard the batch touches is locked for the whole batch, always in the
+     * same order, so two batches can't deadlock.
+     */
+    @Override
+    public void startGames(Collection<Fixture> fixtures) {
+        List<Fixture> batch = List.copyOf(fixtures);
+        for (Fixture fixture : batch) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+        }
+
+        Shard[] targets = shardsOf(batch.size(), i -> shardIndexOf(batch.get(i).homeTeam(), batch.get(i).awayTeam()));
+        boolean[] locked = lockAll(targets);
+        try {
+            Set<Fixture> seen = new HashSet<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Fixture fixture = batch.get(i);
+                if (!seen.add(fixture) || targets[i].find(fixture.homeTeam(), fixture.awayTeam()) != null) {
+                    throw new GameAlreadyExistsException(fixture.homeTeam(), fixture.awayTeam());
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                targets[i].add(new Game(batch.get(i).homeTeam(), batch.get(i).awayTeam()), nextSequence.getAndIncrement());
+            }
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * Every game is looked up and every score checked before anything is written, with all
+     * the shards involved locked, so the batch lands completely or not at all.
+     */
+    @Override
+    public void applyBatch(Collection<ScoreUpdate> updates) {
+        List<ScoreUpdate> batch = List.copyOf(updates);
+        for (ScoreUpdate update : batch) {
+            validateTeamNames(update.homeTeam(), update.awayTeam());
+            validateScores(update.homeScore(), update.awayScore());
+        }
+
+        Shard[] targets = shardsOf(batch.size(), i -> shardIndexOf(batch.get(i).homeTeam(), batch.get(i).awayTeam()));
+        boolean[] locked = lockAll(targets);
+        try {
+            RankingIndex.Entry[] entries = new RankingIndex.Entry[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                ScoreUpdate update = batch.get(i);
+                entries[i] = targets[i].find(update.homeTeam(), update.awayTeam());
+                if (entries[i] == null) {
+                    throw new GameNotFoundException(update.homeTeam(), update.awayTeam());
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                entries[i].getGame().updateScore(batch.get(i).homeScore(), batch.get(i).awayScore());
+                targets[i].ranking.reorder(entries[i]);
+            }
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    @Override
+    public void finishGames(Collection<Fixture> fixtures) {
+        List<Fixture> batch = List.copyOf(fixtures);
+        for (Fixture fixture : batch) {
+            validateTeamNames(fixture.homeTeam(), fixture.awayTeam());
+        }
+
+        Shard[] targets = shardsOf(batch.size(), i -> shardIndexOf(batch.get(i).homeTeam(), batch.get(i).awayTeam()));
+        boolean[] locked = lockAll(targets);
+        try {
+            Set<Fixture> seen = new HashSet<>();
+            RankingIndex.Entry[] entries = new RankingIndex.Entry[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Fixture fixture = batch.get(i);
+                entries[i] = targets[i].find(fixture.homeTeam(), fixture.awayTeam());
+                if (!seen.add(fixture) || entries[i] == null) {
+                    throw new GameNotFoundException(fixture.homeTeam(), fixture.awayTeam());
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                targets[i].remove(entries[i]);
+            }
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * Returns detached copies of the games, so later updates don't change the list
+     * you're holding.
+     */
+    @Override
+    public List<Game> getSummary() {
+        return merge(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Game> getTopGames(int n) {
+        return getSummary(0, n);
+    }
+
+    /**
+     * Each shard only hands over its top {@code offset + limit} games, so a small page stays
+     * cheap however big the board is.
+     */
+    @Override
+    public List<Game> getSummary(int offset, int limit) {
+        validatePage(offset, limit);
+        return merge(offset, (int) Math.min((long) offset + limit, Integer.MAX_VALUE));
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Takes each shard's top {@code wanted} games in order, then repeatedly picks the best head
+     * among the shards. The heap only ever holds one cursor per shard.
+     */
+    private List<Game> merge(int offset, int wanted) {
+        List<List<RankedGame>> shardViews = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            shardViews.add(shard.top(wanted));
+        }
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(shards.length,
+                (cursor1, cursor2) -> RankedGame.SUMMARY_ORDER.compare(cursor1.head(), cursor2.head()));
+        int total = 0;
+        for (List<RankedGame> view : shardViews) {
+            if (!view.isEmpty()) {
+                heads.add(new Cursor(view));
+                total += view.size();
+            }
+        }
+
+        List<Game> summary = new ArrayList<>(Math.max(0, Math.min(total, wanted) - offset));
+        for (int position = 0; position < wanted && !heads.isEmpty(); position++) {
+            Cursor cursor = heads.poll();
+            if (position >= offset) {
+                summary.add(cursor.head().getGame());
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return summary;
+    }
+
+    private Shard shardOf(String homeTeam, String awayTeam) {
+        return shards[shardIndexOf(homeTeam, awayTeam)];
+    }
+
+    private int shardIndexOf(String homeTeam, String awayTeam) {
+        return Math.floorMod(partitioner.shardOf(homeTeam, awayTeam), shards.length);
+    }
+
+    private Shard[] shardsOf(int size, IntUnaryOperator shardIndexOf) {
+        Shard[] targets = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            targets[i] = shards[shardIndexOf.applyAsInt(i)];
+        }
+        return targets;
+    }
+
+    /**
+     * Locks go in shard order, whatever order the batch touches them in.
+     */
+    private boolean[] lockAll(Shard[] targets) {
+        boolean[] touched = new boolean[shards.length];
+        for (Shard target : targets) {
+            touched[target.index] = true;
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (touched[i]) {
+                shards[i].lock.lock();
+            }
+        }
+        return touched;
+    }
+
+    private void unlockAll(boolean[] touched) {
+        for (int i = shards.length - 1; i >= 0; i--) {
+            if (touched[i]) {
+                shards[i].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Mixes the two names' hash codes, so games between similarly named teams still spread out.
+     */
+    private static int hashTeams(String homeTeam, String awayTeam) {
+        int hash = homeTeam.hashCode() * 31 + awayTeam.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private void validateScores(int homeScore, int awayScore) {
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+    }
+
+    private void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
+    private void validateTeamNames(String homeTeam, String awayTeam) {
+        if (homeTeam == null || awayTeam == null) {
+            throw new IllegalArgumentException("Team names cannot be null");
+        }
+        if (homeTeam.trim().isEmpty() || awayTeam.trim().isEmpty()) {
+            throw new IllegalArgumentException("Team names cannot be empty");
+        }
+    }
+
+    /**
+     * One partition of the board: its games keyed by team IDs, kept in summary order.
+     * Everything in here has to be called with the lock held.
+     */
+    private static final class Shard {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TeamRegistry teams = new TeamRegistry();
+        private final LongObjectMap<RankingIndex.Entry> games = new LongObjectMap<>();
+        private final RankingIndex ranking = new RankingIndex();
+
+        private Shard(int index) {
+            this.index = index;
+        }
+
+        private RankingIndex.Entry find(String homeTeam, String awayTeam) {
+            return games.get(TeamRegistry.gameKey(teams.idOf(homeTeam), teams.idOf(awayTeam)));
+        }
+
+        private void add(Game game, long sequence) {
+            long gameKey = TeamRegistry.gameKey(teams.register(game.getHomeTeam()), teams.register(game.getAwayTeam()));
+            games.put(gameKey, ranking.add(game, gameKey, sequence));
+        }
+
+        private void remove(RankingIndex.Entry entry) {
+            games.remove(entry.getGameKey());
+            ranking.remove(entry);
+        }
+
+        private List<RankedGame> top(int limit) {
+            lock.lock();
+            try {
+                List<RankedGame> top = new ArrayList<>(Math.min(limit, ranking.size()));
+                ranking.forEach(limit, entry -> top.add(new RankedGame(entry.getGame().copy(), entry.getSequence())));
+                return top;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Cursor {
+        private final List<RankedGame> view;
+        private int next;
+
+        private Cursor(List<RankedGame> view) {
+            this.view = view;
+        }
+
+        private RankedGame head() {
+            return view.get(next);
+        }
+
+        private boolean advance() {
+            return ++next < view.size();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.worldcup.scoreboard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a board operation that took longer than the metrics' slow
+ * threshold. Only committed while a recording has it enabled.
+ */
+@Name("com.worldcup.scoreboard.SlowOperation")
+@Label("Slow Score Board Operation")
+@Category({"World Cup", "Score Board"})
+@Description("A score board operation that took longer than the configured threshold")
+final class SlowOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Home Team")
+    String homeTeam;
+
+    @Label("Away Team")
+    String awayTeam;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Active Games")
+    int activeGames;
+}
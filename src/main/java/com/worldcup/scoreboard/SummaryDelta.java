@@ -0,0 +1,105 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What changed in the summary between two board versions.
+ * <p>
+ * {@link #getChanged()} holds every game that was started or re-scored since the older
+ * version, each with its new position in the summary. {@link #getRemoved()} holds the games
+ * that were finished. Games not mentioned kept their scores, so they also kept their order
+ * relative to each other; they may just have shifted to make room.
+ * <p>
+ * When the board no longer remembers that far back, the delta is a full one: it lists every
+ * game on the board and the old list should be thrown away. {@link #applyTo(List)} deals with
+ * both cases.
+ */
+public final class SummaryDelta {
+
+    private final long fromVersion;
+    private final long toVersion;
+    private final boolean full;
+    private final List<Change> changed;
+    private final List<Fixture> removed;
+
+    SummaryDelta(long fromVersion, long toVersion, boolean full, List<Change> changed, List<Fixture> removed) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.full = full;
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    /**
+     * The board version this delta brings you up to.
+     */
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * True when this delta is the whole summary rather than the changes since {@link #getFromVersion()}.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Started and re-scored games, sorted by their new position.
+     */
+    public List<Change> getChanged() {
+        return changed;
+    }
+
+    public List<Fixture> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return !full && changed.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Takes the summary as it was at {@link #getFromVersion()} and returns it as it is at
+     * {@link #getToVersion()}.
+     */
+    public List<GameView> applyTo(List<GameView> previous) {
+        List<GameView> summary = new ArrayList<>(previous.size() + changed.size());
+        if (!full) {
+            Set<Fixture> gone = new HashSet<>(removed);
+            for (Change change : changed) {
+                gone.add(new Fixture(change.game().homeTeam(), change.game().awayTeam()));
+            }
+            for (GameView game : previous) {
+                if (!gone.contains(new Fixture(game.homeTeam(), game.awayTeam()))) {
+                    summary.add(game);
+                }
+            }
+        }
+        // Positions go up, so every game before the one being placed is already where it belongs
+        for (Change change : changed) {
+            summary.add(change.position(), change.game());
+        }
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        return "SummaryDelta{from=" + fromVersion + ", to=" + toVersion + ", full=" + full
+                + ", changed=" + changed + ", removed=" + removed + "}";
+    }
+
+    /**
+     * A game that was started or re-scored, and where it sits in the summary now.
+     */
+    public record Change(GameView game, int position) {
+    }
+}
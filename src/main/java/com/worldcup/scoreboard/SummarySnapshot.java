@@ -0,0 +1,41 @@
+package com.worldcup.scoreboard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable, already sorted copy of the summary, stamped with the board version it was
+ * taken at. Every change to the board bumps the version, so two snapshots with the same
+ * version always hold the same games and scores.
+ */
+public final class SummarySnapshot {
+
+    private final long version;
+    private final List<GameView> games;
+
+    SummarySnapshot(long version, GameView[] games) {
+        this.version = version;
+        this.games = Collections.unmodifiableList(Arrays.asList(games));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The games in summary order. The list is read-only and is the same instance on every call.
+     */
+    public List<GameView> getGames() {
+        return games;
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    @Override
+    public String toString() {
+        return "SummarySnapshot{version=" + version + ", games=" + games + "}";
+    }
+}
@@ -0,0 +1,72 @@
+package com.worldcup.scoreboard;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How eagerly a {@link Journal} pushes its records to disk. The trade-off is always the same:
+ * the longer records are allowed to wait, the cheaper each change is, and the more changes a
+ * crash can take with it.
+ */
+public final class SyncPolicy {
+
+    private final int maxPendingChanges;
+    private final Duration maxDelay;
+    private final boolean fsync;
+
+    private SyncPolicy(int maxPendingChanges, Duration maxDelay, boolean fsync) {
+        this.maxPendingChanges = maxPendingChanges;
+        this.maxDelay = maxDelay;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Every change is written and forced to disk before the board call returns.
+     * Nothing is ever lost, and every change pays for a full fsync.
+     */
+    public static SyncPolicy everyChange() {
+        return new SyncPolicy(1, Duration.ZERO, true);
+    }
+
+    /**
+     * Changes are collected and forced to disk together, once {@code maxPendingChanges} have
+     * piled up or the oldest of them has waited {@code maxDelay}, whichever comes first.
+     * A crash loses at most that many changes.
+     */
+    public static SyncPolicy groupCommit(int maxPendingChanges, Duration maxDelay) {
+        if (maxPendingChanges <= 0) {
+            throw new IllegalArgumentException("Max pending changes must be positive");
+        }
+        Objects.requireNonNull(maxDelay, "Max delay cannot be null");
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("Max delay must be positive");
+        }
+        return new SyncPolicy(maxPendingChanges, maxDelay, true);
+    }
+
+    /**
+     * Each change is handed to the operating system with one write as soon as it's made, and
+     * nothing is forced to disk until the journal is closed. Survives the process dying, but
+     * not the machine. Costs a system call per change, which is still far cheaper than an fsync.
+     */
+    public static SyncPolicy osBuffered() {
+        return new SyncPolicy(Integer.MAX_VALUE, Duration.ZERO, false);
+    }
+
+    int getMaxPendingChanges() {
+        return maxPendingChanges;
+    }
+
+    Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    boolean isFsync() {
+        return fsync;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncPolicy{maxPendingChanges=" + maxPendingChanges + ", maxDelay=" + maxDelay + ", fsync=" + fsync + "}";
+    }
+}
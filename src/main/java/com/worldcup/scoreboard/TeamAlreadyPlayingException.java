@@ -0,0 +1,13 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Thrown when a board that allows one game per team is asked to start a game for a team that's
+ * already playing. It's a kind of {@link GameAlreadyExistsException}, so code that handles
+ * clashing games handles this too.
+ */
+public class TeamAlreadyPlayingException extends GameAlreadyExistsException {
+
+    public TeamAlreadyPlayingException(String team) {
+        super(String.format("%s is already playing", team));
+    }
+}
@@ -0,0 +1,65 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Which games each team is playing right now, by team ID. A team is normally in one game at a
+ * time, so every playing team maps to a tiny array of its games, oldest first, and teams that
+ * aren't playing take no room at all. That keeps it small on boards that share one big
+ * {@link TeamRegistry} with many others.
+ */
+final class TeamIndex {
+
+    private final LongObjectMap<RankingIndex.Entry[]> gamesByTeam = new LongObjectMap<>();
+
+    void add(RankingIndex.Entry entry) {
+        add(TeamRegistry.homeTeamId(entry.getGameKey()), entry);
+        add(TeamRegistry.awayTeamId(entry.getGameKey()), entry);
+    }
+
+    void remove(RankingIndex.Entry entry) {
+        remove(TeamRegistry.homeTeamId(entry.getGameKey()), entry);
+        remove(TeamRegistry.awayTeamId(entry.getGameKey()), entry);
+    }
+
+    boolean isPlaying(int teamId) {
+        return gamesByTeam.containsKey(teamId);
+    }
+
+    /**
+     * The game the team started last, or null if it isn't playing.
+     */
+    RankingIndex.Entry latestGameOf(int teamId) {
+        RankingIndex.Entry[] games = gamesByTeam.get(teamId);
+        return games == null ? null : games[games.length - 1];
+    }
+
+    private void add(int teamId, RankingIndex.Entry entry) {
+        RankingIndex.Entry[] games = gamesByTeam.get(teamId);
+        if (games == null) {
+            gamesByTeam.put(teamId, new RankingIndex.Entry[]{entry});
+            return;
+        }
+        RankingIndex.Entry[] grown = new RankingIndex.Entry[games.length + 1];
+        System.arraycopy(games, 0, grown, 0, games.length);
+        grown[games.length] = entry;
+        gamesByTeam.put(teamId, grown);
+    }
+
+    private void remove(int teamId, RankingIndex.Entry entry) {
+        RankingIndex.Entry[] games = gamesByTeam.get(teamId);
+        for (int i = 0; games != null && i < games.length; i++) {
+            if (games[i] == entry) {
+                if (games.length == 1) {
+                    gamesByTeam.remove(teamId);
+                    return;
+                }
+                // Keep the order, so the last one is still the latest game
+                RankingIndex.Entry[] shrunk = new RankingIndex.Entry[games.length - 1];
+                System.arraycopy(games, 0, shrunk, 0, i);
+                System.arraycopy(games, i + 1, shrunk, i, games.length - i - 1);
+                gamesByTeam.put(teamId, shrunk);
+                return;
+            }
+        }
+        throw new IllegalStateException("Team " + teamId + " isn't playing game " + entry.getGameKey());
+    }
+}
@@ -0,0 +1,80 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives every team name a small int ID the first time the board sees it. IDs are dense
+ * (0, 1, 2, ...) and never change or get reused, so callers can look a team up once and then
+ * use the ID-based board methods, which don't need to hash or build any strings.
+ */
+public final class TeamRegistry {
+
+    /**
+     * Returned by {@link #idOf(String)} for a team the board has never seen.
+     */
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids;
+    private final List<String> names;
+
+    TeamRegistry() {
+        this(16);
+    }
+
+    /**
+     * Sized up front, for when we already know how many teams are coming (e.g. a checkpoint).
+     */
+    TeamRegistry(int expectedTeams) {
+        this.ids = new HashMap<>((int) (expectedTeams / 0.75f) + 1);
+        this.names = new ArrayList<>(expectedTeams);
+    }
+
+    int register(String teamName) {
+        Integer id = ids.get(teamName);
+        if (id != null) {
+            return id;
+        }
+        int newId = names.size();
+        names.add(teamName);
+        ids.put(teamName, newId);
+        return newId;
+    }
+
+    public int idOf(String teamName) {
+        Integer id = ids.get(teamName);
+        return id == null ? UNKNOWN : id;
+    }
+
+    public String nameOf(int teamId) {
+        if (!contains(teamId)) {
+            throw new IllegalArgumentException("Unknown team id: " + teamId);
+        }
+        return names.get(teamId);
+    }
+
+    public boolean contains(int teamId) {
+        return teamId >= 0 && teamId < names.size();
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Both team IDs packed into one long, which is how the board keys its games.
+     */
+    static long gameKey(int homeTeamId, int awayTeamId) {
+        return ((long) homeTeamId << 32) | (awayTeamId & 0xFFFFFFFFL);
+    }
+
+    static int homeTeamId(long gameKey) {
+        return (int) (gameKey >>> 32);
+    }
+
+    static int awayTeamId(long gameKey) {
+        return (int) gameKey;
+    }
+}
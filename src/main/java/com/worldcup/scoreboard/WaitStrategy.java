@@ -0,0 +1,27 @@
+package com.worldcup.scoreboard;
+
+/**
+ * What the writer thread of an {@link AsyncScoreBoard} does when there are no commands, and what
+ * callers do when the ring is full. Spinning answers fastest and burns a core while idle;
+ * blocking is the other way round.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin on the CPU. Lowest latency, one core busy all the time. Only worth it with a core to
+     * spare for the writer.
+     */
+    BUSY_SPIN,
+
+    /**
+     * Spin a little, then keep yielding the CPU to other threads. Low latency when busy, and
+     * gives way to other work when idle, but still shows up as a busy thread.
+     */
+    YIELDING,
+
+    /**
+     * Park until a command arrives. Costs nothing while idle, and each wake-up adds the few
+     * microseconds it takes the OS to reschedule the writer.
+     */
+    BLOCKING
+}
@@ -0,0 +1,292 @@
+package com.worldcup.scoreboard.http;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.worldcup.scoreboard.LiveScoreBoard;
+import com.worldcup.scoreboard.RenderedSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves a board's summary over HTTP, using nothing but the JDK's built-in
+ * {@code com.sun.net.httpserver}.
+ * <ul>
+ *     <li>{@code GET /summary} returns the summary as JSON, or as plain text with
+ *     {@code ?format=text} or {@code Accept: text/plain}. The ETag is the board version, so a
+ *     client that sends it back in {@code If-None-Match} gets an empty 304 until the board
+ *     changes.</li>
+ *     <li>{@code GET /events} is a Server-Sent Events stream. Each client gets the current summary
+ *     on connect (unless its {@code Last-Event-ID} is already the current version) and then
+ *     every newly published one, as a {@code summary} event whose ID is the board version.</li>
+ * </ul>
+ * The server never touches the board itself, because the board isn't thread-safe. Whoever owns
+ * the board calls {@link #publish(RenderedSummary)} on the board's thread, after each change or
+ * on a timer. Publishing renders nothing new: the summary bytes are made once per version by the
+ * board and shared by every request and every stream.
+ * <p>
+ * Event streams don't hold a thread while they wait. A push is a short task on the executor per
+ * client, and a client that falls behind skips straight to the newest summary. On Java 21 and
+ * later, pass {@code Executors.newVirtualThreadPerTaskExecutor()}, so thousands of slow clients
+ * cost thousands of virtual threads at most.
+ */
+public final class ScoreBoardHttpServer implements AutoCloseable {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    static {
+        // The JDK server sends the headers and the body in separate writes, so with Nagle on every
+        // small response waits out the client's delayed ACK (about 40 ms on Linux). This has to be
+        // set before the first HttpServer is created, and it's only a default: -D still wins.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final Executor executor;
+    private final Set<EventStream> streams = ConcurrentHashMap.newKeySet();
+    private volatile Published current;
+
+    /**
+     * Starts serving {@code initial} right away. Pass port 0 to pick any free port.
+     *
+     * @param executor runs the request handlers and the pushes to event streams
+     */
+    public ScoreBoardHttpServer(InetSocketAddress address, RenderedSummary initial, Executor executor) throws IOException {
+        Objects.requireNonNull(initial, "Initial summary cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        this.executor = executor;
+        this.current = new Published(initial);
+        this.server = HttpServer.create(address, 1024);
+        server.setExecutor(executor);
+        server.createContext("/summary", this::serveSummary);
+        server.createContext("/events", this::openEventStream);
+        server.start();
+    }
+
+    /**
+     * Makes {@code summary} the one served from now on and pushes it to every event stream.
+     * Older versions than the one already published are ignored. Typically called with
+     * {@link LiveScoreBoard#getRenderedSummary()}.
+     */
+    public void publish(RenderedSummary summary) {
+        Published published = current;
+        if (summary.getVersion() <= published.version) {
+            return;
+        }
+        published = new Published(summary);
+        current = published;
+        for (EventStream stream : streams) {
+            stream.offer(published);
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Number of clients connected to {@code /events}.
+     */
+    public int getEventStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Closes every event stream and stops the server. The executor is left running.
+     */
+    @Override
+    public void close() {
+        for (EventStream stream : streams) {
+            stream.close();
+        }
+        server.stop(0);
+    }
+
+    private void serveSummary(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // The JDK server drops the connection after a response without a body (304, HEAD,
+            // 405) unless the request body was read to the end, even when there isn't one
+            exchange.getRequestBody().close();
+            if (!isGet(exchange)) {
+                return;
+            }
+            Published published = current;
+            boolean text = wantsText(exchange);
+            String etag = "\"" + published.version + (text ? "-text\"" : "-json\"");
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", etag);
+            headers.set("Cache-Control", "no-cache");
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = text ? published.text : published.json;
+            headers.set("Content-Type", text ? TEXT : JSON);
+            boolean head = exchange.getRequestMethod().equals("HEAD");
+            exchange.sendResponseHeaders(200, head ? -1 : body.length);
+            if (!head) {
+                exchange.getResponseBody().write(body);
+            }
+        }
+    }
+
+    /**
+     * The exchange is left open when this returns; the stream owns it from here on.
+     */
+    private void openEventStream(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().close();
+        if (!isGet(exchange)) {
+            exchange.close();
+            return;
+        }
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "text/event-stream; charset=utf-8");
+        headers.set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        EventStream stream = new EventStream(exchange);
+        String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        if (lastEventId != null) {
+            try {
+                stream.sentVersion = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Not one of ours, so send everything
+            }
+        }
+        streams.add(stream);
+        stream.offer(current);
+    }
+
+    private static boolean isGet(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (method.equals("GET") || method.equals("HEAD")) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        exchange.sendResponseHeaders(405, -1);
+        return false;
+    }
+
+    private static boolean wantsText(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.equals("format=text")) {
+                    return true;
+                }
+                if (parameter.equals("format=json")) {
+                    return false;
+                }
+            }
+        }
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && accept.startsWith("text/plain");
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] bytesOf(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * A summary with its bytes copied out once, ready for the exchange output streams.
+     */
+    private static final class Published {
+        private final long version;
+        private final byte[] json;
+        private final byte[] text;
+        private final byte[] event;
+
+        private Published(RenderedSummary summary) {
+            this.version = summary.getVersion();
+            this.json = bytesOf(summary.getJson());
+            this.text = bytesOf(summary.getText());
+            byte[] prefix = ("id: " + version + "\nevent: summary\ndata: ").getBytes(StandardCharsets.US_ASCII);
+            // The JSON has no raw line breaks (they're escaped inside strings), so it fits on one data line
+            this.event = new byte[prefix.length + json.length + 2];
+            System.arraycopy(prefix, 0, event, 0, prefix.length);
+            System.arraycopy(json, 0, event, prefix.length, json.length);
+            event[event.length - 2] = '\n';
+            event[event.length - 1] = '\n';
+        }
+    }
+
+    /**
+     * One connected {@code /events} client. At most one push task per client is queued or
+     * running; offers that arrive meanwhile only replace the summary it will send next.
+     */
+    private final class EventStream {
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private final AtomicReference<Published> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Only touched by the push task, which never runs twice at once for the same stream
+        private long sentVersion = -1;
+
+        private EventStream(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.out = exchange.getResponseBody();
+        }
+
+        private void offer(Published published) {
+            // A late offer of an older summary, e.g. the one read while a newer one was being
+            // published, must not replace the newer one
+            pending.accumulateAndGet(published, (queued, offered) ->
+                    queued == null || offered.version > queued.version ? offered : queued);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::push);
+            }
+        }
+
+        private void push() {
+            try {
+                while (true) {
+                    Published published = pending.getAndSet(null);
+                    if (published != null && published.version > sentVersion) {
+                        out.write(published.event);
+                        out.flush();
+                        sentVersion = published.version;
+                    }
+                    scheduled.set(false);
+                    if (pending.get() == null || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            streams.remove(this);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncScoreBoardTest {
+
+    @Test
+    @DisplayName("Should run commands in order and fail the futures of bad ones")
+    void shouldRunCommandsInOrderAndFailTheFuturesOfBadOnes() {
+        try (AsyncScoreBoard board = new AsyncScoreBoard(new LiveScoreBoard())) {
+            board.startGame("Mexico", "Canada");
+            board.startGame("Spain", "Brazil");
+            board.updateScore("Mexico", "Canada", 0, 5);
+            board.updateScore("Spain", "Brazil", 10, 2);
+            CompletableFuture<Void> missing = board.updateScore("Germany", "France", 2, 2);
+            CompletableFuture<Void> negative = board.updateScore("Spain", "Brazil", -1, 2);
+            CompletableFuture<SummarySnapshot> summary = board.getSummary();
+
+            assertEquals("[Spain 10 - Brazil 2, Mexico 0 - Canada 5]", summary.join().getGames().toString());
+            CompletionException notFound = assertThrows(CompletionException.class, missing::join);
+            assertInstanceOf(GameNotFoundException.class, notFound.getCause());
+            assertInstanceOf(IllegalArgumentException.class, assertThrows(CompletionException.class, negative::join).getCause());
+            assertSame(summary.join(), board.getSummary().join());
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply every command from many threads through a small ring")
+    void shouldApplyEveryCommandFromManyThreadsThroughASmallRing() throws Exception {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            // On one core a spinning writer and spinning callers only hand over when the OS
+            // preempts them, which turns a second into minutes
+            if (waitStrategy != WaitStrategy.BUSY_SPIN || Runtime.getRuntime().availableProcessors() >= 2) {
+                applyFromManyThreads(waitStrategy);
+            }
+        }
+    }
+
+    private static void applyFromManyThreads(WaitStrategy waitStrategy) throws Exception {
+        int threads = 4;
+        int updates = 500;
+        try (AsyncScoreBoard board = new AsyncScoreBoard(new LiveScoreBoard(), 8, waitStrategy)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> feeds = new ArrayList<>();
+            List<CompletableFuture<Void>> last = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                String home = "Home" + thread;
+                String away = "Away" + thread;
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                last.add(done);
+                feeds.add(new Thread(() -> {
+                    try {
+                        start.await();
+                        board.startGame(home, away);
+                        for (int goals = 1; goals < updates; goals++) {
+                            board.updateScore(home, away, goals, 0);
+                        }
+                        board.updateScore(home, away, updates, 0).whenComplete((ignored, failure) -> done.complete(null));
+                    } catch (InterruptedException e) {
+                        done.completeExceptionally(e);
+                    }
+                }));
+            }
+            feeds.forEach(Thread::start);
+            start.countDown();
+            for (Thread feed : feeds) {
+                feed.join();
+            }
+            CompletableFuture.allOf(last.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+            List<GameView> games = board.getSummary().join().getGames();
+            assertEquals(threads, games.size());
+            for (GameView game : games) {
+                assertEquals(updates, game.homeScore(), waitStrategy + ": " + game);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should finish queued commands on close and refuse new ones")
+    void shouldFinishQueuedCommandsOnCloseAndRefuseNewOnes() {
+        LiveScoreBoard liveBoard = new LiveScoreBoard();
+        AsyncScoreBoard board = new AsyncScoreBoard(liveBoard, 16, WaitStrategy.YIELDING);
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        queued.add(board.startGame("Brazil", "Argentina"));
+        for (int goals = 1; goals <= 100; goals++) {
+            queued.add(board.updateScore("Brazil", "Argentina", goals, 0));
+        }
+
+        board.close();
+
+        queued.forEach(future -> assertTrue(future.isDone() && !future.isCompletedExceptionally()));
+        assertEquals("Brazil 100 - Argentina 0", liveBoard.getSummary().get(0).toString());
+        CompletionException closed = assertThrows(CompletionException.class, () -> board.finishGame("Brazil", "Argentina").join());
+        assertInstanceOf(IllegalStateException.class, closed.getCause());
+    }
+
+    @Test
+    @DisplayName("Should complete every future when closed while callers are still submitting")
+    void shouldCompleteEveryFutureWhenClosedWhileCallersAreStillSubmitting() throws Exception {
+        // The race is between a caller claiming a slot and the writer leaving, so try it often
+        for (int round = 0; round < 100; round++) {
+            WaitStrategy waitStrategy = round % 2 == 0 ? WaitStrategy.BLOCKING : WaitStrategy.YIELDING;
+            AsyncScoreBoard board = new AsyncScoreBoard(new LiveScoreBoard(), 1, waitStrategy);
+            board.startGame("Brazil", "Argentina").join();
+            List<CompletableFuture<Void>> submitted = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> callers = new ArrayList<>();
+            CountDownLatch started = new CountDownLatch(8);
+            for (int thread = 0; thread < 8; thread++) {
+                callers.add(new Thread(() -> {
+                    started.countDown();
+                    for (int goals = 1; goals <= 200; goals++) {
+                        submitted.add(board.updateScore("Brazil", "Argentina", goals, 0));
+                    }
+                }));
+            }
+            callers.forEach(Thread::start);
+            started.await();
+
+            board.close();
+
+            for (Thread caller : callers) {
+                caller.join(10_000);
+                assertFalse(caller.isAlive(), waitStrategy + ": a caller is still waiting for the ring");
+            }
+            for (CompletableFuture<Void> future : submitted) {
+                assertTrue(future.isDone(), waitStrategy + ": a future was never completed");
+                if (future.isCompletedExceptionally()) {
+                    CompletionException failure = assertThrows(CompletionException.class, future::join);
+                    assertInstanceOf(IllegalStateException.class, failure.getCause());
+                }
+            }
+        }
+    }
+}
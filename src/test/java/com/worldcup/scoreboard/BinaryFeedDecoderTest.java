@@ -0,0 +1,157 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BinaryFeedDecoderTest {
+
+    private LiveScoreBoard scoreBoard;
+    private BinaryFeedDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new LiveScoreBoard();
+        decoder = new BinaryFeedDecoder(scoreBoard);
+    }
+
+    @Test
+    @DisplayName("Should create exact example from requirements")
+    void shouldCreateExactExampleFromRequirements() throws IOException {
+        ByteBuffer feed = ByteBuffer.allocate(1024);
+        String[] teams = {"Mexico", "Canada", "Spain", "Brazil", "Germany", "France", "Uruguay", "Italy", "Argentina", "Australia"};
+        for (int teamId = 0; teamId < teams.length; teamId++) {
+            BinaryFeed.putTeam(feed, teamId, teams[teamId]);
+        }
+        for (int game = 0; game < 5; game++) {
+            BinaryFeed.putStart(feed, 2 * game, 2 * game + 1);
+        }
+        BinaryFeed.putUpdate(feed, 0, 1, 0, 5);
+        BinaryFeed.putUpdate(feed, 2, 3, 10, 2);
+        BinaryFeed.putUpdate(feed, 4, 5, 2, 2);
+        BinaryFeed.putUpdate(feed, 6, 7, 6, 6);
+        BinaryFeed.putUpdate(feed, 8, 9, 3, 1);
+
+        IngestionReport report = decoder.decode(channelOf(feed));
+
+        assertEquals(10, report.getApplied());
+        assertEquals(0, report.getFailed());
+        List<Game> summary = scoreBoard.getSummary();
+        assertEquals("Uruguay 6 - Italy 6", summary.get(0).toString());
+        assertEquals("Spain 10 - Brazil 2", summary.get(1).toString());
+        assertEquals("Mexico 0 - Canada 5", summary.get(2).toString());
+        assertEquals("Argentina 3 - Australia 1", summary.get(3).toString());
+        assertEquals("Germany 2 - France 2", summary.get(4).toString());
+    }
+
+    @Test
+    @DisplayName("Should count the commands it could not apply")
+    void shouldCountTheCommandsItCouldNotApply(@TempDir Path directory) throws IOException {
+        ByteBuffer feed = ByteBuffer.allocate(1024);
+        BinaryFeed.putTeam(feed, 0, "Brazil");
+        BinaryFeed.putTeam(feed, 1, "Argentina");
+        BinaryFeed.putTeam(feed, 2, "Spain");
+        BinaryFeed.putStart(feed, 0, 1);
+        BinaryFeed.putStart(feed, 0, 1);
+        BinaryFeed.putUpdate(feed, 0, 1, 1, 0);
+        BinaryFeed.putUpdate(feed, 0, 2, 1, 0);
+        BinaryFeed.putUpdate(feed, 0, 7, 1, 0);
+        BinaryFeed.putUpdate(feed, 0, 1, -1, 0);
+        BinaryFeed.putUpdate(feed, 0, 1, 2, 0);
+        BinaryFeed.putFinish(feed, 1, 0);
+        Path file = directory.resolve("feed.bin");
+        Files.write(file, Arrays.copyOf(feed.array(), feed.position()));
+
+        IngestionReport report = decoder.decode(file);
+
+        assertEquals(8, report.getRecordsRead());
+        assertEquals(3, report.getApplied());
+        assertEquals(1, report.getMalformed());
+        assertEquals(1, report.getGameAlreadyExists());
+        assertEquals(2, report.getGameNotFound());
+        assertEquals(1, report.getInvalid());
+        assertEquals("Brazil 2 - Argentina 0", scoreBoard.getSummary().get(0).toString());
+    }
+
+    @Test
+    @DisplayName("Should count team IDs beyond the maximum as malformed")
+    void shouldCountTeamIdsBeyondTheMaximumAsMalformed() throws IOException {
+        ByteBuffer feed = ByteBuffer.allocate(1024);
+        BinaryFeed.putTeam(feed, Integer.MAX_VALUE, "Brazil");
+        BinaryFeed.putTeam(feed, BinaryFeed.MAX_TEAM_ID + 1, "Argentina");
+        BinaryFeed.putTeam(feed, BinaryFeed.MAX_TEAM_ID, "Spain");
+        BinaryFeed.putTeam(feed, 0, "France");
+        BinaryFeed.putStart(feed, Integer.MAX_VALUE, BinaryFeed.MAX_TEAM_ID + 1);
+        BinaryFeed.putStart(feed, BinaryFeed.MAX_TEAM_ID, 0);
+
+        IngestionReport report = decoder.decode(channelOf(feed));
+
+        assertEquals(3, report.getMalformed());
+        assertEquals(1, report.getApplied());
+        assertEquals("Spain 0 - France 0", scoreBoard.getSummary().get(0).toString());
+    }
+
+    @Test
+    @DisplayName("Should fail on feeds that cannot be decoded")
+    void shouldFailOnFeedsThatCannotBeDecoded() {
+        ByteBuffer unknown = ByteBuffer.allocate(16).put((byte) 0x7f).putInt(0).putInt(1);
+        ByteBuffer truncated = BinaryFeed.putUpdate(ByteBuffer.allocate(17), 0, 1, 2, 3);
+        truncated.position(12);
+
+        assertThrows(IOException.class, () -> new BinaryFeedDecoder(scoreBoard).decode(channelOf(unknown)));
+        assertThrows(IOException.class, () -> new BinaryFeedDecoder(scoreBoard).decode(channelOf(truncated)));
+    }
+
+    @Test
+    @DisplayName("Should not allocate per update when decoding a mapped file")
+    void shouldNotAllocatePerUpdateWhenDecodingAMappedFile(@TempDir Path directory) throws IOException {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        int games = 100;
+        ByteBuffer setup = ByteBuffer.allocate(64 * 1024);
+        for (int game = 0; game < games; game++) {
+            BinaryFeed.putTeam(setup, 2 * game, "Home" + game);
+            BinaryFeed.putTeam(setup, 2 * game + 1, "Away" + game);
+            BinaryFeed.putStart(setup, 2 * game, 2 * game + 1);
+        }
+        decoder.decode(channelOf(setup));
+        ByteBuffer updates = ByteBuffer.allocate(200_000 * BinaryFeed.UPDATE_SIZE);
+        for (int update = 0; update < 200_000; update++) {
+            int game = update % games;
+            BinaryFeed.putUpdate(updates, 2 * game, 2 * game + 1, update / games % 9, game % 4);
+        }
+        Path file = directory.resolve("updates.bin");
+        Files.write(file, updates.array());
+        decoder.decode(file);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        IngestionReport report = decoder.decode(file);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(games + 400_000, report.getApplied());
+        assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes for 200000 updates");
+    }
+
+    private static ReadableByteChannel channelOf(ByteBuffer feed) {
+        return Channels.newChannel(new ByteArrayInputStream(feed.array(), 0, feed.position()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore the same summary order, creation times and version")
+    void shouldRestoreTheSameSummaryOrderCreationTimesAndVersion() throws IOException {
+        LiveScoreBoard board = new LiveScoreBoard();
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            board.startGame("Home" + i, "Away" + i);
+            // Lots of equal totals, so the tie-break on creation order has work to do
+            board.updateScore("Home" + i, "Away" + i, random.nextInt(3), random.nextInt(3));
+        }
+        for (int i = 0; i < 500; i += 7) {
+            board.finishGame("Home" + i, "Away" + i);
+        }
+
+        Path file = directory.resolve("board.checkpoint");
+        board.checkpoint().write(file);
+        Checkpoint checkpoint = Checkpoint.read(file);
+        LiveScoreBoard restored = new LiveScoreBoard(checkpoint, null);
+
+        assertEquals(board.getSummary().size(), checkpoint.size());
+        assertEquals(board.getVersion(), restored.getVersion());
+        assertEquals(board.publish().getGames(), restored.getSnapshot().getGames());
+        for (int i = 0; i < board.getSummary().size(); i++) {
+            assertEquals(board.getSummary().get(i).getCreatedAt(), restored.getSummary().get(i).getCreatedAt());
+        }
+
+        // Games started after the restore are still the most recent ones
+        restored.startGame("Home0", "Away0");
+        assertEquals("Home0 0 - Away0 0", firstWithTotal(restored, 0).toString());
+    }
+
+    @Test
+    @DisplayName("Should replay only the part of the journal after the checkpoint")
+    void shouldReplayOnlyThePartOfTheJournalAfterTheCheckpoint() throws IOException {
+        Path journalFile = directory.resolve("board.journal");
+        Path checkpointFile = directory.resolve("board.checkpoint");
+        SummarySnapshot before;
+        try (Journal journal = Journal.open(journalFile, SyncPolicy.osBuffered())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            board.startGame("Mexico", "Canada");
+            board.startGame("Spain", "Brazil");
+            board.updateScore("Spain", "Brazil", 2, 2);
+
+            Checkpoint checkpoint = board.checkpoint();
+            board.startGame("Germany", "France");
+            board.startGames(List.of(new Fixture("Uruguay", "Italy"), new Fixture("Argentina", "Australia")));
+            board.updateScore("Germany", "France", 3, 1);
+            board.finishGame("Mexico", "Canada");
+            // Written while the board has moved on; it still holds the board as it was
+            checkpoint.write(checkpointFile);
+            assertEquals(3, checkpoint.getVersion());
+
+            before = board.publish();
+        }
+
+        try (Journal journal = Journal.open(journalFile, SyncPolicy.osBuffered())) {
+            LiveScoreBoard restored = new LiveScoreBoard(Checkpoint.read(checkpointFile), journal);
+
+            assertEquals(before.getGames(), restored.getSnapshot().getGames());
+            assertEquals(before.getVersion(), restored.getVersion());
+            restored.updateScore("Uruguay", "Italy", 1, 0);
+        }
+        try (Journal journal = Journal.open(journalFile, SyncPolicy.osBuffered())) {
+            LiveScoreBoard restoredAgain = new LiveScoreBoard(Checkpoint.read(checkpointFile), journal);
+            assertEquals("Uruguay 1 - Italy 0", restoredAgain.getSummary().get(2).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should give a full delta for versions from before the checkpoint")
+    void shouldGiveAFullDeltaForVersionsFromBeforeTheCheckpoint() throws IOException {
+        LiveScoreBoard board = new LiveScoreBoard();
+        board.startGame("Mexico", "Canada");
+        board.startGame("Spain", "Brazil");
+        Path file = directory.resolve("board.checkpoint");
+        board.checkpoint().write(file);
+
+        LiveScoreBoard restored = new LiveScoreBoard(Checkpoint.read(file), null);
+
+        assertTrue(restored.getSummarySince(1).isFull());
+        assertTrue(restored.getSummarySince(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse a corrupt checkpoint")
+    void shouldRefuseACorruptCheckpoint() throws IOException {
+        LiveScoreBoard board = new LiveScoreBoard();
+        board.startGame("Mexico", "Canada");
+        Path file = directory.resolve("board.checkpoint");
+        board.checkpoint().write(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 50);
+        }
+
+        IOException exception = assertThrows(IOException.class, () -> Checkpoint.read(file));
+        assertTrue(exception.getMessage().endsWith("is corrupt"));
+
+        Path notes = directory.resolve("notes.txt");
+        Files.writeString(notes, "just some notes, long enough to look like a header");
+        assertThrows(IOException.class, () -> Checkpoint.read(notes));
+    }
+
+    @Test
+    @DisplayName("Should refuse a journal that ends before the checkpoint")
+    void shouldRefuseAJournalThatEndsBeforeTheCheckpoint() throws IOException {
+        Path checkpointFile = directory.resolve("board.checkpoint");
+        try (Journal journal = Journal.open(directory.resolve("first.journal"), SyncPolicy.everyChange())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            board.startGame("Mexico", "Canada");
+            board.checkpoint().write(checkpointFile);
+        }
+
+        try (Journal otherJournal = Journal.open(directory.resolve("second.journal"), SyncPolicy.everyChange())) {
+            Checkpoint checkpoint = Checkpoint.read(checkpointFile);
+            assertThrows(IllegalStateException.class, () -> new LiveScoreBoard(checkpoint, otherJournal));
+        }
+    }
+
+    private static Game firstWithTotal(LiveScoreBoard board, int totalScore) {
+        return board.getSummary().stream().filter(game -> game.getTotalScore() == totalScore).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,266 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLiveScoreBoardTest {
+
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+    private static final int GAMES_PER_WRITER = 25;
+    private static final int UPDATES_PER_GAME = 2_000;
+
+    private ConcurrentLiveScoreBoard scoreBoard;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new ConcurrentLiveScoreBoard();
+    }
+
+    @Test
+    @DisplayName("Should create exact example from requirements")
+    void shouldCreateExactExampleFromRequirements() {
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGame("Germany", "France");
+        scoreBoard.startGame("Uruguay", "Italy");
+        scoreBoard.startGame("Argentina", "Australia");
+
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+        scoreBoard.updateScore("Germany", "France", 2, 2);
+        scoreBoard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreBoard.updateScore("Argentina", "Australia", 3, 1);
+
+        List<Game> summary = scoreBoard.getSummary();
+
+        assertEquals(5, summary.size());
+        assertEquals("Uruguay 6 - Italy 6", summary.get(0).toString());
+        assertEquals("Spain 10 - Brazil 2", summary.get(1).toString());
+        assertEquals("Mexico 0 - Canada 5", summary.get(2).toString());
+        assertEquals("Argentina 3 - Australia 1", summary.get(3).toString());
+        assertEquals("Germany 2 - France 2", summary.get(4).toString());
+    }
+
+    @Test
+    @DisplayName("Should throw the same exceptions as the single-threaded board")
+    void shouldThrowTheSameExceptionsAsTheSingleThreadedBoard() {
+        scoreBoard.startGame("Brazil", "Argentina");
+
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGame("Brazil", "Argentina"));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.updateScore("Spain", "France", 1, 0));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGame("Spain", "France"));
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.updateScore("Brazil", "Argentina", -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.startGame(null, "Argentina"));
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that don't change with later updates")
+    void shouldHandOutCopiesThatDontChangeWithLaterUpdates() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        Game before = scoreBoard.getSummary().get(0);
+
+        scoreBoard.updateScore("Brazil", "Argentina", 2, 1);
+
+        assertEquals(0, before.getTotalScore());
+        assertEquals(3, scoreBoard.getSummary().get(0).getTotalScore());
+    }
+
+    @Test
+    @DisplayName("Should return top games and pages in summary order")
+    void shouldReturnTopGamesAndPagesInSummaryOrder() {
+        Random random = new Random(7);
+        for (int game = 0; game < 500; game++) {
+            scoreBoard.startGame("Home" + game, "Away" + game);
+            scoreBoard.updateScore("Home" + game, "Away" + game, random.nextInt(5), random.nextInt(5));
+        }
+        List<Game> summary = scoreBoard.getSummary();
+
+        assertEquals(summary.subList(0, 10), scoreBoard.getTopGames(10));
+        assertEquals(summary.subList(40, 60), scoreBoard.getSummary(40, 20));
+        assertEquals(summary.subList(490, 500), scoreBoard.getSummary(490, 20));
+        assertEquals(summary, scoreBoard.getTopGames(Integer.MAX_VALUE));
+        assertTrue(scoreBoard.getSummary(500, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.getSummary(0, -1));
+    }
+
+    @Test
+    @DisplayName("Should apply batches all-or-nothing")
+    void shouldApplyBatchesAllOrNothing() {
+        scoreBoard.startGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France")));
+
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGames(List.of(
+                new Fixture("Germany", "Italy"),
+                new Fixture("Brazil", "Argentina"))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Brazil", "Argentina", 1, 0),
+                new ScoreUpdate("Germany", "Italy", 1, 0))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGames(List.of(
+                new Fixture("Brazil", "Argentina"),
+                new Fixture("Germany", "Italy"))));
+        assertEquals(2, scoreBoard.getSummary().size());
+        scoreBoard.getSummary().forEach(game -> assertEquals(0, game.getTotalScore()));
+
+        scoreBoard.applyBatch(List.of(new ScoreUpdate("Brazil", "Argentina", 1, 0), new ScoreUpdate("Spain", "France", 2, 2)));
+        assertEquals("Spain 2 - France 2", scoreBoard.getSummary().get(0).toString());
+
+        scoreBoard.finishGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France")));
+        assertTrue(scoreBoard.getSummary().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not lose or tear score updates under concurrent writers and readers")
+    void shouldNotLoseOrTearScoreUpdatesUnderConcurrentWritersAndReaders() throws Exception {
+        for (int writer = 0; writer < WRITERS; writer++) {
+            for (int game = 0; game < GAMES_PER_WRITER; game++) {
+                scoreBoard.startGame(homeTeam(writer, game), awayTeam(writer, game));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger tornReads = new AtomicInteger();
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int owner = writer;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    // Writers always set both sides to the same value, so any mismatch a reader sees is a torn read
+                    for (int score = 1; score <= UPDATES_PER_GAME; score++) {
+                        for (int game = 0; game < GAMES_PER_WRITER; game++) {
+                            scoreBoard.updateScore(homeTeam(owner, game), awayTeam(owner, game), score, score);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < READERS; reader++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        for (Game game : scoreBoard.getSummary()) {
+                            if (game.getHomeScore() != game.getAwayScore()) {
+                                tornReads.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : writers) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> future : readers) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, tornReads.get());
+        List<Game> summary = scoreBoard.getSummary();
+        assertEquals(WRITERS * GAMES_PER_WRITER, summary.size());
+        for (Game game : summary) {
+            assertEquals(UPDATES_PER_GAME, game.getHomeScore());
+            assertEquals(UPDATES_PER_GAME, game.getAwayScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should let exactly one thread start the same game")
+    void shouldLetExactlyOneThreadStartTheSameGame() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int game = 0; game < 1_000; game++) {
+                        try {
+                            scoreBoard.startGame("Home" + game, "Away" + game);
+                            started.incrementAndGet();
+                        } catch (GameAlreadyExistsException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1_000, started.get());
+        assertEquals((WRITERS - 1) * 1_000, rejected.get());
+        assertEquals(1_000, scoreBoard.getSummary().size());
+    }
+
+    @Test
+    @DisplayName("Should keep the board consistent when games start and finish concurrently")
+    void shouldKeepTheBoardConsistentWhenGamesStartAndFinishConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int owner = writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int game = 0; game < 2_000; game++) {
+                        scoreBoard.startGame(homeTeam(owner, game), awayTeam(owner, game));
+                        scoreBoard.updateScore(homeTeam(owner, game), awayTeam(owner, game), 1, 0);
+                        if (game % 2 == 0) {
+                            scoreBoard.finishGame(homeTeam(owner, game), awayTeam(owner, game));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Game> summary = scoreBoard.getSummary();
+        assertEquals(WRITERS * 1_000, summary.size());
+        summary.forEach(game -> assertEquals(1, game.getTotalScore()));
+    }
+
+    private static String homeTeam(int writer, int game) {
+        return "Home" + writer + "-" + game;
+    }
+
+    private static String awayTeam(int writer, int game) {
+        return "Away" + writer + "-" + game;
+    }
+}
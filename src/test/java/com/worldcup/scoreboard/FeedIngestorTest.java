@@ -0,0 +1,121 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedIngestorTest {
+
+    @Test
+    @DisplayName("Should create exact example from requirements")
+    void shouldCreateExactExampleFromRequirements(@TempDir Path directory) throws IOException {
+        Path feed = directory.resolve("feed.txt");
+        Files.write(feed, List.of(
+                "# requirements example",
+                "START,Mexico,Canada",
+                "START,Spain,Brazil",
+                "START,Germany,France",
+                "START,Uruguay,Italy",
+                "START,Argentina,Australia",
+                "",
+                "UPDATE,Mexico,Canada,0,5",
+                "UPDATE,Spain,Brazil,10,2",
+                "UPDATE,Germany,France,2,2",
+                "UPDATE,Uruguay,Italy,6,6",
+                "UPDATE,Argentina,Australia,3,1"));
+        LiveScoreBoard scoreBoard = new LiveScoreBoard();
+
+        IngestionReport report = new FeedIngestor(scoreBoard).ingest(feed);
+
+        assertEquals(10, report.getRecordsRead());
+        assertEquals(10, report.getApplied());
+        assertEquals(0, report.getFailed());
+        List<Game> summary = scoreBoard.getSummary();
+        assertEquals("Uruguay 6 - Italy 6", summary.get(0).toString());
+        assertEquals("Spain 10 - Brazil 2", summary.get(1).toString());
+        assertEquals("Mexico 0 - Canada 5", summary.get(2).toString());
+        assertEquals("Argentina 3 - Australia 1", summary.get(3).toString());
+        assertEquals("Germany 2 - France 2", summary.get(4).toString());
+    }
+
+    @Test
+    @DisplayName("Should keep each game's changes in feed order across parallel lanes")
+    void shouldKeepEachGamesChangesInFeedOrderAcrossParallelLanes() throws IOException {
+        int games = 200;
+        int rounds = 50;
+        StringBuilder feed = new StringBuilder();
+        for (int game = 0; game < games; game++) {
+            feed.append("START,Home").append(game).append(",Away").append(game).append('\n');
+        }
+        Random random = new Random(15);
+        for (int round = 1; round <= rounds; round++) {
+            for (int game = 0; game < games; game++) {
+                // Scores only ever go up, so a change applied out of order would leave a lower score behind
+                feed.append("UPDATE,Home").append(game).append(",Away").append(game).append(',')
+                        .append(round).append(',').append(random.nextInt(2)).append('\n');
+            }
+        }
+        for (int game = 0; game < games; game += 2) {
+            feed.append("FINISH,Home").append(game).append(",Away").append(game).append('\n');
+        }
+        ConcurrentLiveScoreBoard scoreBoard = new ConcurrentLiveScoreBoard();
+        ExecutorService parsers = Executors.newFixedThreadPool(4);
+
+        IngestionReport report;
+        try {
+            report = new FeedIngestor(scoreBoard, 8, 32, 4, parsers).ingest(streamOf(feed.toString()));
+        } finally {
+            parsers.shutdown();
+        }
+
+        assertEquals(games + games * rounds + games / 2, report.getApplied());
+        assertEquals(0, report.getFailed());
+        List<Game> summary = scoreBoard.getSummary();
+        assertEquals(games / 2, summary.size());
+        summary.forEach(game -> assertEquals(rounds, game.getHomeScore(), game.toString()));
+    }
+
+    @Test
+    @DisplayName("Should count the records it could not apply")
+    void shouldCountTheRecordsItCouldNotApply() throws IOException {
+        String feed = String.join("\n",
+                "START,Brazil,Argentina",
+                "START,Brazil,Argentina",
+                "UPDATE,Brazil,Argentina,1,0",
+                "UPDATE,Spain,France,1,0",
+                "UPDATE,Brazil,Argentina,-1,0",
+                "UPDATE,Brazil,Argentina,2,0",
+                "UPDATE,Brazil,Argentina,two,0",
+                "KICKOFF,Brazil,Argentina",
+                "FINISH,Spain,France",
+                "START, ,France");
+        LiveScoreBoard scoreBoard = new LiveScoreBoard();
+
+        IngestionReport report = new FeedIngestor(scoreBoard).ingest(streamOf(feed));
+
+        assertEquals(10, report.getRecordsRead());
+        assertEquals(3, report.getApplied());
+        assertEquals(2, report.getMalformed());
+        assertEquals(2, report.getGameNotFound());
+        assertEquals(1, report.getGameAlreadyExists());
+        assertEquals(2, report.getInvalid());
+        assertEquals(7, report.getFailed());
+        assertEquals("Brazil 2 - Argentina 0", scoreBoard.getSummary().get(0).toString());
+    }
+
+    private static ByteArrayInputStream streamOf(String feed) {
+        return new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8));
+    }
+}
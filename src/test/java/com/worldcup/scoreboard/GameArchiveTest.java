@@ -0,0 +1,120 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    private static final Instant KICK_OFF = Instant.parse("2026-06-11T18:00:00Z");
+
+    private LiveScoreBoard scoreBoard;
+    private ManualClock clock;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new LiveScoreBoard();
+        clock = new ManualClock(KICK_OFF);
+    }
+
+    @Test
+    @DisplayName("Should keep the final score of every finished game")
+    void shouldKeepTheFinalScoreOfEveryFinishedGame() {
+        GameArchive archive = new GameArchive();
+        scoreBoard.setArchive(archive);
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGame("Germany", "Brazil");
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+
+        scoreBoard.finishGame("Spain", "Brazil");
+        scoreBoard.finishGame("Mexico", "Canada");
+        scoreBoard.finishGames(List.of(new Fixture("Germany", "Brazil")));
+
+        assertEquals(3, archive.size());
+        assertEquals(List.of("Germany 0 - Brazil 0", "Mexico 0 - Canada 5", "Spain 10 - Brazil 2"),
+                archive.getRecent(10).stream().map(ArchivedGame::toString).toList());
+        assertEquals(List.of("Germany 0 - Brazil 0", "Spain 10 - Brazil 2"),
+                archive.getByTeam("Brazil", 10).stream().map(ArchivedGame::toString).toList());
+        assertEquals(1, archive.getByTeam("Brazil", 1).size());
+        assertTrue(archive.getByTeam("France", 10).isEmpty());
+        assertTrue(scoreBoard.getSummary().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should evict whole chunks once enough newer games are kept")
+    void shouldEvictWholeChunksOnceEnoughNewerGamesAreKept() {
+        GameArchive archive = new GameArchive(5, null, clock, 4);
+        for (int game = 0; game < 12; game++) {
+            archive.add(new Game("Home" + game, game % 2 == 0 ? "Even" : "Odd"));
+        }
+
+        // 12 games in chunks of 4: dropping the first chunk still leaves 8, dropping the second would leave 4
+        assertEquals(8, archive.size());
+        assertEquals(12, archive.getArchivedCount());
+        assertEquals("Home4 0 - Even 0", archive.getRecent(100).get(7).toString());
+        assertEquals(List.of("Home11 0 - Odd 0", "Home9 0 - Odd 0", "Home7 0 - Odd 0", "Home5 0 - Odd 0"),
+                archive.getByTeam("Odd", 100).stream().map(ArchivedGame::toString).toList());
+        assertTrue(archive.getByTeam("Home1", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find results by finish time and drop them once too old")
+    void shouldFindResultsByFinishTimeAndDropThemOnceTooOld() {
+        GameArchive archive = new GameArchive(Integer.MAX_VALUE, Duration.ofHours(1), clock, 2);
+        for (int game = 0; game < 6; game++) {
+            archive.add(new Game("Home" + game, "Away" + game));
+            clock.advance(Duration.ofMinutes(10));
+        }
+
+        List<ArchivedGame> between = archive.getFinishedBetween(KICK_OFF.plus(Duration.ofMinutes(10)), KICK_OFF.plus(Duration.ofMinutes(30)));
+        assertEquals(List.of("Home1 0 - Away1 0", "Home2 0 - Away2 0"), between.stream().map(ArchivedGame::toString).toList());
+        assertEquals(KICK_OFF.plus(Duration.ofMinutes(20)), between.get(1).finishedAt());
+
+        clock.advance(Duration.ofMinutes(25));
+        // Now 85 minutes in: the chunk finished at 0 and 10 minutes goes, the one at 20 and 30 is kept whole
+        assertEquals(4, archive.size());
+        assertEquals("Home2 0 - Away2 0", archive.getFinishedBetween(KICK_OFF, KICK_OFF.plus(Duration.ofHours(2))).get(0).toString());
+
+        clock.advance(Duration.ofHours(2));
+        assertTrue(archive.getRecent(10).isEmpty());
+        assertEquals(0, archive.size());
+    }
+
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        private ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
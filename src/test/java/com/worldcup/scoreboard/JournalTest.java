@@ -0,0 +1,220 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore the board from the journal after a restart")
+    void shouldRestoreTheBoardFromTheJournalAfterARestart() throws IOException {
+        Path file = directory.resolve("board.journal");
+        SummarySnapshot before;
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            board.startGame("Mexico", "Canada");
+            board.startGame("Spain", "Brazil");
+            board.startGame("Germany", "France");
+            board.updateScore("Mexico", "Canada", 0, 5);
+            board.updateScore("Spain", "Brazil", 10, 2);
+            board.finishGame("Germany", "France");
+            board.startGames(List.of(new Fixture("Uruguay", "Italy"), new Fixture("Argentina", "Australia")));
+            board.applyBatch(List.of(new ScoreUpdate("Uruguay", "Italy", 6, 6), new ScoreUpdate("Argentina", "Australia", 3, 1)));
+            before = board.publish();
+        }
+
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard restored = new LiveScoreBoard(journal);
+
+            assertEquals(before.getGames(), restored.getSnapshot().getGames());
+            assertEquals(before.getVersion(), restored.getVersion());
+
+            // Team IDs survive too, so the journal keeps working after the restart
+            restored.updateScore("Mexico", "Canada", 1, 5);
+            restored.startGame("Germany", "France");
+        }
+
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard restoredAgain = new LiveScoreBoard(journal);
+            assertEquals(5, restoredAgain.getSummary().size());
+            assertEquals("Mexico 1 - Canada 5", restoredAgain.getSummary().get(2).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a team name too long to journal without breaking later starts")
+    void shouldRejectATeamNameTooLongToJournalWithoutBreakingLaterStarts() throws IOException {
+        Path file = directory.resolve("board.journal");
+        String tooLong = "A".repeat(40_000);
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+
+            assertThrows(IllegalArgumentException.class, () -> board.startGame(tooLong, "Argentina"));
+            assertThrows(IllegalArgumentException.class, () -> board.startGames(List.of(
+                    new Fixture("Spain", "France"), new Fixture("Brazil", "é".repeat(20_000)))));
+            assertEquals(0, board.getTeamRegistry().size());
+
+            board.startGame("Brazil", "Argentina");
+            board.startGames(List.of(new Fixture("Spain", "France")));
+            board.updateScore("Spain", "France", 1, 0);
+        }
+
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard restored = new LiveScoreBoard(journal);
+            assertEquals(List.of(new GameView("Spain", "France", 1, 0), new GameView("Brazil", "Argentina", 0, 0)),
+                    restored.getSnapshot().getGames());
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore random workloads under every sync policy")
+    void shouldRestoreRandomWorkloadsUnderEverySyncPolicy() throws IOException {
+        List<SyncPolicy> policies = List.of(
+                SyncPolicy.everyChange(),
+                SyncPolicy.groupCommit(64, Duration.ofMillis(5)),
+                SyncPolicy.osBuffered());
+        for (SyncPolicy policy : policies) {
+            Path file = Files.createTempFile(directory, "random", ".journal");
+            Files.delete(file);
+            SummarySnapshot before;
+            try (Journal journal = Journal.open(file, policy)) {
+                LiveScoreBoard board = new LiveScoreBoard(journal);
+                Random random = new Random(3);
+                for (int step = 0; step < 2_000; step++) {
+                    String homeTeam = "Home" + random.nextInt(50);
+                    String awayTeam = "Away" + random.nextInt(50);
+                    try {
+                        switch (random.nextInt(3)) {
+                            case 0 -> board.startGame(homeTeam, awayTeam);
+                            case 1 -> board.updateScore(homeTeam, awayTeam, random.nextInt(5), random.nextInt(5));
+                            default -> board.finishGame(homeTeam, awayTeam);
+                        }
+                    } catch (GameAlreadyExistsException | GameNotFoundException e) {
+                        // Rejected calls don't change the board, so they shouldn't be journaled either
+                    }
+                }
+                before = board.publish();
+            }
+
+            try (Journal journal = Journal.open(file, policy)) {
+                LiveScoreBoard restored = new LiveScoreBoard(journal);
+                assertEquals(before.getGames(), restored.getSnapshot().getGames(), policy.toString());
+                assertEquals(before.getVersion(), restored.getVersion(), policy.toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should cut off a torn record at the end of the journal")
+    void shouldCutOffATornRecordAtTheEndOfTheJournal() throws IOException {
+        Path file = directory.resolve("torn.journal");
+        long sizeAfterFirstUpdate;
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            board.startGame("Brazil", "Argentina");
+            board.updateScore("Brazil", "Argentina", 1, 0);
+            sizeAfterFirstUpdate = Files.size(file);
+            board.updateScore("Brazil", "Argentina", 2, 0);
+        }
+        // Lose the last few bytes, as if the process died halfway through the write
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard restored = new LiveScoreBoard(journal);
+            assertEquals("Brazil 1 - Argentina 0", restored.getSummary().get(0).toString());
+            assertEquals(sizeAfterFirstUpdate, Files.size(file));
+
+            restored.updateScore("Brazil", "Argentina", 3, 0);
+        }
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            assertEquals("Brazil 3 - Argentina 0", new LiveScoreBoard(journal).getSummary().get(0).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a batch whose end never reached the journal")
+    void shouldDropABatchWhoseEndNeverReachedTheJournal() throws IOException {
+        Path file = directory.resolve("batch.journal");
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            board.startGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France")));
+            board.applyBatch(List.of(new ScoreUpdate("Brazil", "Argentina", 1, 0), new ScoreUpdate("Spain", "France", 0, 1)));
+        }
+        // The end record is the last 9 bytes; cut into it
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 2);
+        }
+
+        try (Journal journal = Journal.open(file, SyncPolicy.everyChange())) {
+            LiveScoreBoard restored = new LiveScoreBoard(journal);
+            assertEquals(2, restored.getSummary().size());
+            restored.getSummary().forEach(game -> assertEquals(0, game.getTotalScore()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a file that isn't a journal")
+    void shouldRefuseAFileThatIsntAJournal() throws IOException {
+        Path file = directory.resolve("notes.txt");
+        Files.writeString(file, "just some notes");
+
+        IOException exception = assertThrows(IOException.class, () -> Journal.open(file, SyncPolicy.everyChange()));
+        assertTrue(exception.getMessage().endsWith("is not a scoreboard journal"));
+    }
+
+    @Test
+    @DisplayName("Should force group commits to disk once the delay has passed")
+    void shouldForceGroupCommitsToDiskOnceTheDelayHasPassed() throws Exception {
+        Path file = directory.resolve("group.journal");
+        try (Journal journal = Journal.open(file, SyncPolicy.groupCommit(1_000, Duration.ofMillis(20)))) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            long emptySize = Files.size(file);
+            board.startGame("Brazil", "Argentina");
+            assertEquals(emptySize, Files.size(file));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (Files.size(file) == emptySize && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(Files.size(file) > emptySize);
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand every change to the operating system right away when OS buffered")
+    void shouldHandEveryChangeToTheOperatingSystemRightAwayWhenOsBuffered() throws IOException {
+        Path file = directory.resolve("buffered.journal");
+        Path copy = directory.resolve("copy.journal");
+        try (Journal journal = Journal.open(file, SyncPolicy.osBuffered())) {
+            LiveScoreBoard board = new LiveScoreBoard(journal);
+            board.startGame("Brazil", "Argentina");
+            board.updateScore("Brazil", "Argentina", 1, 0);
+            board.applyBatch(List.of(new ScoreUpdate("Brazil", "Argentina", 2, 0)));
+
+            // What another process would find if this one died now, without a flush or close
+            Files.copy(file, copy);
+            try (Journal survivor = Journal.open(copy, SyncPolicy.osBuffered())) {
+                LiveScoreBoard restored = new LiveScoreBoard(survivor);
+                assertEquals(board.publish().getGames(), restored.getSnapshot().getGames());
+                assertEquals(board.getVersion(), restored.getVersion());
+            }
+        }
+    }
+}
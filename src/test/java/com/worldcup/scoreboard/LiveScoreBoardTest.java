@@ -4,9 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class LiveScoreBoardTest {
 
@@ -298,4 +303,540 @@ class LiveScoreBoardTest {
         assertEquals("Team5", summary.get(1).getHomeTeam()); // Total: 0, more recent
         assertEquals("Team1", summary.get(2).getHomeTeam()); // Total: 0, less recent
     }
+
+    @Test
+    @DisplayName("Should return top games in summary order")
+    void shouldReturnTopGamesInSummaryOrder() {
+        startExampleGames();
+
+        List<Game> topGames = scoreBoard.getTopGames(3);
+
+        assertEquals(scoreBoard.getSummary().subList(0, 3), topGames);
+        assertEquals(5, scoreBoard.getTopGames(10).size());
+        assertTrue(scoreBoard.getTopGames(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return summary pages in summary order")
+    void shouldReturnSummaryPagesInSummaryOrder() {
+        startExampleGames();
+        List<Game> summary = scoreBoard.getSummary();
+
+        assertEquals(summary.subList(0, 2), scoreBoard.getSummary(0, 2));
+        assertEquals(summary.subList(2, 4), scoreBoard.getSummary(2, 2));
+        assertEquals(summary.subList(4, 5), scoreBoard.getSummary(4, 2));
+        assertTrue(scoreBoard.getSummary(5, 2).isEmpty());
+        assertTrue(scoreBoard.getSummary(Integer.MAX_VALUE, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when page offset or limit is negative")
+    void shouldThrowExceptionWhenPageOffsetOrLimitIsNegative() {
+        IllegalArgumentException offsetException = assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreBoard.getSummary(-1, 2)
+        );
+        assertEquals("Offset cannot be negative", offsetException.getMessage());
+
+        IllegalArgumentException limitException = assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreBoard.getTopGames(-1)
+        );
+        assertEquals("Limit cannot be negative", limitException.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should publish an immutable snapshot of the summary")
+    void shouldPublishAnImmutableSnapshotOfTheSummary() {
+        startExampleGames();
+
+        SummarySnapshot snapshot = scoreBoard.publish();
+        scoreBoard.updateScore("Germany", "France", 7, 7);
+
+        assertEquals(5, snapshot.size());
+        assertEquals(new GameView("Uruguay", "Italy", 6, 6), snapshot.getGames().get(0));
+        assertEquals("Germany 2 - France 2", snapshot.getGames().get(4).toString());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getGames().remove(0));
+        assertEquals("Germany 7 - France 7", scoreBoard.publish().getGames().get(0).toString());
+    }
+
+    @Test
+    @DisplayName("Should bump snapshot version on every change and reuse snapshots in between")
+    void shouldBumpSnapshotVersionOnEveryChangeAndReuseSnapshotsInBetween() {
+        SummarySnapshot empty = scoreBoard.publish();
+        assertEquals(0, empty.getVersion());
+        assertTrue(empty.getGames().isEmpty());
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        SummarySnapshot started = scoreBoard.publish();
+        assertTrue(started.getVersion() > empty.getVersion());
+        assertSame(started, scoreBoard.publish());
+
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        SummarySnapshot updated = scoreBoard.publish();
+        assertTrue(updated.getVersion() > started.getVersion());
+
+        scoreBoard.finishGame("Brazil", "Argentina");
+        SummarySnapshot finished = scoreBoard.publish();
+        assertTrue(finished.getVersion() > updated.getVersion());
+        assertEquals(scoreBoard.getVersion(), finished.getVersion());
+        assertTrue(finished.getGames().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should let another thread read consistent snapshots while the board changes")
+    void shouldLetAnotherThreadReadConsistentSnapshotsWhileTheBoardChanges() throws InterruptedException {
+        scoreBoard.setPublishOnChange(true);
+        for (int i = 0; i < 50; i++) {
+            scoreBoard.startGame("Home" + i, "Away" + i);
+        }
+        int updates = 5_000;
+        List<String> problems = new ArrayList<>();
+        long[] lastSeen = {0};
+        Thread reader = new Thread(() -> {
+            long previousVersion = -1;
+            while (previousVersion < 50 + updates) {
+                SummarySnapshot snapshot = scoreBoard.getSnapshot();
+                if (snapshot.getVersion() < previousVersion) {
+                    problems.add("Version went back from " + previousVersion + " to " + snapshot.getVersion());
+                }
+                if (snapshot.size() != 50) {
+                    problems.add("Snapshot " + snapshot.getVersion() + " has " + snapshot.size() + " games");
+                }
+                for (int i = 1; i < snapshot.size(); i++) {
+                    if (snapshot.getGames().get(i - 1).totalScore() < snapshot.getGames().get(i).totalScore()) {
+                        problems.add("Snapshot " + snapshot.getVersion() + " is out of order");
+                    }
+                }
+                previousVersion = snapshot.getVersion();
+            }
+            lastSeen[0] = previousVersion;
+        });
+        reader.start();
+
+        Random random = new Random(3);
+        for (int i = 0; i < updates; i++) {
+            int game = random.nextInt(50);
+            scoreBoard.updateScore("Home" + game, "Away" + game, i + 1, random.nextInt(3));
+        }
+        reader.join(10_000);
+
+        assertFalse(reader.isAlive());
+        assertEquals(List.of(), problems);
+        assertEquals(scoreBoard.getVersion(), lastSeen[0]);
+    }
+
+    @Test
+    @DisplayName("Should only publish on request by default")
+    void shouldOnlyPublishOnRequestByDefault() {
+        assertFalse(scoreBoard.isPublishOnChange());
+        SummarySnapshot before = scoreBoard.getSnapshot();
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        assertSame(before, scoreBoard.getSnapshot());
+
+        SummarySnapshot published = scoreBoard.publish();
+        assertSame(published, scoreBoard.getSnapshot());
+        assertEquals(scoreBoard.getVersion(), published.getVersion());
+        assertEquals("Brazil 1 - Argentina 0", published.getGames().get(0).toString());
+        assertSame(published, scoreBoard.publish());
+    }
+
+    @Test
+    @DisplayName("Should update and finish games by team id")
+    void shouldUpdateAndFinishGamesByTeamId() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        TeamRegistry teams = scoreBoard.getTeamRegistry();
+        int brazil = teams.idOf("Brazil");
+        int argentina = teams.idOf("Argentina");
+
+        scoreBoard.updateScore(brazil, argentina, 2, 1);
+        assertEquals("Brazil 2 - Argentina 1", scoreBoard.getSummary().get(0).toString());
+
+        scoreBoard.finishGame(brazil, argentina);
+        assertTrue(scoreBoard.getSummary().isEmpty());
+        assertEquals("Brazil", teams.nameOf(brazil));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when updating by unknown team id or missing game")
+    void shouldThrowExceptionWhenUpdatingByUnknownTeamIdOrMissingGame() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        TeamRegistry teams = scoreBoard.getTeamRegistry();
+        int brazil = teams.idOf("Brazil");
+        int argentina = teams.idOf("Argentina");
+
+        assertEquals(TeamRegistry.UNKNOWN, teams.idOf("Spain"));
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreBoard.updateScore(brazil, 42, 1, 0)
+        );
+        assertEquals("Unknown team id: 42", exception.getMessage());
+
+        GameNotFoundException notFound = assertThrows(
+                GameNotFoundException.class,
+                () -> scoreBoard.finishGame(argentina, brazil)
+        );
+        assertEquals("Game between Argentina and Brazil not found", notFound.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should drop sequenced updates that are stale or duplicates")
+    void shouldDropSequencedUpdatesThatAreStaleOrDuplicates() {
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        scoreBoard.setMetrics(metrics);
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "Germany");
+
+        assertTrue(scoreBoard.updateScore("Brazil", "Argentina", 1, 0, 5));
+        assertTrue(scoreBoard.updateScore("Brazil", "Argentina", 2, 0, 7));
+        assertFalse(scoreBoard.updateScore("Brazil", "Argentina", 1, 0, 5));
+        assertFalse(scoreBoard.updateScore("Brazil", "Argentina", 2, 0, 7));
+        assertTrue(scoreBoard.updateScore("Spain", "Germany", 0, 1, 1));
+
+        assertEquals("[Brazil 2 - Argentina 0, Spain 0 - Germany 1]", scoreBoard.getSummary().toString());
+        assertEquals(2, metrics.getStaleUpdateCount());
+        TeamRegistry teams = scoreBoard.getTeamRegistry();
+        assertFalse(scoreBoard.updateScore(teams.idOf("Spain"), teams.idOf("Germany"), 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.updateScore("Spain", "Germany", 1, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.updateScore("Spain", "Germany", -1, 1, 9));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.updateScore("Spain", "France", 1, 1, 9));
+    }
+
+    @Test
+    @DisplayName("Should skip updates that leave the score as it is")
+    void shouldSkipUpdatesThatLeaveTheScoreAsItIs() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        SummarySnapshot before = scoreBoard.publish();
+
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        assertTrue(scoreBoard.updateScore("Brazil", "Argentina", 1, 0, 3));
+
+        assertSame(before, scoreBoard.publish());
+        assertTrue(scoreBoard.getSummarySince(before.getVersion()).isEmpty());
+        assertFalse(scoreBoard.updateScore("Brazil", "Argentina", 2, 0, 3));
+    }
+
+    @Test
+    @DisplayName("Should skip batch updates that leave the score as it is")
+    void shouldSkipBatchUpdatesThatLeaveTheScoreAsItIs() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "Germany");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        ReplicationLog log = new ReplicationLog();
+        scoreBoard.setReplicationLog(log);
+        SummarySnapshot before = scoreBoard.publish();
+
+        scoreBoard.applyBatch(List.of(new ScoreUpdate("Brazil", "Argentina", 1, 0), new ScoreUpdate("Spain", "Germany", 0, 0)));
+        assertSame(before, scoreBoard.publish());
+        assertEquals(before.getVersion(), scoreBoard.getVersion());
+        assertEquals(0, log.size());
+
+        scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Brazil", "Argentina", 1, 0),
+                new ScoreUpdate("Spain", "Germany", 2, 0),
+                new ScoreUpdate("Spain", "Germany", 2, 0)));
+        assertEquals(before.getVersion() + 1, scoreBoard.getVersion());
+        assertEquals(1, log.size());
+        SummaryDelta delta = scoreBoard.getSummarySince(before.getVersion());
+        assertEquals(1, delta.getChanged().size());
+        assertEquals("Spain 2 - Germany 0", delta.getChanged().get(0).game().toString());
+    }
+
+    @Test
+    @DisplayName("Should find the game a team is playing, home or away")
+    void shouldFindTheGameATeamIsPlayingHomeOrAway() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "Germany");
+        scoreBoard.updateScore("Spain", "Germany", 1, 0);
+
+        assertEquals("Spain 1 - Germany 0", scoreBoard.findGameByTeam("Germany").orElseThrow().toString());
+        assertEquals("Brazil 0 - Argentina 0", scoreBoard.findGameByTeam("Brazil").orElseThrow().toString());
+        assertTrue(scoreBoard.findGameByTeam("France").isEmpty());
+
+        scoreBoard.finishGame("Spain", "Germany");
+        assertTrue(scoreBoard.findGameByTeam("Germany").isEmpty());
+        assertTrue(scoreBoard.findGameByTeam("Spain").isEmpty());
+
+        scoreBoard.startGame("Argentina", "Spain");
+        assertEquals("Argentina 0 - Spain 0", scoreBoard.findGameByTeam("Argentina").orElseThrow().toString());
+        scoreBoard.finishGame("Argentina", "Spain");
+        assertEquals("Brazil 0 - Argentina 0", scoreBoard.findGameByTeam("Argentina").orElseThrow().toString());
+    }
+
+    @Test
+    @DisplayName("Should reject a team that is already playing when one game per team is on")
+    void shouldRejectATeamThatIsAlreadyPlayingWhenOneGamePerTeamIsOn() {
+        scoreBoard.setOneGamePerTeam(true);
+        scoreBoard.startGame("Brazil", "Argentina");
+
+        TeamAlreadyPlayingException reversed = assertThrows(
+                TeamAlreadyPlayingException.class,
+                () -> scoreBoard.startGame("Argentina", "Brazil")
+        );
+        assertEquals("Argentina is already playing", reversed.getMessage());
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGame("Spain", "Brazil"));
+        assertThrows(TeamAlreadyPlayingException.class, () -> scoreBoard.startGames(List.of(
+                new Fixture("Spain", "Germany"),
+                new Fixture("France", "Spain"))));
+        assertEquals(1, scoreBoard.getSummary().size());
+
+        scoreBoard.finishGame("Brazil", "Argentina");
+        scoreBoard.startGame("Argentina", "Brazil");
+        assertEquals("Argentina 0 - Brazil 0", scoreBoard.findGameByTeam("Brazil").orElseThrow().toString());
+    }
+
+    @Test
+    @DisplayName("Should let a team play several games when one game per team is off")
+    void shouldLetATeamPlaySeveralGamesWhenOneGamePerTeamIsOff() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Argentina", "Brazil");
+        scoreBoard.startGame("Brazil", "Spain");
+
+        assertEquals(3, scoreBoard.getSummary().size());
+        assertEquals("Brazil 0 - Spain 0", scoreBoard.findGameByTeam("Brazil").orElseThrow().toString());
+        scoreBoard.finishGame("Brazil", "Spain");
+        assertEquals("Argentina 0 - Brazil 0", scoreBoard.findGameByTeam("Brazil").orElseThrow().toString());
+    }
+
+    @Test
+    @DisplayName("Should not allocate when updating scores by team id")
+    void shouldNotAllocateWhenUpdatingScoresByTeamId() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        int games = 200;
+        int[] homeIds = new int[games];
+        int[] awayIds = new int[games];
+        for (int game = 0; game < games; game++) {
+            scoreBoard.startGame("Home" + game, "Away" + game);
+            homeIds[game] = scoreBoard.getTeamRegistry().idOf("Home" + game);
+            awayIds[game] = scoreBoard.getTeamRegistry().idOf("Away" + game);
+        }
+        // Warm up so the JIT has settled before we measure
+        updateAll(homeIds, awayIds, 200);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        updateAll(homeIds, awayIds, 200);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        // A little slack for the measuring itself; 40,000 updates would allocate megabytes otherwise
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should apply a batch the same way as one update at a time")
+    void shouldApplyABatchTheSameWayAsOneUpdateAtATime() {
+        LiveScoreBoard oneByOne = new LiveScoreBoard();
+        List<Fixture> fixtures = new ArrayList<>();
+        for (int game = 0; game < 50; game++) {
+            fixtures.add(new Fixture("Home" + game, "Away" + game));
+        }
+        scoreBoard.startGames(fixtures);
+        fixtures.forEach(fixture -> oneByOne.startGame(fixture.homeTeam(), fixture.awayTeam()));
+
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            List<ScoreUpdate> batch = new ArrayList<>();
+            for (int update = 0; update < 30; update++) {
+                Fixture fixture = fixtures.get(random.nextInt(fixtures.size()));
+                batch.add(new ScoreUpdate(fixture.homeTeam(), fixture.awayTeam(), random.nextInt(6), random.nextInt(6)));
+            }
+            scoreBoard.applyBatch(batch);
+            batch.forEach(update -> oneByOne.updateScore(update.homeTeam(), update.awayTeam(), update.homeScore(), update.awayScore()));
+
+            assertEquals(oneByOne.publish().getGames(), scoreBoard.publish().getGames());
+        }
+
+        scoreBoard.finishGames(fixtures.subList(0, 25));
+        fixtures.subList(0, 25).forEach(fixture -> oneByOne.finishGame(fixture.homeTeam(), fixture.awayTeam()));
+        assertEquals(oneByOne.publish().getGames(), scoreBoard.publish().getGames());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when one update is invalid")
+    void shouldRejectTheWholeBatchWhenOneUpdateIsInvalid() {
+        startExampleGames();
+        SummarySnapshot before = scoreBoard.publish();
+
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Mexico", "Canada", 1, 5),
+                new ScoreUpdate("Random", "Team", 1, 0))));
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Mexico", "Canada", 1, 5),
+                new ScoreUpdate("Spain", "Brazil", -1, 0))));
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGames(List.of(
+                new Fixture("Brazil", "Argentina"),
+                new Fixture("Brazil", "Argentina"))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGames(List.of(
+                new Fixture("Mexico", "Canada"),
+                new Fixture("Random", "Team"))));
+
+        assertSame(before, scoreBoard.publish());
+        assertEquals(5, scoreBoard.getSummary().size());
+    }
+
+    @Test
+    @DisplayName("Should bump the version once per batch")
+    void shouldBumpTheVersionOncePerBatch() {
+        startExampleGames();
+        long before = scoreBoard.getVersion();
+
+        scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Mexico", "Canada", 1, 5),
+                new ScoreUpdate("Mexico", "Canada", 2, 5),
+                new ScoreUpdate("Germany", "France", 3, 2)));
+
+        assertEquals(before + 1, scoreBoard.getVersion());
+        assertEquals("Mexico 2 - Canada 5", scoreBoard.getSummary().get(2).toString());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the current summary from a delta on random workloads")
+    void shouldRebuildTheCurrentSummaryFromADeltaOnRandomWorkloads() {
+        Random random = new Random(5);
+        List<SummarySnapshot> seen = new ArrayList<>();
+        List<String[]> active = new ArrayList<>();
+
+        for (int step = 0; step < 3_000; step++) {
+            int operation = random.nextInt(10);
+            if (active.isEmpty() || operation < 3) {
+                // Reuse team names now and then, so finished games get restarted
+                String[] teams = {"Home" + random.nextInt(400), "Away" + random.nextInt(400)};
+                if (active.stream().noneMatch(game -> game[0].equals(teams[0]) && game[1].equals(teams[1]))) {
+                    scoreBoard.startGame(teams[0], teams[1]);
+                    active.add(teams);
+                }
+            } else if (operation < 9) {
+                String[] teams = active.get(random.nextInt(active.size()));
+                scoreBoard.updateScore(teams[0], teams[1], random.nextInt(6), random.nextInt(6));
+            } else {
+                String[] teams = active.remove(random.nextInt(active.size()));
+                scoreBoard.finishGame(teams[0], teams[1]);
+            }
+
+            if (step % 10 == 0) {
+                seen.add(scoreBoard.publish());
+                SummarySnapshot earlier = seen.get(random.nextInt(seen.size()));
+                SummaryDelta delta = scoreBoard.getSummarySince(earlier.getVersion());
+
+                assertFalse(delta.isFull());
+                assertEquals(scoreBoard.getVersion(), delta.getToVersion());
+                assertEquals(scoreBoard.publish().getGames(), delta.applyTo(earlier.getGames()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should only list what changed since a version")
+    void shouldOnlyListWhatChangedSinceAVersion() {
+        startExampleGames();
+        SummarySnapshot before = scoreBoard.publish();
+
+        scoreBoard.updateScore("Germany", "France", 7, 7);
+        scoreBoard.finishGame("Mexico", "Canada");
+        SummaryDelta delta = scoreBoard.getSummarySince(before.getVersion());
+
+        assertEquals(List.of(new SummaryDelta.Change(new GameView("Germany", "France", 7, 7), 0)), delta.getChanged());
+        assertEquals(List.of(new Fixture("Mexico", "Canada")), delta.getRemoved());
+        assertTrue(scoreBoard.getSummarySince(scoreBoard.getVersion()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full delta when the version is too old or unknown")
+    void shouldFallBackToAFullDeltaWhenTheVersionIsTooOldOrUnknown() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        for (int score = 1; score <= 5_000; score++) {
+            scoreBoard.updateScore("Brazil", "Argentina", score, 0);
+        }
+
+        SummaryDelta tooOld = scoreBoard.getSummarySince(1);
+        SummaryDelta unknown = scoreBoard.getSummarySince(scoreBoard.getVersion() + 10);
+
+        assertTrue(tooOld.isFull());
+        assertTrue(unknown.isFull());
+        assertEquals(scoreBoard.publish().getGames(), tooOld.applyTo(List.of(new GameView("Spain", "France", 1, 1))));
+        assertFalse(scoreBoard.getSummarySince(scoreBoard.getVersion() - 100).isFull());
+    }
+
+    @Test
+    @DisplayName("Should keep summary order in line with the sorting comparator on random workloads")
+    void shouldKeepSummaryOrderInLineWithComparatorOnRandomWorkloads() {
+        Random random = new Random(42);
+        List<Game> started = new ArrayList<>();
+        List<Game> active = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int operation = random.nextInt(10);
+            if (active.isEmpty() || operation < 3) {
+                String homeTeam = "Home" + step;
+                String awayTeam = "Away" + step;
+                scoreBoard.startGame(homeTeam, awayTeam);
+                Game game = scoreBoard.getSummary().stream()
+                        .filter(g -> g.getHomeTeam().equals(homeTeam))
+                        .findFirst()
+                        .orElseThrow();
+                started.add(game);
+                active.add(game);
+            } else if (operation < 9) {
+                Game game = active.get(random.nextInt(active.size()));
+                scoreBoard.updateScore(game.getHomeTeam(), game.getAwayTeam(), random.nextInt(6), random.nextInt(6));
+            } else {
+                Game game = active.remove(random.nextInt(active.size()));
+                scoreBoard.finishGame(game.getHomeTeam(), game.getAwayTeam());
+            }
+
+            if (step % 50 == 0) {
+                assertEquals(sortedLikeBefore(active, started), scoreBoard.getSummary());
+            }
+        }
+        assertEquals(sortedLikeBefore(active, started), scoreBoard.getSummary());
+    }
+
+    /**
+     * The comparator getSummary() used to sort with. Games started in the same clock tick
+     * share a timestamp, so insertion order settles those.
+     */
+    private static List<Game> sortedLikeBefore(List<Game> active, List<Game> started) {
+        Comparator<Game> summaryOrder = (game1, game2) -> {
+            int totalScoreComparison = Integer.compare(game2.getTotalScore(), game1.getTotalScore());
+            if (totalScoreComparison != 0) {
+                return totalScoreComparison;
+            }
+            int createdAtComparison = game2.getCreatedAt().compareTo(game1.getCreatedAt());
+            if (createdAtComparison != 0) {
+                return createdAtComparison;
+            }
+            return Integer.compare(started.indexOf(game2), started.indexOf(game1));
+        };
+        List<Game> expected = new ArrayList<>(active);
+        expected.sort(summaryOrder);
+        return expected;
+    }
+
+    private void startExampleGames() {
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGame("Germany", "France");
+        scoreBoard.startGame("Uruguay", "Italy");
+        scoreBoard.startGame("Argentina", "Australia");
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+        scoreBoard.updateScore("Germany", "France", 2, 2);
+        scoreBoard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreBoard.updateScore("Argentina", "Australia", 3, 1);
+    }
+
+    private void updateAll(int[] homeIds, int[] awayIds, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (int game = 0; game < homeIds.length; game++) {
+                scoreBoard.updateScore(homeIds[game], awayIds[game], round % 7, (round + game) % 5);
+            }
+        }
+    }
 }
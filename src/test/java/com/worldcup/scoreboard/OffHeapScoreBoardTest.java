@@ -0,0 +1,175 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class OffHeapScoreBoardTest {
+
+    private OffHeapScoreBoard scoreBoard;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new OffHeapScoreBoard();
+    }
+
+    @Test
+    @DisplayName("Should create exact example from requirements")
+    void shouldCreateExactExampleFromRequirements() {
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGame("Germany", "France");
+        scoreBoard.startGame("Uruguay", "Italy");
+        scoreBoard.startGame("Argentina", "Australia");
+
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+        scoreBoard.updateScore("Germany", "France", 2, 2);
+        scoreBoard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreBoard.updateScore("Argentina", "Australia", 3, 1);
+
+        List<Game> summary = scoreBoard.getSummary();
+
+        assertEquals(5, summary.size());
+        assertEquals("Uruguay 6 - Italy 6", summary.get(0).toString());
+        assertEquals("Spain 10 - Brazil 2", summary.get(1).toString());
+        assertEquals("Mexico 0 - Canada 5", summary.get(2).toString());
+        assertEquals("Argentina 3 - Australia 1", summary.get(3).toString());
+        assertEquals("Germany 2 - France 2", summary.get(4).toString());
+    }
+
+    @Test
+    @DisplayName("Should keep the same order as the on-heap board through random workloads")
+    void shouldKeepTheSameOrderAsTheOnHeapBoardThroughRandomWorkloads() {
+        LiveScoreBoard reference = new LiveScoreBoard();
+        Random random = new Random(9);
+        for (int step = 0; step < 20_000; step++) {
+            String homeTeam = "Home" + random.nextInt(300);
+            String awayTeam = "Away" + random.nextInt(300);
+            int action = random.nextInt(10);
+            try {
+                if (action < 3) {
+                    reference.startGame(homeTeam, awayTeam);
+                    scoreBoard.startGame(homeTeam, awayTeam);
+                } else if (action < 8) {
+                    int homeScore = random.nextInt(4);
+                    int awayScore = random.nextInt(4);
+                    reference.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+                    scoreBoard.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+                } else {
+                    reference.finishGame(homeTeam, awayTeam);
+                    scoreBoard.finishGame(homeTeam, awayTeam);
+                }
+            } catch (GameAlreadyExistsException | GameNotFoundException e) {
+                // The reference said no, so the off-heap board never saw the call
+            }
+        }
+
+        List<String> expected = reference.getSummary().stream().map(Game::toString).toList();
+        assertEquals(expected.size(), scoreBoard.size());
+        assertEquals(expected, scoreBoard.getSummary().stream().map(Game::toString).toList());
+        assertEquals(expected.subList(0, 10), scoreBoard.getTopGames(10).stream().map(Game::toString).toList());
+        assertEquals(expected.subList(33, 70), scoreBoard.getSummary(33, 37).stream().map(Game::toString).toList());
+        assertTrue(scoreBoard.getSummary(expected.size(), 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.getSummary(-1, 5));
+    }
+
+    @Test
+    @DisplayName("Should reuse the slots of finished games")
+    void shouldReuseTheSlotsOfFinishedGames() {
+        for (int game = 0; game < 1_000; game++) {
+            scoreBoard.startGame("Home" + game, "Away" + game);
+        }
+        long footprint = scoreBoard.getOffHeapBytes();
+
+        for (int round = 0; round < 10; round++) {
+            for (int game = 0; game < 1_000; game++) {
+                scoreBoard.finishGame("Home" + game, "Away" + game);
+                scoreBoard.startGame("Home" + game, "Away" + game);
+            }
+        }
+
+        assertEquals(1_000, scoreBoard.size());
+        assertEquals(footprint, scoreBoard.getOffHeapBytes());
+        assertEquals("Home999 0 - Away999 0", scoreBoard.getTopGames(1).get(0).toString());
+    }
+
+    @Test
+    @DisplayName("Should hand out games that keep their creation time but not later updates")
+    void shouldHandOutGamesThatKeepTheirCreationTimeButNotLaterUpdates() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        Game before = scoreBoard.getSummary().get(0);
+
+        scoreBoard.updateScore("Brazil", "Argentina", 2, 1);
+        Game after = scoreBoard.getSummary().get(0);
+
+        assertEquals(0, before.getTotalScore());
+        assertEquals(3, after.getTotalScore());
+        assertEquals(before.getCreatedAt(), after.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should apply batches all-or-nothing")
+    void shouldApplyBatchesAllOrNothing() {
+        scoreBoard.startGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France")));
+
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGames(List.of(
+                new Fixture("Germany", "Italy"),
+                new Fixture("Brazil", "Argentina"))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Brazil", "Argentina", 1, 0),
+                new ScoreUpdate("Germany", "Italy", 1, 0))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGames(List.of(
+                new Fixture("Brazil", "Argentina"),
+                new Fixture("Germany", "Italy"))));
+        assertEquals(2, scoreBoard.size());
+        scoreBoard.getSummary().forEach(game -> assertEquals(0, game.getTotalScore()));
+
+        scoreBoard.applyBatch(List.of(new ScoreUpdate("Brazil", "Argentina", 1, 0), new ScoreUpdate("Spain", "France", 2, 2)));
+        assertEquals("Spain 2 - France 2", scoreBoard.getSummary().get(0).toString());
+
+        scoreBoard.finishGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France")));
+        assertTrue(scoreBoard.getSummary().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not allocate on the heap when updating by team ID")
+    void shouldNotAllocateOnTheHeapWhenUpdatingByTeamId() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        int games = 200;
+        int[] homeIds = new int[games];
+        int[] awayIds = new int[games];
+        for (int game = 0; game < games; game++) {
+            scoreBoard.startGame("Home" + game, "Away" + game);
+            homeIds[game] = scoreBoard.getTeamRegistry().idOf("Home" + game);
+            awayIds[game] = scoreBoard.getTeamRegistry().idOf("Away" + game);
+        }
+        updateAll(homeIds, awayIds, 200);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        updateAll(homeIds, awayIds, 200);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private void updateAll(int[] homeIds, int[] awayIds, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (int game = 0; game < homeIds.length; game++) {
+                scoreBoard.updateScore(homeIds[game], awayIds[game], round % 7, (round + game) % 5);
+            }
+        }
+    }
+}
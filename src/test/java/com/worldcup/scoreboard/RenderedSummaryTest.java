@@ -0,0 +1,95 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedSummaryTest {
+
+    private LiveScoreBoard scoreBoard;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new LiveScoreBoard();
+    }
+
+    @Test
+    @DisplayName("Should render the requirements example as text and JSON")
+    void shouldRenderTheRequirementsExampleAsTextAndJson() {
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGame("Germany", "France");
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+        scoreBoard.updateScore("Germany", "France", 2, 2);
+
+        scoreBoard.publish();
+        RenderedSummary rendered = scoreBoard.getRenderedSummary();
+
+        assertEquals("Spain 10 - Brazil 2\nMexico 0 - Canada 5\nGermany 2 - France 2\n", utf8(rendered.getText()));
+        assertEquals("{\"version\":6,\"games\":["
+                + "{\"homeTeam\":\"Spain\",\"awayTeam\":\"Brazil\",\"homeScore\":10,\"awayScore\":2},"
+                + "{\"homeTeam\":\"Mexico\",\"awayTeam\":\"Canada\",\"homeScore\":0,\"awayScore\":5},"
+                + "{\"homeTeam\":\"Germany\",\"awayTeam\":\"France\",\"homeScore\":2,\"awayScore\":2}]}",
+                utf8(rendered.getJson()));
+    }
+
+    @Test
+    @DisplayName("Should render once per change")
+    void shouldRenderOncePerChange() {
+        RenderedSummary empty = scoreBoard.getRenderedSummary();
+        assertEquals("{\"version\":0,\"games\":[]}", utf8(empty.getJson()));
+        assertEquals("", utf8(empty.getText()));
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.publish();
+        RenderedSummary first = scoreBoard.getRenderedSummary();
+
+        assertSame(first, scoreBoard.getRenderedSummary());
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        scoreBoard.publish();
+        RenderedSummary second = scoreBoard.getRenderedSummary();
+        assertNotSame(first, second);
+        assertEquals(2, second.getVersion());
+        assertEquals("Brazil 1 - Argentina 0\n", utf8(second.getText()));
+    }
+
+    @Test
+    @DisplayName("Should hand every reader its own read-only view")
+    void shouldHandEveryReaderItsOwnReadOnlyView() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.publish();
+        RenderedSummary rendered = scoreBoard.getRenderedSummary();
+
+        ByteBuffer first = rendered.getText();
+        first.get(new byte[first.remaining()]);
+        ByteBuffer second = rendered.getText();
+
+        assertTrue(first.isReadOnly());
+        assertEquals(0, first.remaining());
+        assertEquals("Brazil 0 - Argentina 0\n", utf8(second));
+    }
+
+    @Test
+    @DisplayName("Should escape team names in JSON")
+    void shouldEscapeTeamNamesInJson() {
+        scoreBoard.startGame("Côte d'Ivoire", "The \"Reds\"\\\n");
+
+        scoreBoard.publish();
+        String json = utf8(scoreBoard.getRenderedSummary().getJson());
+
+        assertTrue(json.contains("\"homeTeam\":\"Côte d'Ivoire\""), json);
+        assertTrue(json.contains("\"awayTeam\":\"The \\\"Reds\\\"\\\\\\u000a\""), json);
+    }
+
+    private static String utf8(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
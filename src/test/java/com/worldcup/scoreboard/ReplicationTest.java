@@ -0,0 +1,169 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationTest {
+
+    @Test
+    @DisplayName("Should keep an in-process replica at the leader's versions and games")
+    void shouldKeepAnInProcessReplicaAtTheLeadersVersionsAndGames() throws IOException {
+        LiveScoreBoard leader = new LiveScoreBoard();
+        ReplicationLog log = new ReplicationLog();
+        leader.setReplicationLog(log);
+        ReplicaBoard replica = new ReplicaBoard(ReplicationChannel.local(log));
+
+        leader.startGame("Mexico", "Canada");
+        leader.startGames(List.of(new Fixture("Spain", "Brazil"), new Fixture("Germany", "France")));
+        replica.poll(Duration.ZERO);
+        assertEquals(leader.publish().getGames(), replica.getSummary());
+        assertEquals(leader.getVersion(), replica.getVersion());
+
+        leader.updateScore("Mexico", "Canada", 0, 5);
+        leader.applyBatch(List.of(new ScoreUpdate("Spain", "Brazil", 10, 2), new ScoreUpdate("Germany", "France", 2, 2)));
+        leader.finishGame("Germany", "France");
+        leader.updateScore("Spain", "Brazil", 10, 2); // no change, so nothing to replicate
+        assertTrue(replica.poll(Duration.ZERO));
+        assertEquals(leader.publish().getGames(), replica.getSummary());
+        assertEquals(leader.getVersion(), replica.getVersion());
+        assertEquals(0, replica.getLagVersions());
+
+        // Nothing new: the poll times out and the replica stays where it is
+        assertFalse(replica.poll(Duration.ofMillis(10)));
+        assertEquals(leader.getVersion(), replica.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should start a new or far behind replica from the latest checkpoint")
+    void shouldStartANewOrFarBehindReplicaFromTheLatestCheckpoint() throws IOException {
+        LiveScoreBoard leader = new LiveScoreBoard();
+        for (int i = 0; i < 10; i++) {
+            leader.startGame("Home" + i, "Away" + i);
+        }
+        ReplicationLog log = new ReplicationLog(4);
+        leader.setReplicationLog(log);
+
+        // Joins late, so it gets the games started before the log was attached from the checkpoint
+        ReplicaBoard replica = new ReplicaBoard(ReplicationChannel.local(log));
+        LiveScoreBoard empty = replica.getBoard();
+        replica.poll(Duration.ZERO);
+        assertNotSame(empty, replica.getBoard());
+        assertEquals(leader.publish().getGames(), replica.getSummary());
+
+        // Falls behind by more than the log holds
+        LiveScoreBoard caughtUp = replica.getBoard();
+        for (int i = 0; i < 10; i++) {
+            leader.updateScore("Home" + i, "Away" + i, i, 0);
+        }
+        assertTrue(log.size() < 10);
+        replica.poll(Duration.ZERO);
+        assertNotSame(caughtUp, replica.getBoard());
+        assertEquals(leader.publish().getGames(), replica.getSummary());
+        assertEquals(leader.getVersion(), replica.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should report the lag while a replica catches up over several polls")
+    void shouldReportTheLagWhileAReplicaCatchesUpOverSeveralPolls() throws IOException {
+        LiveScoreBoard leader = new LiveScoreBoard();
+        ReplicationLog log = new ReplicationLog(1000, 2);
+        leader.setReplicationLog(log);
+        for (int i = 0; i < 6; i++) {
+            leader.startGame("Home" + i, "Away" + i);
+        }
+        ReplicaBoard replica = new ReplicaBoard(ReplicationChannel.local(log));
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        replica.setMetrics(metrics);
+
+        replica.poll(Duration.ZERO);
+        assertEquals(2, replica.getVersion());
+        assertEquals(4, replica.getLagVersions());
+        assertEquals(4, metrics.getReplicationLagVersions());
+
+        replica.poll(Duration.ZERO);
+        replica.poll(Duration.ZERO);
+        assertEquals(leader.getVersion(), replica.getVersion());
+        assertEquals(0, replica.getLagVersions());
+        assertEquals(0, replica.getLagMillis());
+        assertEquals(0, metrics.getReplicationLagVersions());
+        assertEquals(leader.publish().getGames(), replica.getSummary());
+    }
+
+    @Test
+    @DisplayName("Should follow the leader over a socket")
+    void shouldFollowTheLeaderOverASocket() throws Exception {
+        LiveScoreBoard leader = new LiveScoreBoard();
+        ReplicationLog log = new ReplicationLog(8);
+        leader.setReplicationLog(log);
+        leader.startGame("Uruguay", "Italy");
+
+        try (ReplicationServer server = new ReplicationServer(log, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+             ReplicaBoard replica = new ReplicaBoard(ReplicationChannel.connect(server.getAddress()))) {
+            replica.start();
+            for (int i = 0; i < 20; i++) {
+                leader.startGame("Home" + i, "Away" + i);
+                leader.updateScore("Home" + i, "Away" + i, i % 3, i % 4);
+            }
+            leader.finishGame("Uruguay", "Italy");
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (replica.getVersion() != leader.getVersion() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertNull(replica.getFailure());
+            assertEquals(leader.getVersion(), replica.getVersion());
+            assertEquals(leader.publish().getGames(), replica.getSummary());
+            assertEquals(1, server.getReplicaCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a failure to apply what the leader sent and stop polling")
+    void shouldReportAFailureToApplyWhatTheLeaderSentAndStopPolling() throws Exception {
+        LiveScoreBoard leader = new LiveScoreBoard();
+        ReplicationLog log = new ReplicationLog();
+        leader.setReplicationLog(log);
+        leader.startGame("Mexico", "Canada");
+        leader.startGame("Peru", "Chile");
+        leader.finishGame("Peru", "Chile");
+        LiveScoreBoard otherLeader = new LiveScoreBoard();
+        ReplicationLog otherLog = new ReplicationLog();
+        otherLeader.setReplicationLog(otherLog);
+        otherLeader.startGame("Spain", "Brazil");
+        otherLeader.startGame("Japan", "Korea");
+        for (int i = 1; i <= 5; i++) {
+            otherLeader.updateScore("Japan", "Korea", i, 0);
+        }
+
+        // Switches to another leader's log after the first poll, which updates a game the replica doesn't have
+        ReplicationChannel first = ReplicationChannel.local(log);
+        ReplicationChannel second = ReplicationChannel.local(otherLog);
+        ReplicationChannel switching = new ReplicationChannel() {
+            private int pulls;
+
+            @Override
+            void pull(long afterVersion, long timeoutNanos, ReplicationLog.Receiver receiver)
+                    throws IOException, InterruptedException {
+                (pulls++ == 0 ? first : second).pull(afterVersion, timeoutNanos, receiver);
+            }
+        };
+
+        try (ReplicaBoard replica = new ReplicaBoard(switching)) {
+            replica.start();
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (replica.getFailure() == null && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertInstanceOf(IllegalStateException.class, replica.getFailure());
+            assertEquals(3, replica.getVersion());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreBoardEventsTest {
+
+    private LiveScoreBoard scoreBoard;
+
+    @BeforeEach
+    void setUp() {
+        // Deliver on the calling thread so the tests can check events right after each call
+        scoreBoard = new LiveScoreBoard(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should publish start, score, rank and finish events")
+    void shouldPublishStartScoreRankAndFinishEvents() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreBoard.events().subscribe(subscriber);
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "France");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        scoreBoard.finishGame("Spain", "France");
+
+        assertEquals(List.of(
+                new ScoreBoardEvent.GameStarted(1, new GameView("Brazil", "Argentina", 0, 0)),
+                new ScoreBoardEvent.GameStarted(2, new GameView("Spain", "France", 0, 0)),
+                new ScoreBoardEvent.ScoreUpdated(3, new GameView("Brazil", "Argentina", 0, 0), new GameView("Brazil", "Argentina", 1, 0)),
+                new ScoreBoardEvent.RankChanged(3, new GameView("Brazil", "Argentina", 1, 0), 1, 0),
+                new ScoreBoardEvent.GameFinished(4, new GameView("Spain", "France", 0, 0))
+        ), subscriber.events);
+    }
+
+    @Test
+    @DisplayName("Should only send as many events as the subscriber asked for")
+    void shouldOnlySendAsManyEventsAsTheSubscriberAskedFor() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        scoreBoard.events().subscribe(subscriber);
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "France");
+        assertEquals(1, subscriber.events.size());
+
+        subscriber.subscription.request(5);
+        assertEquals(2, subscriber.events.size());
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest events when a slow subscriber's buffer is full")
+    void shouldDropTheOldestEventsWhenASlowSubscribersBufferIsFull() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreBoard.events(2, OverflowPolicy.DROP_OLDEST).subscribe(subscriber);
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "France");
+        scoreBoard.startGame("Germany", "Italy");
+        subscriber.subscription.request(10);
+
+        assertEquals(List.of(
+                new ScoreBoardEvent.GameStarted(2, new GameView("Spain", "France", 0, 0)),
+                new ScoreBoardEvent.GameStarted(3, new GameView("Germany", "Italy", 0, 0))
+        ), subscriber.events);
+    }
+
+    @Test
+    @DisplayName("Should fold score updates for the same game when coalescing")
+    void shouldFoldScoreUpdatesForTheSameGameWhenCoalescing() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreBoard.events(16, OverflowPolicy.COALESCE_PER_GAME).subscribe(subscriber);
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        scoreBoard.updateScore("Brazil", "Argentina", 2, 0);
+        scoreBoard.updateScore("Brazil", "Argentina", 2, 1);
+        subscriber.subscription.request(10);
+
+        assertEquals(List.of(
+                new ScoreBoardEvent.GameStarted(1, new GameView("Brazil", "Argentina", 0, 0)),
+                new ScoreBoardEvent.ScoreUpdated(4, new GameView("Brazil", "Argentina", 0, 0), new GameView("Brazil", "Argentina", 2, 1))
+        ), subscriber.events);
+    }
+
+    @Test
+    @DisplayName("Should not fold updates across a finish and restart of the same game")
+    void shouldNotFoldUpdatesAcrossAFinishAndRestartOfTheSameGame() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreBoard.events(16, OverflowPolicy.COALESCE_PER_GAME).subscribe(subscriber);
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        scoreBoard.finishGame("Brazil", "Argentina");
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.updateScore("Brazil", "Argentina", 0, 1);
+        subscriber.subscription.request(10);
+
+        assertEquals(5, subscriber.events.size());
+        assertEquals(new GameView("Brazil", "Argentina", 1, 0), subscriber.events.get(1).game());
+        assertEquals(new GameView("Brazil", "Argentina", 0, 1), subscriber.events.get(4).game());
+    }
+
+    @Test
+    @DisplayName("Should publish one score event per update and one rank change per game for a batch")
+    void shouldPublishOneScoreEventPerUpdateAndOneRankChangePerGameForABatch() {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.startGame("Spain", "France");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreBoard.events().subscribe(subscriber);
+
+        scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Brazil", "Argentina", 1, 0),
+                new ScoreUpdate("Brazil", "Argentina", 2, 0)));
+
+        assertEquals(List.of(
+                new ScoreBoardEvent.ScoreUpdated(3, new GameView("Brazil", "Argentina", 0, 0), new GameView("Brazil", "Argentina", 1, 0)),
+                new ScoreBoardEvent.ScoreUpdated(3, new GameView("Brazil", "Argentina", 1, 0), new GameView("Brazil", "Argentina", 2, 0)),
+                new ScoreBoardEvent.RankChanged(3, new GameView("Brazil", "Argentina", 2, 0), 1, 0)
+        ), subscriber.events);
+    }
+
+    @Test
+    @DisplayName("Should stop sending events after cancel and report invalid requests")
+    void shouldStopSendingEventsAfterCancelAndReportInvalidRequests() {
+        RecordingSubscriber cancelled = new RecordingSubscriber(Long.MAX_VALUE);
+        RecordingSubscriber invalid = new RecordingSubscriber(0);
+        scoreBoard.events().subscribe(cancelled);
+        scoreBoard.events().subscribe(invalid);
+
+        scoreBoard.startGame("Brazil", "Argentina");
+        cancelled.subscription.cancel();
+        invalid.subscription.request(0);
+        scoreBoard.startGame("Spain", "France");
+
+        assertEquals(1, cancelled.events.size());
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    @DisplayName("Should not block the board while a subscriber is busy")
+    void shouldNotBlockTheBoardWhileASubscriberIsBusy() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LiveScoreBoard board = new LiveScoreBoard(executor);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch received = new CountDownLatch(1);
+            board.events(4, OverflowPolicy.DROP_OLDEST).subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+                @Override
+                public void onNext(ScoreBoardEvent item) {
+                    super.onNext(item);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.countDown();
+                }
+            });
+
+            board.startGame("Brazil", "Argentina");
+            for (int score = 1; score <= 1_000; score++) {
+                board.updateScore("Brazil", "Argentina", score, 0);
+            }
+            release.countDown();
+
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            assertEquals(1_000, board.getSummary().get(0).getHomeScore());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<ScoreBoardEvent> {
+        private final long initialRequest;
+        private final List<ScoreBoardEvent> events = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(ScoreBoardEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
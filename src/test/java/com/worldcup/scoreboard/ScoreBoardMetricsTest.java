@@ -0,0 +1,145 @@
+package com.worldcup.scoreboard;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreBoardMetricsTest {
+
+    private LiveScoreBoard scoreBoard;
+    private ScoreBoardMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new LiveScoreBoard();
+        metrics = new ScoreBoardMetrics();
+        scoreBoard.setMetrics(metrics);
+    }
+
+    @Test
+    @DisplayName("Should count operations, failures and board size")
+    void shouldCountOperationsFailuresAndBoardSize() {
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGames(List.of(new Fixture("Germany", "France"), new Fixture("Uruguay", "Italy")));
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+        scoreBoard.finishGame("Germany", "France");
+        scoreBoard.getTopGames(2);
+
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGame("Mexico", "Canada"));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.updateScore("Germany", "France", 1, 0));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGame("Germany", "France"));
+
+        assertEquals(2, metrics.getLatency(ScoreBoardMetrics.Operation.START_GAME).getCount());
+        assertEquals(1, metrics.getLatency(ScoreBoardMetrics.Operation.START_GAMES).getCount());
+        assertEquals(2, metrics.getLatency(ScoreBoardMetrics.Operation.UPDATE_SCORE).getCount());
+        assertEquals(1, metrics.getLatency(ScoreBoardMetrics.Operation.FINISH_GAME).getCount());
+        assertEquals(1, metrics.getLatency(ScoreBoardMetrics.Operation.SUMMARY).getCount());
+        assertEquals(1, metrics.getGameAlreadyExistsCount());
+        assertEquals(2, metrics.getGameNotFoundCount());
+        assertEquals(3, metrics.getActiveGames());
+        assertEquals(2, metrics.getLastSummarySize());
+
+        LatencySummary updates = metrics.getLatency(ScoreBoardMetrics.Operation.UPDATE_SCORE);
+        assertTrue(updates.getP50Nanos() <= updates.getP99Nanos());
+        assertTrue(updates.getP99Nanos() <= updates.getMaxNanos());
+    }
+
+    @Test
+    @DisplayName("Should stop measuring when the metrics are removed")
+    void shouldStopMeasuringWhenTheMetricsAreRemoved() {
+        scoreBoard.setMetrics(null);
+        scoreBoard.startGame("Brazil", "Argentina");
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGame("Spain", "France"));
+
+        assertNull(scoreBoard.getMetrics());
+        assertEquals(0, metrics.getLatency(ScoreBoardMetrics.Operation.START_GAME).getCount());
+        assertEquals(0, metrics.getGameNotFoundCount());
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within the histogram precision")
+    void shouldReportPercentilesWithinTheHistogramPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(14);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + (long) Math.abs(random.nextGaussian() * 50_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        LatencySummary summary = histogram.summarize();
+
+        assertEquals(values.length, summary.getCount());
+        assertEquals(values[values.length - 1], summary.getMaxNanos());
+        assertWithinPrecision(values[values.length / 2 - 1], summary.getP50Nanos());
+        assertWithinPrecision(values[values.length * 99 / 100 - 1], summary.getP99Nanos());
+        for (long value : new long[] {0, 31, 32, 1_000, 123_456_789, 1L << 35}) {
+            long highest = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assertTrue(highest >= value && highest <= value * 1.04, value + " -> " + highest);
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose the metrics over JMX")
+    void shouldExposeTheMetricsOverJmx() throws Exception {
+        scoreBoard.startGame("Brazil", "Argentina");
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.worldcup.scoreboard:type=ScoreBoard,name=metricsTest");
+
+        server.registerMBean(metrics, name);
+        try {
+            assertEquals(1L, server.getAttribute(name, "ActiveGames"));
+            TabularData latencies = (TabularData) server.getAttribute(name, "Latencies");
+            CompositeData updates = (CompositeData) latencies.get(new Object[] {"UPDATE_SCORE"}).get("value");
+            assertEquals(1L, updates.get("count"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Should record slow operations as flight recorder events")
+    void shouldRecordSlowOperationsAsFlightRecorderEvents(@TempDir Path directory) throws Exception {
+        scoreBoard.setMetrics(new ScoreBoardMetrics(Duration.ZERO));
+        Path file = directory.resolve("slow.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.worldcup.scoreboard.SlowOperation");
+            recording.start();
+            scoreBoard.startGame("Brazil", "Argentina");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        assertEquals("START_GAME", events.get(0).getString("operation"));
+        assertEquals("Brazil", events.get(0).getString("homeTeam"));
+        assertEquals(1, scoreBoard.getMetrics().getSlowOperationCount());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.04, "Expected about " + expected + " but got " + actual);
+    }
+}
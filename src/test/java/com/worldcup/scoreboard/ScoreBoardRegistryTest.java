@@ -0,0 +1,126 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreBoardRegistryTest {
+
+    private ManualClock clock;
+    private ScoreBoardRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ManualClock(Instant.parse("2026-06-11T18:00:00Z"));
+        registry = new ScoreBoardRegistry(Duration.ofMinutes(30), clock, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should create boards on first use and share one team registry")
+    void shouldCreateBoardsOnFirstUseAndShareOneTeamRegistry() {
+        assertTrue(registry.findBoard("World Cup").isEmpty());
+
+        LiveScoreBoard worldCup = registry.getBoard("World Cup");
+        LiveScoreBoard qualifiers = registry.getBoard("Qualifiers");
+        worldCup.startGame("Brazil", "Argentina");
+        qualifiers.startGame("Brazil", "Chile");
+
+        assertSame(worldCup, registry.getBoard("World Cup"));
+        assertEquals(2, registry.size());
+        assertSame(registry.getTeamRegistry(), worldCup.getTeamRegistry());
+        assertEquals(3, registry.getTeamRegistry().size());
+        assertEquals("Brazil 0 - Chile 0", qualifiers.findGameByTeam("Brazil").orElseThrow().toString());
+        assertEquals("Brazil 0 - Argentina 0", worldCup.findGameByTeam("Brazil").orElseThrow().toString());
+        assertThrows(IllegalArgumentException.class, () -> registry.getBoard(" "));
+    }
+
+    @Test
+    @DisplayName("Should merge the top games of every board in summary order")
+    void shouldMergeTheTopGamesOfEveryBoardInSummaryOrder() {
+        LiveScoreBoard worldCup = registry.getBoard("World Cup");
+        LiveScoreBoard qualifiers = registry.getBoard("Qualifiers");
+        LiveScoreBoard youth = registry.getBoard("Youth");
+        worldCup.startGame("Mexico", "Canada");
+        qualifiers.startGame("Spain", "Brazil");
+        worldCup.startGame("Germany", "France");
+        youth.startGame("Uruguay", "Italy");
+        qualifiers.startGame("Argentina", "Australia");
+        worldCup.updateScore("Mexico", "Canada", 0, 5);
+        qualifiers.updateScore("Spain", "Brazil", 10, 2);
+        worldCup.updateScore("Germany", "France", 2, 2);
+        youth.updateScore("Uruguay", "Italy", 6, 6);
+        qualifiers.updateScore("Argentina", "Australia", 3, 1);
+
+        List<String> top = registry.getTopGames(4).stream().map(CompetitionGame::toString).toList();
+
+        assertEquals(List.of(
+                "Youth: Uruguay 6 - Italy 6",
+                "Qualifiers: Spain 10 - Brazil 2",
+                "World Cup: Mexico 0 - Canada 5",
+                "Qualifiers: Argentina 3 - Australia 1"), top);
+        assertEquals(5, registry.getTopGames(10).size());
+        assertTrue(registry.getTopGames(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should evict boards that are idle and have no games running")
+    void shouldEvictBoardsThatAreIdleAndHaveNoGamesRunning() {
+        LiveScoreBoard finished = registry.getBoard("Friendlies");
+        finished.startGame("Brazil", "Argentina");
+        finished.finishGame("Brazil", "Argentina");
+        registry.getBoard("Youth");
+        LiveScoreBoard running = registry.getBoard("World Cup");
+        running.startGame("Spain", "Germany");
+        LiveScoreBoard active = registry.getBoard("Qualifiers");
+        assertEquals(0, registry.evictIdle());
+
+        clock.advance(Duration.ofMinutes(20));
+        active.startGame("Chile", "Peru");
+        assertEquals(0, registry.evictIdle());
+        active.finishGame("Chile", "Peru");
+        assertEquals(0, registry.evictIdle());
+
+        clock.advance(Duration.ofMinutes(20));
+        assertEquals(2, registry.evictIdle());
+        assertTrue(registry.findBoard("Friendlies").isEmpty());
+        assertTrue(registry.findBoard("Youth").isEmpty());
+        assertSame(running, registry.findBoard("World Cup").orElseThrow());
+        assertSame(active, registry.findBoard("Qualifiers").orElseThrow());
+    }
+
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        private ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedScoreBoardTest {
+
+    private static final int WRITERS = 8;
+
+    private ShardedScoreBoard scoreBoard;
+
+    @BeforeEach
+    void setUp() {
+        scoreBoard = new ShardedScoreBoard(4);
+    }
+
+    @Test
+    @DisplayName("Should create exact example from requirements")
+    void shouldCreateExactExampleFromRequirements() {
+        scoreBoard.startGame("Mexico", "Canada");
+        scoreBoard.startGame("Spain", "Brazil");
+        scoreBoard.startGame("Germany", "France");
+        scoreBoard.startGame("Uruguay", "Italy");
+        scoreBoard.startGame("Argentina", "Australia");
+
+        scoreBoard.updateScore("Mexico", "Canada", 0, 5);
+        scoreBoard.updateScore("Spain", "Brazil", 10, 2);
+        scoreBoard.updateScore("Germany", "France", 2, 2);
+        scoreBoard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreBoard.updateScore("Argentina", "Australia", 3, 1);
+
+        List<Game> summary = scoreBoard.getSummary();
+
+        assertEquals(5, summary.size());
+        assertEquals("Uruguay 6 - Italy 6", summary.get(0).toString());
+        assertEquals("Spain 10 - Brazil 2", summary.get(1).toString());
+        assertEquals("Mexico 0 - Canada 5", summary.get(2).toString());
+        assertEquals("Argentina 3 - Australia 1", summary.get(3).toString());
+        assertEquals("Germany 2 - France 2", summary.get(4).toString());
+    }
+
+    @Test
+    @DisplayName("Should merge shards into the same order a single board would give")
+    void shouldMergeShardsIntoTheSameOrderASingleBoardWouldGive() {
+        // The second partitioner puts every game of a "competition" on one shard
+        List<ShardedScoreBoard> boards = List.of(
+                new ShardedScoreBoard(1),
+                new ShardedScoreBoard(3),
+                new ShardedScoreBoard(16),
+                new ShardedScoreBoard(5, (homeTeam, awayTeam) -> homeTeam.charAt(homeTeam.length() - 1)));
+        for (ShardedScoreBoard board : boards) {
+            LiveScoreBoard reference = new LiveScoreBoard();
+            Random random = new Random(5);
+            for (int step = 0; step < 5_000; step++) {
+                String homeTeam = "Home" + random.nextInt(200);
+                String awayTeam = "Away" + random.nextInt(200);
+                int action = random.nextInt(10);
+                try {
+                    if (action < 3) {
+                        reference.startGame(homeTeam, awayTeam);
+                        board.startGame(homeTeam, awayTeam);
+                    } else if (action < 9) {
+                        int homeScore = random.nextInt(4);
+                        int awayScore = random.nextInt(4);
+                        reference.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+                        board.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+                    } else {
+                        reference.finishGame(homeTeam, awayTeam);
+                        board.finishGame(homeTeam, awayTeam);
+                    }
+                } catch (GameAlreadyExistsException | GameNotFoundException e) {
+                    // The reference said no, so the sharded board never saw the call
+                }
+            }
+
+            List<String> expected = reference.getSummary().stream().map(Game::toString).toList();
+            assertEquals(expected, board.getSummary().stream().map(Game::toString).toList());
+            assertEquals(expected.subList(0, 10), board.getTopGames(10).stream().map(Game::toString).toList());
+            assertEquals(expected.subList(20, 45), board.getSummary(20, 25).stream().map(Game::toString).toList());
+            assertTrue(board.getSummary(expected.size(), 10).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply batches across shards all-or-nothing")
+    void shouldApplyBatchesAcrossShardsAllOrNothing() {
+        scoreBoard.startGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France"),
+                new Fixture("Mexico", "Canada"), new Fixture("Uruguay", "Italy")));
+
+        assertThrows(GameAlreadyExistsException.class, () -> scoreBoard.startGames(List.of(
+                new Fixture("Germany", "Italy"),
+                new Fixture("Brazil", "Argentina"))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.applyBatch(List.of(
+                new ScoreUpdate("Brazil", "Argentina", 1, 0),
+                new ScoreUpdate("Germany", "Italy", 1, 0))));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGames(List.of(
+                new Fixture("Brazil", "Argentina"),
+                new Fixture("Brazil", "Argentina"))));
+        assertEquals(4, scoreBoard.getSummary().size());
+        scoreBoard.getSummary().forEach(game -> assertEquals(0, game.getTotalScore()));
+
+        scoreBoard.applyBatch(List.of(new ScoreUpdate("Brazil", "Argentina", 1, 0), new ScoreUpdate("Spain", "France", 2, 2)));
+        assertEquals("Spain 2 - France 2", scoreBoard.getSummary().get(0).toString());
+
+        scoreBoard.finishGames(List.of(new Fixture("Brazil", "Argentina"), new Fixture("Spain", "France")));
+        assertEquals(List.of("Uruguay 0 - Italy 0", "Mexico 0 - Canada 0"),
+                scoreBoard.getSummary().stream().map(Game::toString).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep every shard consistent under concurrent writers and batches")
+    void shouldKeepEveryShardConsistentUnderConcurrentWritersAndBatches() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int owner = writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int game = 0; game < 1_000; game += 2) {
+                        String home = "Home" + owner + "-" + game;
+                        String nextHome = "Home" + owner + "-" + (game + 1);
+                        scoreBoard.startGames(List.of(new Fixture(home, "Away"), new Fixture(nextHome, "Away")));
+                        scoreBoard.applyBatch(List.of(new ScoreUpdate(home, "Away", 1, 1), new ScoreUpdate(nextHome, "Away", 2, 0)));
+                        scoreBoard.updateScore(home, "Away", 1, 2);
+                        if (game % 4 == 0) {
+                            scoreBoard.finishGame(nextHome, "Away");
+                        }
+                        scoreBoard.getTopGames(5);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Game> summary = scoreBoard.getSummary();
+        assertEquals(WRITERS * 750, summary.size());
+        assertEquals(WRITERS * 500, summary.stream().filter(game -> game.getTotalScore() == 3).count());
+        for (int i = 1; i < summary.size(); i++) {
+            assertTrue(summary.get(i - 1).getTotalScore() >= summary.get(i).getTotalScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a bad shard count or partitioner")
+    void shouldRefuseABadShardCountOrPartitioner() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedScoreBoard(0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedScoreBoard(2, null));
+        assertThrows(IllegalArgumentException.class, () -> scoreBoard.updateScore("Brazil", null, 1, 0));
+        assertThrows(GameNotFoundException.class, () -> scoreBoard.finishGame("Brazil", "Argentina"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.worldcup.scoreboard.http;
+
+import com.worldcup.scoreboard.LiveScoreBoard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreBoardHttpServerTest {
+
+    private LiveScoreBoard scoreBoard;
+    private ExecutorService executor;
+    private ScoreBoardHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scoreBoard = new LiveScoreBoard();
+        scoreBoard.startGame("Brazil", "Argentina");
+        executor = Executors.newCachedThreadPool();
+        scoreBoard.publish();
+        server = new ScoreBoardHttpServer(new InetSocketAddress("127.0.0.1", 0), scoreBoard.getRenderedSummary(), executor);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 until the board changes")
+    void shouldAnswer304UntilTheBoardChanges() throws Exception {
+        HttpResponse<String> first = get("/summary", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        assertEquals(200, first.statusCode());
+        assertEquals("{\"version\":1,\"games\":[{\"homeTeam\":\"Brazil\",\"awayTeam\":\"Argentina\",\"homeScore\":0,\"awayScore\":0}]}",
+                first.body());
+        assertEquals(304, get("/summary", etag).statusCode());
+        assertEquals("", get("/summary", etag).body());
+
+        scoreBoard.updateScore("Brazil", "Argentina", 1, 0);
+        scoreBoard.publish();
+        server.publish(scoreBoard.getRenderedSummary());
+
+        HttpResponse<String> changed = get("/summary", etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertEquals("Brazil 1 - Argentina 0\n", get("/summary?format=text", null).body());
+    }
+
+    @Test
+    @DisplayName("Should push every published summary to event streams")
+    void shouldPushEveryPublishedSummaryToEventStreams() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/events")).build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            assertEquals("text/event-stream; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+            assertEquals("id: 1", events.readLine());
+            assertEquals("event: summary", events.readLine());
+            assertTrue(events.readLine().contains("\"homeScore\":0"));
+            assertEquals("", events.readLine());
+
+            scoreBoard.updateScore("Brazil", "Argentina", 2, 1);
+            scoreBoard.publish();
+            server.publish(scoreBoard.getRenderedSummary());
+
+            assertEquals("id: 2", events.readLine());
+            assertEquals("event: summary", events.readLine());
+            assertTrue(events.readLine().contains("\"homeScore\":2,\"awayScore\":1"));
+            assertEquals(1, server.getEventStreamCount());
+        }
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}